@@ -0,0 +1,47 @@
+package com.depth.learningcrew.domain.ai.llm.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.depth.learningcrew.domain.ai.llm.dto.LlmUsageDto;
+import com.depth.learningcrew.domain.ai.llm.service.LlmTokenBudget;
+import com.depth.learningcrew.domain.ai.llm.service.LlmTokenLedger;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.annotation.NoJwtAuth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/llm")
+@Tag(name = "LLM Usage", description = "LLM 토큰 사용량 API")
+public class LlmUsageController {
+
+    private static final long MAX_RANGE_DAYS = 92;
+
+    private final LlmTokenLedger tokenLedger;
+    private final LlmTokenBudget tokenBudget;
+
+    @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
+    @GetMapping("/admin/usage")
+    @Operation(summary = "LLM 토큰 사용량 조회", description = "기간(기본 최근 7일) 동안의 일자별/그룹별/모델별 추정·실제 토큰과 재시도 수, 일일 예산을 조회합니다.")
+    public LlmUsageDto.ReportResponse getUsage(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "topGroups", defaultValue = "20") int topGroups) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS || topGroups < 1 || topGroups > 500)
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        return tokenLedger.report(start, end, topGroups, tokenBudget.getGroupDailyTokens(), tokenBudget.getGlobalDailyTokens());
+    }
+}
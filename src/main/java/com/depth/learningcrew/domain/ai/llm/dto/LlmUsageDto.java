@@ -0,0 +1,109 @@
+package com.depth.learningcrew.domain.ai.llm.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.depth.learningcrew.domain.ai.llm.repository.LlmTokenLedgerRepository.UsageTotal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+public class LlmUsageDto {
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "LLM 토큰 사용량 보고서")
+    public static class ReportResponse {
+        @Schema(description = "조회 시작일", example = "2024-01-01")
+        private LocalDate from;
+
+        @Schema(description = "조회 종료일(포함)", example = "2024-01-07")
+        private LocalDate to;
+
+        @Schema(description = "그룹별 일일 예산(0 이면 제한 없음)", example = "500000")
+        private Long groupDailyBudget;
+
+        @Schema(description = "전체 일일 예산(0 이면 제한 없음)", example = "0")
+        private Long globalDailyBudget;
+
+        @Schema(description = "기간 전체 합계")
+        private Usage total;
+
+        @Schema(description = "일자별 합계")
+        private List<Usage> days;
+
+        @Schema(description = "많이 쓴 그룹 순 합계. bucket 이 비어 있으면 작업 밖에서 부른 호출")
+        private List<Usage> groups;
+
+        @Schema(description = "모델별 합계")
+        private List<Usage> models;
+
+        public static ReportResponse from(LocalDate from, LocalDate to, long groupDailyBudget, long globalDailyBudget,
+                                          List<? extends UsageTotal<LocalDate>> days,
+                                          List<? extends UsageTotal<Long>> groups,
+                                          List<? extends UsageTotal<String>> models) {
+            List<Usage> dayUsages = days.stream().map(Usage::from).toList();
+            return ReportResponse.builder()
+                    .from(from)
+                    .to(to)
+                    .groupDailyBudget(groupDailyBudget)
+                    .globalDailyBudget(globalDailyBudget)
+                    .total(Usage.sum(dayUsages))
+                    .days(dayUsages)
+                    .groups(groups.stream().map(Usage::from).toList())
+                    .models(models.stream().map(Usage::from).toList())
+                    .build();
+        }
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "구간별 토큰 사용량")
+    public static class Usage {
+        @Schema(description = "일자 / 그룹 ID / 모델 이름", example = "2024-01-01")
+        private String bucket;
+
+        @Schema(description = "호출 시도 수(재시도 포함)", example = "1200")
+        private Long calls;
+
+        @Schema(description = "재시도 수", example = "40")
+        private Long retries;
+
+        @Schema(description = "예약에 쓴 추정 토큰 합", example = "2400000")
+        private Long estimatedTokens;
+
+        @Schema(description = "응답 usage 로 받은 실제 토큰 합", example = "2150000")
+        private Long actualTokens;
+
+        @Schema(description = "예산에 반영한 토큰 합(실제값이 없으면 추정치)", example = "2180000")
+        private Long chargedTokens;
+
+        public static Usage from(UsageTotal<?> total) {
+            return Usage.builder()
+                    .bucket(total.getBucket() == null ? null : String.valueOf(total.getBucket()))
+                    .calls(total.getCalls())
+                    .retries(total.getRetries())
+                    .estimatedTokens(total.getEstimatedTokens())
+                    .actualTokens(total.getActualTokens())
+                    .chargedTokens(total.getChargedTokens())
+                    .build();
+        }
+
+        static Usage sum(List<Usage> usages) {
+            return Usage.builder()
+                    .calls(usages.stream().mapToLong(Usage::getCalls).sum())
+                    .retries(usages.stream().mapToLong(Usage::getRetries).sum())
+                    .estimatedTokens(usages.stream().mapToLong(Usage::getEstimatedTokens).sum())
+                    .actualTokens(usages.stream().mapToLong(Usage::getActualTokens).sum())
+                    .chargedTokens(usages.stream().mapToLong(Usage::getChargedTokens).sum())
+                    .build();
+        }
+    }
+}
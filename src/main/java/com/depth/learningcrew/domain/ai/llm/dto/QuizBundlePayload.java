@@ -0,0 +1,50 @@
+package com.depth.learningcrew.domain.ai.llm.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 단일 호출 모드 응답. 문제/정답/보기를 한 번에 받는다.
+ */
+@Data
+public class QuizBundlePayload {
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        private String id;
+        private String stem;
+        private String answer;
+        private List<String> choices; // 4개
+        private Integer answerIndex;  // 0~3
+    }
+
+    public QuizzesPayload toQuizzes() {
+        QuizzesPayload q = new QuizzesPayload();
+        q.setQuizzes(items == null ? null : items.stream()
+                .map(it -> {
+                    QuizzesPayload.Item qi = new QuizzesPayload.Item();
+                    qi.setId(it.getId());
+                    qi.setStem(it.getStem());
+                    qi.setAnswer(it.getAnswer());
+                    return qi;
+                })
+                .toList());
+        return q;
+    }
+
+    public OptionsPayload toOptions() {
+        OptionsPayload o = new OptionsPayload();
+        o.setOptions(items == null ? null : items.stream()
+                .map(it -> {
+                    OptionsPayload.Opt opt = new OptionsPayload.Opt();
+                    opt.setId(it.getId());
+                    opt.setChoices(it.getChoices());
+                    opt.setAnswerIndex(it.getAnswerIndex());
+                    return opt;
+                })
+                .toList());
+        return o;
+    }
+}
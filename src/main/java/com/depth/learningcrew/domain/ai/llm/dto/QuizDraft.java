@@ -0,0 +1,7 @@
+package com.depth.learningcrew.domain.ai.llm.dto;
+
+/**
+ * 검증을 마친 한 스텝 분량의 문제 + 보기.
+ */
+public record QuizDraft(QuizzesPayload quizzes, OptionsPayload options) {
+}
@@ -0,0 +1,78 @@
+package com.depth.learningcrew.domain.ai.llm.entity;
+
+import java.time.LocalDate;
+
+import com.depth.learningcrew.common.auditor.TimeStampedEntity;
+import com.depth.learningcrew.system.limiter.llm.LlmCallOutcome;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * LLM 호출 시도 1회의 토큰 사용 기록. 실패한 시도도 예약량만큼 남긴다(TPM 예약을 그대로 소모하므로).
+ * - 스터디 그룹 삭제를 막지 않도록 FK 없이 id 만 보관한다. 작업 밖에서 부른 호출은 그룹이 비어 있다.
+ * - 일일 예산(LlmTokenBudget)과 관리자 사용량 조회가 usage_date 기준으로 합산한다.
+ */
+@Entity
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "LLM_TOKEN_LEDGER", indexes = {
+        @Index(name = "IDX_LLM_TOKEN_LEDGER_DATE_GROUP", columnList = "usage_date, study_group_id")
+})
+public class LlmTokenLedgerEntry extends TimeStampedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private Long id;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "study_group_id")
+    private Long studyGroupId;
+
+    private Integer step;
+
+    // quiz, options, summary 등 LlmInvoker 호출 이름
+    @Column(nullable = false, length = 30)
+    private String operation;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    // 같은 요청 안에서 몇 번째 시도인지(1부터). 2 이상이면 재시도다.
+    @Column(nullable = false)
+    private Integer attempt;
+
+    // TPM 예약에 쓴 추정치
+    @Column(nullable = false)
+    private Long estimatedTokens;
+
+    // 응답 usage. 실패했거나 usage 가 없으면 null
+    private Long actualTokens;
+
+    // 예산에 반영한 값. 실제 사용량이 있으면 그 값, 없으면 추정치
+    @Column(nullable = false)
+    private Long chargedTokens;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LlmCallOutcome outcome;
+}
@@ -0,0 +1,80 @@
+package com.depth.learningcrew.domain.ai.llm.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.depth.learningcrew.domain.ai.llm.entity.LlmTokenLedgerEntry;
+
+public interface LlmTokenLedgerRepository extends JpaRepository<LlmTokenLedgerEntry, Long> {
+
+    @Query("select coalesce(sum(e.chargedTokens), 0) from LlmTokenLedgerEntry e where e.usageDate = :day")
+    long sumChargedOn(@Param("day") LocalDate day);
+
+    @Query("""
+            select coalesce(sum(e.chargedTokens), 0) from LlmTokenLedgerEntry e
+            where e.usageDate = :day and e.studyGroupId = :studyGroupId
+            """)
+    long sumChargedOn(@Param("day") LocalDate day, @Param("studyGroupId") Long studyGroupId);
+
+    @Query("""
+            select e.usageDate as bucket,
+                   count(e) as calls,
+                   sum(case when e.attempt > 1 then 1 else 0 end) as retries,
+                   sum(e.estimatedTokens) as estimatedTokens,
+                   coalesce(sum(e.actualTokens), 0) as actualTokens,
+                   sum(e.chargedTokens) as chargedTokens
+            from LlmTokenLedgerEntry e
+            where e.usageDate between :from and :to
+            group by e.usageDate
+            order by e.usageDate asc
+            """)
+    List<UsageTotal<LocalDate>> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 많이 쓴 그룹부터. 그룹 없이 부른 호출은 studyGroupId 가 null 인 한 줄로 묶인다.
+    @Query("""
+            select e.studyGroupId as bucket,
+                   count(e) as calls,
+                   sum(case when e.attempt > 1 then 1 else 0 end) as retries,
+                   sum(e.estimatedTokens) as estimatedTokens,
+                   coalesce(sum(e.actualTokens), 0) as actualTokens,
+                   sum(e.chargedTokens) as chargedTokens
+            from LlmTokenLedgerEntry e
+            where e.usageDate between :from and :to
+            group by e.studyGroupId
+            order by sum(e.chargedTokens) desc
+            """)
+    List<UsageTotal<Long>> sumByGroup(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("""
+            select e.model as bucket,
+                   count(e) as calls,
+                   sum(case when e.attempt > 1 then 1 else 0 end) as retries,
+                   sum(e.estimatedTokens) as estimatedTokens,
+                   coalesce(sum(e.actualTokens), 0) as actualTokens,
+                   sum(e.chargedTokens) as chargedTokens
+            from LlmTokenLedgerEntry e
+            where e.usageDate between :from and :to
+            group by e.model
+            order by sum(e.chargedTokens) desc
+            """)
+    List<UsageTotal<String>> sumByModel(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface UsageTotal<K> {
+        K getBucket();
+
+        Long getCalls();
+
+        Long getRetries();
+
+        Long getEstimatedTokens();
+
+        Long getActualTokens();
+
+        Long getChargedTokens();
+    }
+}
@@ -0,0 +1,185 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 이 돌려준 {"field":[item, ...]} 형태의 JSON 을 관대하게 읽는다.
+ * 1) 그대로 파싱 2) 앞뒤 잡음(마크다운 펜스, 설명 문장)을 걷어내고 흔한 문법 결함(끝 콤마, 문자열 안 줄바꿈, 주석, 작은따옴표)을 허용해 파싱
+ * 3) 그래도 안 되면(중간에 잘린 응답 등) 끝까지 닫힌 항목만 골라낸다.
+ * 항목 하나가 타입에 맞지 않으면 그 항목만 버린다. 빠진 항목을 채울지는 호출하는 쪽이 정한다.
+ */
+@Slf4j
+@Component
+public class LenientJsonParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader lenientReader;
+
+    public LenientJsonParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.lenientReader = objectMapper.reader()
+                .with(JsonReadFeature.ALLOW_TRAILING_COMMA)
+                .with(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+                .with(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+                .with(JsonReadFeature.ALLOW_SINGLE_QUOTES);
+    }
+
+    /**
+     * @param field    항목 배열이 들어 있는 필드 이름. 루트가 배열이면 무시한다.
+     * @param itemType 항목 타입
+     */
+    public <E> Parsed<E> parseItems(String raw, String field, Class<E> itemType) {
+        if (raw == null || raw.isBlank()) {
+            return new Parsed<>(List.of(), 0, false);
+        }
+        try {
+            return convert(objectMapper.readTree(raw), field, itemType, false);
+        } catch (Exception strictFailure) {
+            // 아래에서 복구한다
+        }
+
+        String json = stripNoise(raw);
+        if (json.isEmpty()) {
+            return new Parsed<>(List.of(), 0, true);
+        }
+        try {
+            return convert(lenientReader.readTree(json), field, itemType, true);
+        } catch (Exception lenientFailure) {
+            log.debug("[llm-json] salvaging complete items: {}", lenientFailure.getMessage());
+        }
+
+        List<E> items = new ArrayList<>();
+        int dropped = 0;
+        for (String element : completeElements(json)) {
+            E item = toItem(element, itemType);
+            if (item == null) {
+                dropped++;
+            } else {
+                items.add(item);
+            }
+        }
+        return new Parsed<>(items, dropped, true);
+    }
+
+    private <E> Parsed<E> convert(JsonNode root, String field, Class<E> itemType, boolean repaired) {
+        JsonNode array = root == null ? null : root.isArray() ? root : root.get(field);
+        if (array == null || !array.isArray()) {
+            return new Parsed<>(List.of(), 0, repaired);
+        }
+        List<E> items = new ArrayList<>();
+        int dropped = 0;
+        for (JsonNode element : array) {
+            try {
+                items.add(objectMapper.treeToValue(element, itemType));
+            } catch (Exception e) {
+                dropped++;
+            }
+        }
+        return new Parsed<>(items, dropped, repaired);
+    }
+
+    private <E> E toItem(String element, Class<E> itemType) {
+        try {
+            return objectMapper.treeToValue(lenientReader.readTree(element), itemType);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 첫 '{' / '[' 부터, 루트가 닫히는 곳(잘렸으면 끝)까지만 남긴다.
+    static String stripNoise(String raw) {
+        int start = -1;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '{' || c == '[') {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return "";
+        }
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = start; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (c == '\\') escaped = true;
+                else if (c == '"') inString = false;
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth == 0) {
+                        return raw.substring(start, i + 1);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return raw.substring(start);
+    }
+
+    /**
+     * 항목 배열에서 끝까지 닫힌 객체만 잘라낸다. 항목 깊이는 루트가 객체면 3({ "field": [ {item} ] }), 배열이면 2.
+     */
+    static List<String> completeElements(String json) {
+        List<String> elements = new ArrayList<>();
+        int itemDepth = json.startsWith("[") ? 2 : 3;
+        int depth = 0;
+        int itemStart = -1;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (c == '\\') escaped = true;
+                else if (c == '"') inString = false;
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    depth++;
+                    if (c == '{' && depth == itemDepth) {
+                        itemStart = i;
+                    }
+                }
+                case '}', ']' -> {
+                    if (c == '}' && depth == itemDepth && itemStart >= 0) {
+                        elements.add(json.substring(itemStart, i + 1));
+                        itemStart = -1;
+                    }
+                    depth = Math.max(0, depth - 1);
+                }
+                default -> {
+                }
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * @param items    타입에 맞게 읽은 항목
+     * @param dropped  닫혀 있었지만 타입에 맞지 않아 버린 항목 수 (잘려서 못 읽은 마지막 항목은 세지 않는다)
+     * @param repaired 원문 그대로는 파싱되지 않아 복구를 거쳤는지
+     */
+    public record Parsed<E>(List<E> items, int dropped, boolean repaired) {
+    }
+}
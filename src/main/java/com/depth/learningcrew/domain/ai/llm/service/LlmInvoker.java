@@ -0,0 +1,369 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.ai.llm.entity.LlmTokenLedgerEntry;
+import com.depth.learningcrew.system.limiter.llm.AdaptiveConcurrencyLimiter;
+import com.depth.learningcrew.system.limiter.llm.LlmCallOutcome;
+import com.depth.learningcrew.system.limiter.llm.LlmCircuitBreaker;
+import com.depth.learningcrew.system.limiter.llm.LlmUnavailableException;
+import com.depth.learningcrew.system.limiter.llm.TokenCalibrator;
+import com.depth.learningcrew.system.limiter.llm.TokenCounter;
+import com.depth.learningcrew.system.limiter.llm.TpmRateLimiter;
+
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.TokenStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 호출 공통 경로. 일일 예산 확인 → 서킷 확인 → TPM 예약 → 동시성 permit → 호출 → 실제 사용량 정산/원장 기록 → 검증을
+ * 한 번의 시도로 묶고 재시도한다.
+ * - 예약량은 TokenCounter 로 센 입력 토큰과 예상 출력 토큰을 모델별 보정 계수로 맞춘 값이다.
+ * - 동시 호출 수는 AdaptiveConcurrencyLimiter 가 지연/과부하 신호로 조절한다.
+ * - 서킷이 열려 있으면 LlmUnavailableException 으로 바로 실패해 작업 큐가 작업을 뒤로 미룬다.
+ * - 시도마다 LlmTokenLedger 에 추정/실제 토큰을 남기고, 예산을 넘긴 그룹(또는 전체)은 다음 날까지 같은 방식으로 미룬다.
+ * 계측: llm.call{operation,outcome}(호출 1회, 대기 제외), llm.limiter.wait{limiter=tpm|concurrency}, llm.retries{operation,reason},
+ * 게이지 llm.permits.in-flight / llm.permits.limit / llm.circuit.state(0 CLOSED, 1 OPEN, 2 HALF_OPEN).
+ */
+@Slf4j
+@Component
+public class LlmInvoker {
+
+    private static final long STREAM_TIMEOUT_SECONDS = 180;
+
+    private final TpmRateLimiter tpmRateLimiter;
+    private final TokenCounter tokenCounter;
+    private final TokenCalibrator calibrator;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final LlmTokenLedger ledger;
+    private final LlmTokenBudget budget;
+    private final String model;
+
+    private final Timer tpmWait;
+    private final Timer permitWait;
+
+    // 작업 단위 토큰 집계. 가상 스레드로 나눠 호출해도(노트 축약 등) 자식 스레드가 같은 집계를 물려받는다.
+    private final InheritableThreadLocal<UsageScope> usage = new InheritableThreadLocal<>();
+
+    private final LongAdder retries = new LongAdder();
+
+    public LlmInvoker(
+            TpmRateLimiter tpmRateLimiter,
+            TokenCounter tokenCounter,
+            TokenCalibrator calibrator,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            LlmCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            LlmTokenLedger ledger,
+            LlmTokenBudget budget,
+            @Value("${gemini.model-name:gemini-2.0-flash}") String model) {
+        this.tpmRateLimiter = tpmRateLimiter;
+        this.tokenCounter = tokenCounter;
+        this.calibrator = calibrator;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.ledger = ledger;
+        this.budget = budget;
+        this.model = model;
+
+        this.tpmWait = Timer.builder("llm.limiter.wait").tag("limiter", "tpm").register(meterRegistry);
+        this.permitWait = Timer.builder("llm.limiter.wait").tag("limiter", "concurrency").register(meterRegistry);
+        Gauge.builder("llm.permits.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+        Gauge.builder("llm.permits.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::currentLimit).register(meterRegistry);
+        Gauge.builder("llm.circuit.state", circuitBreaker, b -> b.state().ordinal()).register(meterRegistry);
+    }
+
+    /**
+     * 닫을 때까지 현재 스레드(와 그 안에서 만든 스레드)의 LLM 토큰 사용량을 모은다. 그룹은 바깥 범위에서 물려받는다.
+     */
+    public UsageScope openUsageScope() {
+        UsageScope current = usage.get();
+        return current == null ? openUsageScope(null, null) : openUsageScope(current.studyGroupId, current.step);
+    }
+
+    /**
+     * @param studyGroupId 원장/예산에 기록할 그룹. 이 범위 안의 호출은 이 그룹의 일일 예산을 쓴다.
+     */
+    public UsageScope openUsageScope(Long studyGroupId, Integer step) {
+        UsageScope scope = new UsageScope(usage.get(), studyGroupId, step);
+        usage.set(scope);
+        return scope;
+    }
+
+    /**
+     * @param operation    계측 태그(quiz, options, summary 등)
+     * @param input        프롬프트에 들어가는 가변 입력(노트, 문항 JSON 등). 템플릿 분량은 보정 계수가 흡수한다.
+     * @param outputTokens 예상 출력 토큰 수
+     * @param call         LLM 호출
+     * @param check        응답 파싱/검증. 예외를 던지면 재시도한다.
+     */
+    public <T, R> R call(String operation, CharSequence input, long outputTokens,
+                         Supplier<Result<T>> call, Function<T, R> check) {
+        long inputTokens = tokenCounter.count(input);
+        // 실패한 시도는 예약을 그대로 소모한 것으로 본다.
+        return retry(operation, attemptNo -> {
+            Result<T> result = attempt(operation, attemptNo, inputTokens, outputTokens, call, Result::tokenUsage);
+            return check.apply(result.content());
+        }, 3, 1_000L); // 3회. 과부하일 때만 1s→2s 백오프(지터 포함)
+    }
+
+    /**
+     * 스트리밍 호출. 시도마다 새 listener 를 받아 부분 응답을 흘려보내고, 끝나면 전체 텍스트로 검증한다.
+     *
+     * @param stream    스트림 생성 (start 는 여기서 한다)
+     * @param listeners 시도별 listener. onComplete 가 예외를 던지면 onAbort 후 재시도한다.
+     */
+    public <T> T stream(String operation, CharSequence input, long outputTokens, Supplier<TokenStream> stream,
+                        Supplier<StreamListener<T>> listeners) {
+        long inputTokens = tokenCounter.count(input);
+        return retry(operation, attemptNo -> {
+            StreamListener<T> listener = listeners.get();
+            try {
+                ChatResponse response = attempt(operation, attemptNo, inputTokens, outputTokens,
+                        () -> awaitStream(stream.get(), listener), ChatResponse::tokenUsage);
+                return listener.onComplete(response.aiMessage().text());
+            } catch (RuntimeException e) {
+                listener.onAbort();
+                throw e;
+            }
+        }, 3, 1_000L);
+    }
+
+    /**
+     * 호출 스레드의 토큰 집계를 이어받아 실행하는 executor. 스트리밍 콜백처럼 다른 스레드에서 시작한 작업에 쓴다.
+     * 집계 대상은 이 메서드를 부른 시점의 스레드 기준이다.
+     */
+    public Executor usageScoped(Executor delegate) {
+        UsageScope sink = usage.get();
+        return task -> delegate.execute(() -> {
+            UsageScope previous = usage.get();
+            usage.set(sink);
+            try {
+                task.run();
+            } finally {
+                if (previous == null)
+                    usage.remove();
+                else
+                    usage.set(previous);
+            }
+        });
+    }
+
+    // 예산 확인 → 서킷 확인 → TPM 예약 → 동시성 permit → 호출 → 보정/정산/집계. 검증 전 단계까지가 한 번의 시도다.
+    private <R> R attempt(String operation, int attemptNo, long inputTokens, long outputTokens,
+                          Supplier<R> call, Function<R, TokenUsage> usageOf) {
+        UsageScope scope = usage.get();
+        budget.check(scope == null ? null : scope.studyGroupId);
+        if (!circuitBreaker.tryAcquire())
+            throw new LlmUnavailableException(circuitBreaker.retryAfter());
+        long estimated = calibrator.reserve(model, inputTokens, outputTokens);
+        TpmRateLimiter.Reservation reservation;
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            reservation = tpmWait.recordCallable(() -> tpmRateLimiter.acquire(estimated));
+            permit = permitWait.recordCallable(concurrencyLimiter::acquire);
+        } catch (Exception e) {
+            circuitBreaker.abandon(); // 호출하지 못했으면 시험 호출 자리를 돌려준다
+            throw e instanceof RuntimeException re ? re : new IllegalStateException(e);
+        }
+        R response;
+        try {
+            response = invoke(operation, permit, call);
+        } catch (RuntimeException e) {
+            // 실패한 시도는 예약을 그대로 소모한 것으로 본다.
+            charge(scope, operation, attemptNo, estimated, -1, LlmCallOutcome.of(e));
+            throw e;
+        }
+        TokenUsage tokenUsage = usageOf.apply(response);
+        if (tokenUsage != null)
+            calibrator.observe(model, inputTokens, outputTokens,
+                    tokenUsage.inputTokenCount(), tokenUsage.outputTokenCount());
+        long actual = actualTokens(tokenUsage);
+        tpmRateLimiter.reconcile(reservation, actual);
+        charge(scope, operation, attemptNo, estimated, actual, LlmCallOutcome.SUCCESS);
+        return response;
+    }
+
+    private ChatResponse awaitStream(TokenStream tokenStream, StreamListener<?> listener) {
+        CompletableFuture<ChatResponse> done = new CompletableFuture<>();
+        tokenStream
+                .onPartialResponse(listener::onPartial)
+                .onCompleteResponse(done::complete)
+                .onError(done::completeExceptionally)
+                .start();
+        try {
+            return done.get(STREAM_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("LLM stream timed out after " + STREAM_TIMEOUT_SECONDS + "s", e);
+        }
+    }
+
+    /**
+     * 이 노드에서 지금까지 다시 시도한 LLM 호출 수(첫 시도 제외).
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    private <T> T invoke(String operation, AdaptiveConcurrencyLimiter.Permit permit, Supplier<T> supplier) {
+        LlmCallOutcome outcome = LlmCallOutcome.SUCCESS;
+        Observation observation = Observation.createNotStarted("llm.call", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            outcome = LlmCallOutcome.of(e);
+            observation.error(e);
+            throw e;
+        } finally {
+            permit.release(outcome);
+            circuitBreaker.record(outcome);
+            observation.lowCardinalityKeyValue("outcome", outcome.name().toLowerCase(Locale.ROOT)).stop();
+        }
+    }
+
+    // 작업 집계 + 예산 + 원장. 원장 기록이 실패해도 호출 결과는 버리지 않는다.
+    private void charge(UsageScope scope, String operation, int attemptNo, long estimated, long actual,
+                        LlmCallOutcome outcome) {
+        long charged = actual >= 0 ? actual : estimated;
+        Long studyGroupId = scope == null ? null : scope.studyGroupId;
+        if (scope != null)
+            scope.tokens.addAndGet(charged);
+        budget.charge(studyGroupId, charged);
+        try {
+            ledger.record(LlmTokenLedgerEntry.builder()
+                    .usageDate(LocalDate.now())
+                    .studyGroupId(studyGroupId)
+                    .step(scope == null ? null : scope.step)
+                    .operation(operation)
+                    .model(model)
+                    .attempt(attemptNo)
+                    .estimatedTokens(estimated)
+                    .actualTokens(actual >= 0 ? actual : null)
+                    .chargedTokens(charged)
+                    .outcome(outcome)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("[llm] token ledger write failed gid={} op={} err={}", studyGroupId, operation, e.getMessage());
+        }
+    }
+
+    // Gemini가 돌려준 usage metadata. 없으면 -1 (정산하지 않음)
+    private long actualTokens(TokenUsage usage) {
+        if (usage == null || usage.totalTokenCount() == null)
+            return -1;
+        return usage.totalTokenCount();
+    }
+
+    // 서킷이 열리면 바로 던진다. 검증/파싱 실패는 기다릴 이유가 없어 곧바로 다시 시도한다.
+    private <T> T retry(String operation, IntFunction<T> action, int maxAttempts, long initialDelayMs) {
+        long delay = initialDelayMs;
+        RuntimeException last = null;
+        for (int i = 1; i <= maxAttempts; i++) {
+            try {
+                if (i > 1) {
+                    retries.increment();
+                    meterRegistry.counter("llm.retries", "operation", operation,
+                            "reason", LlmCallOutcome.of(last).name().toLowerCase(Locale.ROOT)).increment();
+                }
+                return action.apply(i);
+            } catch (LlmUnavailableException ex) {
+                throw ex;
+            } catch (RuntimeException ex) {
+                last = ex;
+                if (i < maxAttempts && LlmCallOutcome.of(ex) == LlmCallOutcome.OVERLOADED) {
+                    sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+                    delay = Math.min(delay * 2, 8000);
+                }
+            }
+        }
+        throw last != null ? last : new RuntimeException("retry failed");
+    }
+
+    private void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 스트리밍 시도 하나의 수신자. onPartial 은 모델 클라이언트 스레드에서, onComplete/onAbort 는 호출 스레드에서 불린다.
+     */
+    public interface StreamListener<T> {
+
+        void onPartial(String text);
+
+        /** 전체 응답으로 검증/변환한다. 예외를 던지면 이 시도는 실패다. */
+        T onComplete(String text);
+
+        /** 이 시도가 실패로 끝났을 때. 부분 응답으로 시작한 작업을 정리한다. */
+        default void onAbort() {
+        }
+    }
+
+    public final class UsageScope implements AutoCloseable {
+        private final UsageScope previous;
+        private final Long studyGroupId;
+        private final Integer step;
+        private final AtomicLong tokens = new AtomicLong();
+
+        private UsageScope(UsageScope previous, Long studyGroupId, Integer step) {
+            this.previous = previous;
+            this.studyGroupId = studyGroupId;
+            this.step = step;
+        }
+
+        public long getTokens() {
+            return tokens.get();
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                usage.remove();
+            } else {
+                previous.tokens.addAndGet(tokens.get());
+                usage.set(previous);
+            }
+        }
+    }
+}
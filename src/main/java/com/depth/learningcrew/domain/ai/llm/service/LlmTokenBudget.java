@@ -0,0 +1,133 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.system.limiter.llm.LlmBudgetExceededException;
+
+import lombok.Getter;
+
+/**
+ * 그룹별 / 전체 일일 토큰 예산. LlmInvoker 가 TPM 예약 전에 확인한다(0 이면 제한 없음).
+ * - 사용량은 원장 합계를 refresh-seconds 마다 다시 읽고, 그 사이 이 노드에서 쓴 양은 바로 더한다.
+ *   다른 노드의 사용량은 최대 refresh-seconds 늦게 보이므로 예산을 조금 넘길 수 있다.
+ * - 넘으면 다음 날 0시까지 기다리라는 LlmBudgetExceededException 을 던진다. 작업 워커는 시도 횟수를 쓰지 않고 미룬다.
+ */
+@Component
+public class LlmTokenBudget {
+
+    private final LlmTokenLedger ledger;
+    @Getter
+    private final long groupDailyTokens;
+    @Getter
+    private final long globalDailyTokens;
+    private final Duration refreshInterval;
+
+    private final DailyUsage global = new DailyUsage();
+    private final Map<Long, DailyUsage> groups = new ConcurrentHashMap<>();
+
+    public LlmTokenBudget(
+            LlmTokenLedger ledger,
+            @Value("${llm.budget.group-daily-tokens:0}") long groupDailyTokens,
+            @Value("${llm.budget.global-daily-tokens:0}") long globalDailyTokens,
+            @Value("${llm.budget.refresh-seconds:10}") long refreshSeconds) {
+        this.ledger = ledger;
+        this.groupDailyTokens = groupDailyTokens;
+        this.globalDailyTokens = globalDailyTokens;
+        this.refreshInterval = Duration.ofSeconds(refreshSeconds);
+    }
+
+    /**
+     * @param studyGroupId 호출을 일으킨 그룹. 없으면 전체 예산만 본다.
+     */
+    public void check(Long studyGroupId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (globalDailyTokens > 0) {
+            long used = global.used(now, () -> ledger.usedOn(now.toLocalDate()));
+            if (used >= globalDailyTokens)
+                throw new LlmBudgetExceededException("global", used, globalDailyTokens, untilTomorrow(now));
+        }
+        if (groupDailyTokens > 0 && studyGroupId != null) {
+            long used = groups.computeIfAbsent(studyGroupId, id -> new DailyUsage())
+                    .used(now, () -> ledger.usedOn(now.toLocalDate(), studyGroupId));
+            if (used >= groupDailyTokens)
+                throw new LlmBudgetExceededException("group:" + studyGroupId, used, groupDailyTokens, untilTomorrow(now));
+        }
+    }
+
+    /**
+     * 이 노드에서 쓴 양을 다음 원장 조회 전까지 더해 둔다.
+     */
+    public void charge(Long studyGroupId, long tokens) {
+        LocalDate today = LocalDate.now();
+        if (globalDailyTokens > 0)
+            global.add(today, tokens);
+        if (groupDailyTokens > 0 && studyGroupId != null) {
+            DailyUsage usage = groups.get(studyGroupId);
+            if (usage != null)
+                usage.add(today, tokens);
+        }
+    }
+
+    private static Duration untilTomorrow(LocalDateTime now) {
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * 하루 사용량. 원장 합계 조회는 DB 왕복이라 모니터 대신 ReentrantLock 으로 한 스레드만 읽게 하고(가상 스레드 pinning 방지),
+     * 오늘 값이 이미 있으면 다른 호출은 기다리지 않고 직전 값을 쓴다. 값은 불변 스냅샷을 CAS 로 바꿔 끼운다.
+     */
+    private final class DailyUsage {
+        private final AtomicReference<Snapshot> current = new AtomicReference<>();
+        private final ReentrantLock loading = new ReentrantLock();
+
+        long used(LocalDateTime now, LongSupplier load) {
+            Snapshot snapshot = current.get();
+            if (isFresh(snapshot, now))
+                return snapshot.tokens();
+
+            boolean hasToday = snapshot != null && snapshot.day().equals(now.toLocalDate());
+            if (hasToday) {
+                if (!loading.tryLock())
+                    return snapshot.tokens();
+            } else {
+                loading.lock(); // 날이 바뀌었거나 처음이면 어제 값으로 판단할 수 없어 기다린다
+            }
+            try {
+                snapshot = current.get();
+                if (isFresh(snapshot, now))
+                    return snapshot.tokens();
+                Snapshot loaded = new Snapshot(now.toLocalDate(), now, load.getAsLong());
+                current.set(loaded);
+                return loaded.tokens();
+            } finally {
+                loading.unlock();
+            }
+        }
+
+        void add(LocalDate today, long amount) {
+            current.updateAndGet(s -> s != null && s.day().equals(today) ? s.plus(amount) : s);
+        }
+
+        private boolean isFresh(Snapshot snapshot, LocalDateTime now) {
+            return snapshot != null
+                    && snapshot.day().equals(now.toLocalDate())
+                    && !snapshot.loadedAt().plus(refreshInterval).isBefore(now);
+        }
+    }
+
+    private record Snapshot(LocalDate day, LocalDateTime loadedAt, long tokens) {
+        Snapshot plus(long amount) {
+            return new Snapshot(day, loadedAt, tokens + amount);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.domain.ai.llm.dto.LlmUsageDto;
+import com.depth.learningcrew.domain.ai.llm.entity.LlmTokenLedgerEntry;
+import com.depth.learningcrew.domain.ai.llm.repository.LlmTokenLedgerRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * LLM 토큰 사용 원장. LlmInvoker 가 시도마다 한 줄씩 남기고, 예산 확인과 관리자 조회가 합산해 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class LlmTokenLedger {
+
+    private final LlmTokenLedgerRepository ledgerRepository;
+
+    // 호출 쪽 트랜잭션(노트 읽기 등)과 무관하게 바로 남긴다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void record(LlmTokenLedgerEntry entry) {
+        ledgerRepository.save(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public long usedOn(LocalDate day) {
+        return ledgerRepository.sumChargedOn(day);
+    }
+
+    @Transactional(readOnly = true)
+    public long usedOn(LocalDate day, Long studyGroupId) {
+        return ledgerRepository.sumChargedOn(day, studyGroupId);
+    }
+
+    @Transactional(readOnly = true)
+    public LlmUsageDto.ReportResponse report(LocalDate from, LocalDate to, int topGroups,
+                                             long groupDailyBudget, long globalDailyBudget) {
+        return LlmUsageDto.ReportResponse.from(from, to, groupDailyBudget, globalDailyBudget,
+                ledgerRepository.sumByDay(from, to),
+                ledgerRepository.sumByGroup(from, to, PageRequest.of(0, topGroups)),
+                ledgerRepository.sumByModel(from, to));
+    }
+}
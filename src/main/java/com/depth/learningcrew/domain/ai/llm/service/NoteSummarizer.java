@@ -0,0 +1,41 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import dev.langchain4j.service.spring.AiService;
+
+@AiService
+public interface NoteSummarizer {
+    @SystemMessage("""
+        ** Your Persona **
+        You are a Professor preparing material for a quiz writer.
+
+        ** Role **
+        Condense ONE part of a study group's notes into a dense digest
+        that keeps every quiz-worthy fact. Do NOT invent facts.
+
+        ** Task **
+        Output plain text (markdown bullets allowed, no JSON), in the same language as the notes.
+
+        ** Rules **
+        - Keep definitions, terms, numbers, formulas, names, comparisons and cause/effect.
+        - Drop greetings, repetition, filler and formatting noise.
+        - Keep the "## title" headings of the notes that still have content.
+        - At most {{maxChars}} characters.
+    """)
+    @UserMessage("""
+        Study Group: {{groupName}}
+        Step: {{step}}
+
+        ===== Notes part =====
+        {{notes}}
+    """)
+    Result<String> summarize(
+            @V("groupName") String groupName,
+            @V("step") int step,
+            @V("notes") String notes,
+            @V("maxChars") int maxChars
+    );
+}
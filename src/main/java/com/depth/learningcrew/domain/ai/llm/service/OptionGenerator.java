@@ -1,10 +1,11 @@
 package com.depth.learningcrew.domain.ai.llm.service;
 
-import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.spring.AiService;
 
+// 응답 원문은 LenientJsonParser 로 읽는다(OptionsPayload 형태).
 @AiService
 public interface OptionGenerator {
     @SystemMessage("""
@@ -41,5 +42,5 @@ public interface OptionGenerator {
         Items (JSON):
         {{items}}
     """)
-    OptionsPayload generate(String items);
+    Result<String> generate(String items);
 }
@@ -0,0 +1,59 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import dev.langchain4j.service.spring.AiService;
+
+/**
+ * 문제 + 정답 + 보기를 한 번의 호출로 생성한다(llm.quiz.generation-mode=SINGLE_CALL).
+ * 응답 원문은 LenientJsonParser 로 읽는다(QuizBundlePayload 형태).
+ */
+@AiService
+public interface QuizBundleGenerator {
+    @SystemMessage("""
+        ** Your Persona **
+        You are a Professor and quiz writer.
+
+        ** Role **
+        Produce EXACTLY 20 diverse, factual multiple-choice quizzes
+        strictly based on the provided notes. Do NOT invent facts.
+        For each quiz, create exactly 4 answer choices total:
+        - 1 correct choice identical to the "answer"
+        - 3 plausible but incorrect distractors
+
+        ** Hard limits (MUST follow) **
+        - Each choice MUST be ≤ 255 characters. NEVER exceed.
+        - No markdown/backticks/quotes around choices.
+
+        ** Task **
+        Output STRICT JSON ONLY (no markdown):
+        {
+          "items": [
+            {"id":"Q1","stem":"...","answer":"...","choices":["A","B","C","D"],"answerIndex":0},
+            ...
+            {"id":"Q20","stem":"...","answer":"...","choices":["A","B","C","D"],"answerIndex":0}
+          ]
+        }
+
+        ** Rules **
+        - 20 unique quizzes with unique ids.
+        - choices[answerIndex] must be exactly the same text as answer.
+        - choices must be all distinct.
+        - Cover different topics across notes.
+        - Keep stems and choices concise.
+    """)
+    @UserMessage("""
+        Study Group: {{groupName}}
+        Step: {{step}}
+
+        ===== Notes (title + content aggregated) =====
+        {{notes}}
+    """)
+    Result<String> generate(
+            @V("groupName") String groupName,
+            @V("step") int step,
+            @V("notes") String notes
+    );
+}
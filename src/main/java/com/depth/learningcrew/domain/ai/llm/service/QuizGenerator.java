@@ -1,14 +1,18 @@
 package com.depth.learningcrew.domain.ai.llm.service;
 
-import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.V;
 import dev.langchain4j.service.spring.AiService;
 
+/**
+ * 응답은 원문 그대로 받아 LenientJsonParser 로 읽는다(QuizzesPayload 형태). 잘린 응답에서 살린 문항이 모자라면 generateMissing 으로 그만큼만 채운다.
+ */
 @AiService
 public interface QuizGenerator {
-    @SystemMessage("""
+    // StreamingQuizGenerator 와 같은 프롬프트를 쓴다.
+    String SYSTEM_PROMPT = """
         ** Your Persona **
         You are a Professor and quiz writer.
 
@@ -31,17 +35,62 @@ public interface QuizGenerator {
         - Each question must have a single correct answer (answer field).
         - Cover different topics across notes.
         - Keep stems concise.
+    """;
+
+    String USER_PROMPT = """
+        Study Group: {{groupName}}
+        Step: {{step}}
+
+        ===== Notes (title + content aggregated) =====
+        {{notes}}
+    """;
+
+    @SystemMessage(SYSTEM_PROMPT)
+    @UserMessage(USER_PROMPT)
+    Result<String> generate(
+            @V("groupName") String groupName,
+            @V("step") int step,
+            @V("notes") String notes
+    );
+
+    @SystemMessage("""
+        ** Your Persona **
+        You are a Professor and quiz writer.
+
+        ** Role **
+        Some quizzes for this study step are already written.
+        Produce EXACTLY {{count}} NEW, diverse, factual quizzes
+        strictly based on the provided notes. Do NOT invent facts.
+
+        ** Task **
+        Output STRICT JSON ONLY (no markdown), using exactly these ids in order: {{ids}}
+        {
+          "quizzes": [
+            {"id":"...","stem":"...","answer":"..."}
+          ]
+        }
+
+        ** Rules **
+        - Do NOT repeat or paraphrase any existing quiz.
+        - Each question must have a single correct answer (answer field).
+        - Keep stems concise.
     """)
     @UserMessage("""
         Study Group: {{groupName}}
         Step: {{step}}
 
+        ===== Existing quizzes (do not repeat) =====
+        {{existing}}
+
         ===== Notes (title + content aggregated) =====
         {{notes}}
     """)
-    QuizzesPayload generate(
+    Result<String> generateMissing(
             @V("groupName") String groupName,
             @V("step") int step,
-            @V("notes") String notes
+            @V("notes") String notes,
+            @V("count") int count,
+            @V("ids") String ids,
+            @V("existing") String existing
     );
 }
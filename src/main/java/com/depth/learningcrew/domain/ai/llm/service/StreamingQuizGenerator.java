@@ -0,0 +1,21 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import dev.langchain4j.service.spring.AiService;
+
+/**
+ * QuizGenerator 의 스트리밍 버전. 응답 JSON 을 토큰 단위로 받아 완성된 문항부터 보기 생성을 시작한다.
+ */
+@AiService
+public interface StreamingQuizGenerator {
+    @SystemMessage(QuizGenerator.SYSTEM_PROMPT)
+    @UserMessage(QuizGenerator.USER_PROMPT)
+    TokenStream generate(
+            @V("groupName") String groupName,
+            @V("step") int step,
+            @V("notes") String notes
+    );
+}
@@ -1,10 +1,16 @@
 package com.depth.learningcrew.domain.note.repository;
 
 import com.depth.learningcrew.domain.note.entity.Note;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
@@ -13,4 +19,19 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     boolean existsByStudyGroup_IdAndStepAndCreatedBy_Id(Long studyGroupId, Integer step, Long userId);
 
     Optional<Note> findByStudyGroup_IdAndStepAndCreatedBy_Id(Long studyGroupId, Integer step, Long userId);
+
+    // 퀴즈 생성용. 엔티티를 영속성 컨텍스트에 올리지 않고 제목/본문만 한 건씩 흘려 읽는다. 트랜잭션 안에서 닫아야 한다.
+    @Query("select n.title as title, n.content as content from Note n " +
+            "where n.studyGroup.id = :studyGroupId and n.step = :step order by n.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<NoteContent> streamContents(@Param("studyGroupId") Long studyGroupId, @Param("step") Integer step);
+
+    interface NoteContent {
+        String getTitle();
+
+        String getContent();
+    }
 }
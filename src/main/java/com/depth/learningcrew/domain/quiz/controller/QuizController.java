@@ -2,6 +2,7 @@ package com.depth.learningcrew.domain.quiz.controller;
 
 import com.depth.learningcrew.domain.quiz.dto.QuizDto;
 import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
+import com.depth.learningcrew.domain.quiz.service.QuizRecordExportService;
 import com.depth.learningcrew.domain.quiz.service.QuizService;
 import com.depth.learningcrew.system.security.model.UserDetails;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,9 +12,15 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -23,6 +30,7 @@ import java.util.List;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizRecordExportService quizRecordExportService;
 
     @GetMapping("/{step}/quiz")
     @Operation(summary = "스터디그룹의 스텝별 퀴즈 조회", description = "해당 스터디 그룹의 스텝별 퀴즈를 리스트 형태로 조회합니다.")
@@ -52,4 +60,18 @@ public class QuizController {
             @AuthenticationPrincipal UserDetails userDetails) {
         return quizService.paginateQuizRecords(studyGroupId, searchConditions, userDetails, pageable);
     }
+
+    @GetMapping("/records/export")
+    @Operation(summary = "퀴즈 결과 내보내기", description = "스터디 그룹 소유자가 멤버 전원의 스텝별 퀴즈 결과를 CSV 또는 NDJSON(format=ndjson) 파일로 내려받습니다.")
+    public ResponseEntity<StreamingResponseBody> exportQuizRecords(
+            @PathVariable Long studyGroupId,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        QuizRecordExportService.Export export = quizRecordExportService.export(studyGroupId, format, userDetails);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(export.format().mediaType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(export.filename()).build().toString())
+                .body(export.body());
+    }
 }
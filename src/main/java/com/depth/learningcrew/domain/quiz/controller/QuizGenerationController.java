@@ -3,15 +3,22 @@ package com.depth.learningcrew.domain.quiz.controller;
 import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.depth.learningcrew.domain.quiz.dto.QuizGenerationJobDto;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.schedule.QuizGenerationJobWorker;
 import com.depth.learningcrew.domain.quiz.schedule.QuizScheduler;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationJobService;
 import com.depth.learningcrew.domain.quiz.service.QuizGenerationService;
 import com.depth.learningcrew.system.security.annotation.NoJwtAuth;
 
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -23,37 +30,67 @@ import lombok.RequiredArgsConstructor;
 public class QuizGenerationController {
 
     private final QuizScheduler quizScheduler;
+    private final QuizGenerationService quizGenerationService;
+    private final QuizGenerationJobService quizGenerationJobService;
+    private final QuizGenerationJobWorker quizGenerationJobWorker;
 
     /**
-     * 스케줄러와 동일한 스캔 로직을 즉시(비동기) 실행한다.
-     * - 스케줄러의 inProgress 키로 중복 제출은 자동 방지된다.
-     * - 오래 걸릴 수 있으므로 202 Accepted로 즉시 반환한다.
+     * 스케줄러와 동일한 스캔 로직을 즉시 실행한다.
+     * - 작업 큐에 넣기만 하므로 중복 제출은 (group, step) 유니크 작업으로 자동 방지된다.
+     * - 실제 생성은 작업 워커가 처리하므로 202 Accepted로 즉시 반환한다. 진행 상황은 jobId 로 조회한다.
      */
     @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
     @PostMapping("/admin/run/scan")
     public ResponseEntity<TriggerResponse> runScan() {
         String jobId = UUID.randomUUID().toString();
-        quizScheduler.generateQuiz(); // 비동기 제출
-        return ResponseEntity.accepted().body(new TriggerResponse("SUBMITTED", jobId));
+        int enqueued = quizScheduler.generateQuiz(jobId); // 작업 큐 등록
+        return ResponseEntity.accepted().body(TriggerResponse.of(jobId, enqueued));
     }
 
-    public record TriggerResponse(String status, String jobId) {}
+    public record TriggerResponse(String status, String jobId, int enqueued) {
 
-    private final QuizGenerationService quizGenerationService;
+        // 새로 들어간 작업이 없으면 그 jobId 로 조회/취소할 작업도 없으므로 비워서 돌려준다.
+        static TriggerResponse of(String jobId, int enqueued) {
+            return enqueued > 0
+                    ? new TriggerResponse("SUBMITTED", jobId, enqueued)
+                    : new TriggerResponse("NOTHING_QUEUED", null, 0);
+        }
+    }
 
     @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
     @PostMapping("/admin/run/target")
-    public ResponseEntity<?> runTarget(@RequestBody RunTargetRequest req) {
-        quizGenerationService.generateForGroupAndPrevStep(req.groupId(), req.stepNum());
-        return ResponseEntity.accepted().build();
+    public ResponseEntity<TriggerResponse> runTarget(@RequestBody RunTargetRequest req) {
+        String jobId = UUID.randomUUID().toString();
+        // 이미 대기/실행 중이면 그 작업의 batchId 를 돌려줘야 이어서 조회/취소할 수 있다
+        QuizGenerationJob job = quizGenerationJobService.enqueueTarget(req.groupId(), req.stepNum(), jobId);
+        boolean enqueued = jobId.equals(job.getBatchId());
+        return ResponseEntity.accepted()
+                .body(new TriggerResponse(enqueued ? "SUBMITTED" : "ALREADY_QUEUED", job.getBatchId(),
+                        enqueued ? 1 : 0));
     }
 
     public record RunTargetRequest(@NotNull Long groupId, @NotNull Integer stepNum) {}
 
     @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
     @PostMapping("/admin/run/backfill-missing")
-    public ResponseEntity<?> runBackfillMissing() {
-        quizGenerationService.generateForAllEndedStepsWithoutQuizzes();
-        return ResponseEntity.accepted().build();
+    public ResponseEntity<TriggerResponse> runBackfillMissing() {
+        String jobId = UUID.randomUUID().toString();
+        int enqueued = quizGenerationService.generateForAllEndedStepsWithoutQuizzes(jobId);
+        return ResponseEntity.accepted().body(TriggerResponse.of(jobId, enqueued));
+    }
+
+    @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
+    @GetMapping("/admin/jobs/{jobId}")
+    @Operation(summary = "퀴즈 생성 작업 조회", description = "실행 요청 시 받은 jobId 에 속한 스텝별 진행 단계, 소요 시간, 토큰 사용량을 조회합니다.")
+    public QuizGenerationJobDto.BatchResponse getJob(@PathVariable String jobId) {
+        return QuizGenerationJobDto.BatchResponse.from(jobId, quizGenerationJobService.findBatch(jobId));
+    }
+
+    @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
+    @PostMapping("/admin/jobs/{jobId}/cancel")
+    @Operation(summary = "퀴즈 생성 작업 취소", description = "아직 끝나지 않은 스텝을 취소합니다. 실행 중인 스텝은 다음 단계로 넘어가기 전에 멈춥니다.")
+    public QuizGenerationJobDto.BatchResponse cancelJob(@PathVariable String jobId) {
+        quizGenerationJobWorker.interrupt(quizGenerationJobService.cancelBatch(jobId));
+        return QuizGenerationJobDto.BatchResponse.from(jobId, quizGenerationJobService.findBatch(jobId));
     }
 }
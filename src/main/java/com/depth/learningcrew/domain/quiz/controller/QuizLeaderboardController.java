@@ -0,0 +1,30 @@
+package com.depth.learningcrew.domain.quiz.controller;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizLeaderboardDto;
+import com.depth.learningcrew.domain.quiz.service.QuizLeaderboardService;
+import com.depth.learningcrew.system.security.model.UserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/study-groups/{studyGroupId}/leaderboard")
+@Tag(name = "Quiz", description = "퀴즈 API")
+public class QuizLeaderboardController {
+
+    private final QuizLeaderboardService quizLeaderboardService;
+
+    @GetMapping
+    @Operation(summary = "퀴즈 순위표 조회", description = "스터디 그룹 멤버들의 퀴즈 순위를 맞힌 문항 수가 많은 순으로 조회합니다. step 을 주면 해당 스텝만, 비우면 전체 스텝 합계로 조회합니다.")
+    public QuizLeaderboardDto.LeaderboardResponse getLeaderboard(
+            @PathVariable Long studyGroupId,
+            @RequestParam(value = "step", required = false) Integer step,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return quizLeaderboardService.getLeaderboard(studyGroupId, step, page, size, userDetails);
+    }
+}
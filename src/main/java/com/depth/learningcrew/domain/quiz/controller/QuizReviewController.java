@@ -0,0 +1,47 @@
+package com.depth.learningcrew.domain.quiz.controller;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizReviewDto;
+import com.depth.learningcrew.domain.quiz.service.QuizReviewService;
+import com.depth.learningcrew.system.security.annotation.NoJwtAuth;
+import com.depth.learningcrew.system.security.model.UserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/quiz/review")
+@Tag(name = "Quiz Review", description = "퀴즈 복습 API")
+public class QuizReviewController {
+
+    private final QuizReviewService quizReviewService;
+
+    @GetMapping("/session")
+    @Operation(summary = "복습 세션 조회", description = "제출했던 퀴즈 중 복습 기한이 지난 것을 오래 밀린 순서로 조회합니다. studyGroupId 를 주면 해당 스터디 그룹의 퀴즈만 조회합니다.")
+    public QuizReviewDto.SessionResponse getSession(
+            @RequestParam(value = "studyGroupId", required = false) Long studyGroupId,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return quizReviewService.getSession(studyGroupId, size, userDetails);
+    }
+
+    @PostMapping("/{quizId}/answer")
+    @Operation(summary = "복습 답변 제출", description = "복습 퀴즈의 답을 채점하고 다음 복습 일정을 계산합니다.")
+    public QuizReviewDto.AnswerResponse answer(
+            @PathVariable Long quizId,
+            @RequestBody QuizReviewDto.AnswerRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return quizReviewService.answer(quizId, request, userDetails);
+    }
+
+    @NoJwtAuth("Admin 레벨에서 다루는거라 인증 제외")
+    @PostMapping("/admin/backfill")
+    @Operation(summary = "복습 항목 채우기", description = "복습 기능 이전에 제출한 퀴즈 기록에 복습 항목을 만듭니다. seeded 가 0 이 될 때까지 반복 호출합니다.")
+    public BackfillResponse backfill(@RequestParam(value = "batchSize", defaultValue = "1000") int batchSize) {
+        return new BackfillResponse(quizReviewService.backfill(batchSize));
+    }
+
+    public record BackfillResponse(int seeded) {}
+}
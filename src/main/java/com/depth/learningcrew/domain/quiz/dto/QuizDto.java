@@ -1,6 +1,7 @@
 package com.depth.learningcrew.domain.quiz.dto;
 
 import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.service.StepQuizSet;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,5 +46,17 @@ public class QuizDto {
                             .collect(Collectors.toList()))
                     .build();
         }
+
+        public static QuizResponse from(StepQuizSet.Item quiz) {
+            return QuizResponse.builder()
+                    .id(quiz.id())
+                    .quiz(quiz.quiz())
+                    .step(quiz.step())
+                    .createdAt(quiz.createdAt())
+                    .options(quiz.options().stream()
+                            .map(option -> QuizOptionDto.QuizOptionResponse.from(quiz.id(), option))
+                            .collect(Collectors.toList()))
+                    .build();
+        }
     }
 }
@@ -0,0 +1,125 @@
+package com.depth.learningcrew.domain.quiz.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+public class QuizGenerationJobDto {
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "퀴즈 생성 배치 조회 응답")
+    public static class BatchResponse {
+        @Schema(description = "배치 ID (실행 요청 시 받은 jobId)")
+        private String batchId;
+
+        @Schema(description = "배치에 속한 스텝 수", example = "12")
+        private Integer total;
+
+        @Schema(description = "상태별 스텝 수")
+        private Map<QuizGenerationJobStatus, Long> counts;
+
+        @Schema(description = "배치 전체 토큰 사용량", example = "182000")
+        private Long tokensUsed;
+
+        @Schema(description = "스텝별 진행 상황")
+        private List<JobResponse> jobs;
+
+        public static BatchResponse from(String batchId, List<QuizGenerationJob> jobs) {
+            Map<QuizGenerationJobStatus, Long> counts = new EnumMap<>(QuizGenerationJobStatus.class);
+            for (QuizGenerationJob job : jobs) {
+                counts.merge(job.getStatus(), 1L, Long::sum);
+            }
+            return BatchResponse.builder()
+                    .batchId(batchId)
+                    .total(jobs.size())
+                    .counts(counts)
+                    .tokensUsed(jobs.stream().mapToLong(QuizGenerationJob::getTokensUsed).sum())
+                    .jobs(jobs.stream().map(JobResponse::from).toList())
+                    .build();
+        }
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "스텝 단위 퀴즈 생성 작업")
+    public static class JobResponse {
+        @Schema(description = "작업 ID", example = "42")
+        private Long id;
+
+        @Schema(description = "스터디 그룹 ID", example = "1")
+        private Long studyGroupId;
+
+        @Schema(description = "스텝", example = "3")
+        private Integer step;
+
+        @Schema(description = "상태", example = "RUNNING")
+        private QuizGenerationJobStatus status;
+
+        @Schema(description = "진행 단계", example = "CALLING_LLM")
+        private QuizGenerationStage stage;
+
+        @Schema(description = "시도 횟수", example = "1")
+        private Integer attempts;
+
+        @Schema(description = "최대 시도 횟수", example = "5")
+        private Integer maxAttempts;
+
+        @Schema(description = "작업 최초 등록 시간", example = "2024-01-01T00:01:00")
+        private LocalDateTime queuedAt;
+
+        @Schema(description = "마지막 시도 시작 시간", example = "2024-01-01T00:01:05")
+        private LocalDateTime startedAt;
+
+        @Schema(description = "마지막 시도 종료 시간", example = "2024-01-01T00:02:10")
+        private LocalDateTime finishedAt;
+
+        @Schema(description = "마지막 시도 소요 시간(ms). 실행 중이면 현재까지", example = "65000")
+        private Long elapsedMs;
+
+        @Schema(description = "토큰 사용량(모든 시도 합)", example = "15200")
+        private Long tokensUsed;
+
+        @Schema(description = "마지막 오류")
+        private String lastError;
+
+        public static JobResponse from(QuizGenerationJob job) {
+            Long elapsed = null;
+            if (job.getStartedAt() != null) {
+                LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+                elapsed = Duration.between(job.getStartedAt(), end).toMillis();
+            }
+            return JobResponse.builder()
+                    .id(job.getId())
+                    .studyGroupId(job.getStudyGroupId())
+                    .step(job.getStep())
+                    .status(job.getStatus())
+                    .stage(job.getStage())
+                    .attempts(job.getAttempts())
+                    .maxAttempts(job.getMaxAttempts())
+                    .queuedAt(job.getCreatedAt())
+                    .startedAt(job.getStartedAt())
+                    .finishedAt(job.getFinishedAt())
+                    .elapsedMs(elapsed)
+                    .tokensUsed(job.getTokensUsed())
+                    .lastError(job.getLastError())
+                    .build();
+        }
+    }
+}
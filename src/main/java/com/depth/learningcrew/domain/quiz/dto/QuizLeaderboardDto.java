@@ -0,0 +1,76 @@
+package com.depth.learningcrew.domain.quiz.dto;
+
+import com.depth.learningcrew.domain.quiz.service.QuizLeaderboard;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class QuizLeaderboardDto {
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "퀴즈 순위표 응답")
+    public static class LeaderboardResponse {
+        @Schema(description = "스터디 스텝(진도). 비어 있으면 그룹 전체 순위", example = "1")
+        private Integer step;
+
+        @Schema(description = "순위표에 오른 인원(퀴즈를 한 번이라도 제출한 사람)", example = "12")
+        private Integer participants;
+
+        @Schema(description = "내 순위. 아직 제출하지 않았으면 null")
+        private Entry me;
+
+        @Schema(description = "요청한 페이지의 순위 목록")
+        private List<Entry> entries;
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "순위표 항목")
+    public static class Entry {
+        @Schema(description = "순위(1부터)", example = "1")
+        private Integer rank;
+
+        @Schema(description = "유저 ID", example = "123")
+        private Long userId;
+
+        @Schema(description = "닉네임", example = "learner")
+        private String nickname;
+
+        @Schema(description = "맞은 정답 개수", example = "18")
+        private Integer correctCount;
+
+        @Schema(description = "전체 퀴즈 개수", example = "20")
+        private Integer totalQuizCount;
+
+        @Schema(description = "점수(correct * 100 / total)", example = "90")
+        private Integer score;
+
+        @Schema(description = "마지막 제출 시간", example = "2024-01-01T00:00:00")
+        private LocalDateTime lastSubmittedAt;
+
+        public static Entry from(QuizLeaderboard.Ranked ranked, String nickname) {
+            QuizLeaderboard.Standing standing = ranked.standing();
+            int total = standing.totalCount();
+            int correct = standing.correctCount();
+            return Entry.builder()
+                    .rank(ranked.rank())
+                    .userId(standing.userId())
+                    .nickname(nickname)
+                    .correctCount(correct)
+                    .totalQuizCount(total)
+                    .score(total == 0 ? 0 : Math.round((float) correct * 100 / total))
+                    .lastSubmittedAt(standing.lastSubmittedAt())
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.depth.learningcrew.domain.quiz.dto;
 
 import com.depth.learningcrew.domain.quiz.entity.QuizOption;
+import com.depth.learningcrew.domain.quiz.service.StepQuizSet;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,5 +36,14 @@ public class QuizOptionDto {
                     .isAnswer(option.getIsAnswer())
                     .build();
         }
+
+        public static QuizOptionResponse from(Long quizId, StepQuizSet.Option option) {
+            return QuizOptionResponse.builder()
+                    .quiz(quizId)
+                    .optionNum(option.optionNum())
+                    .content(option.content())
+                    .isAnswer(option.isAnswer())
+                    .build();
+        }
     }
 }
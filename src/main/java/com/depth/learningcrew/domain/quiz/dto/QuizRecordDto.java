@@ -1,7 +1,6 @@
 package com.depth.learningcrew.domain.quiz.dto;
 
-import com.depth.learningcrew.domain.quiz.entity.QuizRecord;
-import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.quiz.entity.QuizStepScore;
 import com.depth.learningcrew.domain.user.entity.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -70,10 +69,10 @@ public class QuizRecordDto {
         @Schema(description = "제출 생성 시간", example = "2024-01-01T00:00:00")
         private LocalDateTime createdAt;
 
-        public static QuizSubmitResponse from(User user, StudyGroup studyGroup, int total, int correct, LocalDateTime now) {
+        public static QuizSubmitResponse from(User user, Integer currentStep, int total, int correct, LocalDateTime now) {
             return QuizSubmitResponse.builder()
                     .userId(user.getId())
-                    .step(studyGroup.getCurrentStep())
+                    .step(currentStep)
                     .totalQuizCount(total)
                     .correctCount(correct)
                     .score(total == 0 ? 0 : Math.round((float) correct * 100 / total))
@@ -103,13 +102,15 @@ public class QuizRecordDto {
         @Schema(description = "점수(correct * 100 / total)", example = "50")
         private Integer score;
 
-        public static QuizRecordResponse from(User user, StudyGroup studyGroup, int total, QuizRecord quizRecord) {
+        public static QuizRecordResponse from(User user, QuizStepScore score) {
+            int total = score.getTotalCount();
+            int correct = score.getCorrectCount();
             return QuizRecordResponse.builder()
                     .userId(user.getId())
-                    .step(studyGroup.getCurrentStep())
+                    .step(score.getStep())
                     .totalQuizCount(total)
-                    .correctCount(quizRecord.getCorrectCount())
-                    .score(total == 0 ? 0 : Math.round((float) quizRecord.getCorrectCount() * 100 / total))
+                    .correctCount(correct)
+                    .score(total == 0 ? 0 : Math.round((float) correct * 100 / total))
                     .build();
         }
     }
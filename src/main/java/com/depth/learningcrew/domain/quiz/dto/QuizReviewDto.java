@@ -0,0 +1,105 @@
+package com.depth.learningcrew.domain.quiz.dto;
+
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.entity.QuizReviewItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class QuizReviewDto {
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "복습 세션 응답")
+    public static class SessionResponse {
+        @Schema(description = "지금 복습할 수 있는 퀴즈 수(이번 세션에 담기지 않은 것 포함)", example = "37")
+        private Long dueCount;
+
+        @Schema(description = "이번 세션에 풀 퀴즈 목록(오래 밀린 순)")
+        private List<ReviewQuiz> quizzes;
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "복습 퀴즈")
+    public static class ReviewQuiz {
+        @Schema(description = "스터디 그룹 ID", example = "1")
+        private Long studyGroupId;
+
+        @Schema(description = "연속으로 맞힌 횟수", example = "2")
+        private Integer repetitions;
+
+        @Schema(description = "복습 예정 시각", example = "2024-01-01T00:00:00")
+        private LocalDateTime dueAt;
+
+        @Schema(description = "퀴즈")
+        private QuizDto.QuizResponse quiz;
+
+        public static ReviewQuiz from(QuizReviewItem item, Quiz quiz) {
+            return ReviewQuiz.builder()
+                    .studyGroupId(quiz.getStudyGroup().getId())
+                    .repetitions(item.getRepetitions())
+                    .dueAt(item.getDueAt())
+                    .quiz(QuizDto.QuizResponse.from(quiz))
+                    .build();
+        }
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "복습 답변 요청")
+    public static class AnswerRequest {
+        @Schema(description = "선택한 옵션 번호")
+        private List<Integer> selectedOptions;
+
+        @Schema(description = "체감 난이도(SM-2 응답 품질). 정답이면 3~5, 오답이면 0~2. 비우면 정답 4, 오답 1", example = "4")
+        private Integer quality;
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Schema(description = "복습 답변 응답")
+    public static class AnswerResponse {
+        @Schema(description = "퀴즈 ID", example = "123")
+        private Long quizId;
+
+        @Schema(description = "정답 여부", example = "true")
+        private Boolean correct;
+
+        @Schema(description = "정답 옵션 번호")
+        private List<Integer> answerOptions;
+
+        @Schema(description = "반영한 응답 품질", example = "4")
+        private Integer quality;
+
+        @Schema(description = "다음 복습까지 남은 일수", example = "6")
+        private Integer intervalDays;
+
+        @Schema(description = "다음 복습 예정 시각", example = "2024-01-07T00:00:00")
+        private LocalDateTime nextDueAt;
+
+        public static AnswerResponse from(QuizReviewItem item, boolean correct, List<Integer> answerOptions, int quality) {
+            return AnswerResponse.builder()
+                    .quizId(item.getQuiz().getId())
+                    .correct(correct)
+                    .answerOptions(answerOptions)
+                    .quality(quality)
+                    .intervalDays(item.getIntervalDays())
+                    .nextDueAt(item.getDueAt())
+                    .build();
+        }
+    }
+}
@@ -4,12 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.depth.learningcrew.common.auditor.TimeStampedEntity;
+import com.depth.learningcrew.domain.quiz.service.QuizCacheEvictionListener;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
 import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -30,6 +32,7 @@ import lombok.experimental.SuperBuilder;
 
 @Entity
 @Table(name = "QUIZ")
+@EntityListeners(QuizCacheEvictionListener.class)
 @SuperBuilder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -68,6 +71,10 @@ public class Quiz extends TimeStampedEntity {
   @Builder.Default
   private List<QuizRecord> quizRecords = new ArrayList<>();
 
+  @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Builder.Default
+  private List<QuizReviewItem> reviewItems = new ArrayList<>();
+
   public void addQuizOption(QuizOption quizOption) {
     this.quizOptions.add(quizOption);
   }
@@ -0,0 +1,56 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+import java.time.LocalDateTime;
+
+import com.depth.learningcrew.common.auditor.TimeStampedEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * 검증을 통과한 LLM 생성 결과(문제 + 보기) 캐시.
+ * - 키는 (그룹 이름, 스텝, 노트 원문, 프롬프트 버전, 생성 모드)의 SHA-256 이라 노트가 바뀌면 자연히 빗나간다.
+ * - 섞기 전 초안을 저장하므로 재실행해도 보기 순서는 매번 새로 섞인다.
+ */
+@Entity
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "QUIZ_DRAFT_CACHE", indexes = {
+        @Index(name = "IDX_QUIZ_DRAFT_CACHE_EXPIRES", columnList = "expires_at"),
+        @Index(name = "IDX_QUIZ_DRAFT_CACHE_GROUP_STEP", columnList = "study_group_id, step")
+})
+public class QuizDraftCacheEntry extends TimeStampedEntity {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "study_group_id", nullable = false)
+    private Long studyGroupId;
+
+    @Column(nullable = false)
+    private Integer step;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT", nullable = false)
+    private String quizzesJson;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT", nullable = false)
+    private String optionsJson;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
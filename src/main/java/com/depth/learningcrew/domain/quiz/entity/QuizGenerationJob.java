@@ -0,0 +1,134 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+import java.time.LocalDateTime;
+
+import com.depth.learningcrew.common.auditor.TimeStampedEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * 스텝 단위 퀴즈 생성 작업 큐.
+ * - (study_group_id, step) 당 한 행만 존재하며, 여러 노드가 lease 를 잡아 나눠 처리한다.
+ * - lease 가 만료된 RUNNING 작업은 다른 노드가 다시 가져간다(재시작/장애 복구).
+ * - 스터디 그룹 삭제를 막지 않도록 FK 없이 id 만 보관한다.
+ * - draftOnly 작업은 스텝이 끝나기 전에 초안만 만들어 캐시에 넣는다. 스텝이 끝나면 같은 행이 정식 작업으로 올라간다.
+ */
+@Entity
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "QUIZ_GENERATION_JOB", uniqueConstraints = {
+        @UniqueConstraint(name = "QUIZ_GENERATION_JOB_GROUP_STEP", columnNames = { "study_group_id", "step" })
+}, indexes = {
+        @Index(name = "IDX_QUIZ_GENERATION_JOB_CLAIM", columnList = "status, priority, next_run_at"),
+        @Index(name = "IDX_QUIZ_GENERATION_JOB_BATCH", columnList = "batch_id")
+})
+public class QuizGenerationJob extends TimeStampedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private Long id;
+
+    @Column(name = "study_group_id", nullable = false)
+    private Long studyGroupId;
+
+    @Column(nullable = false)
+    private Integer step;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private QuizGenerationJobStatus status = QuizGenerationJobStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private Integer maxAttempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    // 클수록 먼저 가져간다. QuizGenerationJobService.priorityOf 참고
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer priority = 0;
+
+    @Column(length = 100)
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private QuizGenerationStage stage = QuizGenerationStage.QUEUED;
+
+    // 마지막으로 이 작업을 제출한 관리자 요청/스케줄 실행 단위
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    // 초안만 만들고 저장하지 않는 사전 생성 작업. QuizGenerationJobService.enqueueDraft 참고
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean draftOnly = false;
+
+    // 모든 시도의 LLM 토큰 사용량 합
+    @Column(nullable = false)
+    @Builder.Default
+    private Long tokensUsed = 0L;
+
+    public boolean isDraft() {
+        return Boolean.TRUE.equals(draftOnly);
+    }
+
+    public boolean isActive() {
+        return status == QuizGenerationJobStatus.PENDING || status == QuizGenerationJobStatus.RUNNING;
+    }
+
+    /**
+     * 완료/실패한 작업을 다시 대기 상태로 돌린다(관리자 재실행 등).
+     */
+    public void requeue(LocalDateTime runAt, int maxAttempts, String batchId, int priority) {
+        this.status = QuizGenerationJobStatus.PENDING;
+        this.priority = priority;
+        this.stage = QuizGenerationStage.QUEUED;
+        this.batchId = batchId;
+        this.startedAt = null;
+        this.finishedAt = null;
+        this.tokensUsed = 0L;
+        this.attempts = 0;
+        this.maxAttempts = maxAttempts;
+        this.nextRunAt = runAt;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = null;
+    }
+}
@@ -0,0 +1,5 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+public enum QuizGenerationJobStatus {
+    PENDING, RUNNING, SUCCEEDED, FAILED, CANCELLED
+}
@@ -0,0 +1,16 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+/**
+ * 작업 한 건의 진행 단계. 상태(QuizGenerationJobStatus)보다 잘게 나눠 관리자 조회용으로 보여준다.
+ */
+public enum QuizGenerationStage {
+    QUEUED,
+    CALLING_LLM,
+    VALIDATING,
+    PERSISTING,
+    PERSISTED,
+    /** 사전 생성 작업이 초안을 캐시에 넣고 끝났다 */
+    DRAFTED,
+    FAILED,
+    CANCELLED
+}
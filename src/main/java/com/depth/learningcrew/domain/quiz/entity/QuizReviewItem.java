@@ -0,0 +1,126 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+import java.time.LocalDateTime;
+
+import com.depth.learningcrew.domain.user.entity.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자별 퀴즈 복습 일정(SM-2). 스텝 퀴즈를 제출하면 문항마다 하나씩 생기고, 복습할 때마다 다음 출제일이 밀린다.
+ * - 복습 세션은 (user_id, due_at) 인덱스를 범위 조회해 기한이 지난 것부터 가져온다. 푼 문항 수와 상관없이 필요한 만큼만 읽는다.
+ */
+@Entity
+@Table(name = "QUIZ_REVIEW_ITEM",
+    uniqueConstraints = @UniqueConstraint(name = "UK_QUIZ_REVIEW_ITEM_USER_QUIZ", columnNames = {"user_id", "quiz_id"}),
+    indexes = @Index(name = "IDX_QUIZ_REVIEW_ITEM_USER_DUE", columnList = "user_id, due_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizReviewItem {
+
+  public static final double INITIAL_EASINESS = 2.5;
+  public static final double MIN_EASINESS = 1.3;
+  public static final int MAX_INTERVAL_DAYS = 365;
+
+  // 정오답만 아는 경우의 SM-2 응답 품질(0~5). 맞히면 "약간 망설였지만 정답", 틀리면 "오답이지만 정답을 보니 기억남".
+  public static final int QUALITY_CORRECT = 4;
+  public static final int QUALITY_WRONG = 1;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Setter(AccessLevel.NONE)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "quiz_id", nullable = false)
+  private Quiz quiz;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Double easiness = INITIAL_EASINESS;
+
+  // 연속으로 맞힌 횟수. 틀리면 0 으로 돌아간다.
+  @Column(nullable = false)
+  @Builder.Default
+  private Integer repetitions = 0;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Integer intervalDays = 0;
+
+  // 한 번 이상 맞혔다가 다시 틀린 횟수
+  @Column(nullable = false)
+  @Builder.Default
+  private Integer lapses = 0;
+
+  @Column(name = "due_at", nullable = false)
+  private LocalDateTime dueAt;
+
+  private LocalDateTime lastReviewedAt;
+
+  /**
+   * 스텝 퀴즈 제출 결과로 첫 일정을 잡는다. 제출 자체를 첫 복습으로 본다.
+   */
+  public static QuizReviewItem firstAnswer(User user, Quiz quiz, boolean correct, LocalDateTime answeredAt) {
+    QuizReviewItem item = QuizReviewItem.builder()
+        .user(user)
+        .quiz(quiz)
+        .build();
+    item.review(correct ? QUALITY_CORRECT : QUALITY_WRONG, answeredAt);
+    return item;
+  }
+
+  /**
+   * SM-2 갱신. quality 3 이상이면 간격을 1일 → 6일 → 이전 간격 × easiness 로 늘리고, 그 미만이면 처음(1일)부터 다시 시작한다.
+   * easiness 는 매번 응답 품질에 따라 조정하되 1.3 아래로는 내려가지 않는다.
+   *
+   * @param quality 0(전혀 기억 안 남) ~ 5(즉시 정답)
+   */
+  public void review(int quality, LocalDateTime reviewedAt) {
+    if (quality < 0 || quality > 5) {
+      throw new IllegalArgumentException("quality must be between 0 and 5: " + quality);
+    }
+    if (quality >= 3) {
+      int next = switch (repetitions) {
+        case 0 -> 1;
+        case 1 -> 6;
+        default -> (int) Math.round(intervalDays * easiness);
+      };
+      intervalDays = Math.min(MAX_INTERVAL_DAYS, next);
+      repetitions++;
+    } else {
+      if (repetitions > 0) {
+        lapses++;
+      }
+      repetitions = 0;
+      intervalDays = 1;
+    }
+    int miss = 5 - quality;
+    easiness = Math.max(MIN_EASINESS, easiness + 0.1 - miss * (0.08 + miss * 0.02));
+    lastReviewedAt = reviewedAt;
+    dueAt = reviewedAt.plusDays(intervalDays);
+  }
+}
@@ -0,0 +1,86 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+import java.time.LocalDateTime;
+
+import com.depth.learningcrew.domain.quiz.service.QuizLeaderboardListener;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.user.entity.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자별 스텝 퀴즈 점수(읽기 모델). 스텝 퀴즈를 제출한 트랜잭션에서 한 줄씩 쌓는다.
+ * - 퀴즈 기록 페이지는 QUIZ_RECORD 를 스텝별로 집계하지 않고 이 테이블의 (user_id, study_group_id, ...) 인덱스를 범위 조회한다.
+ * - 한 사용자는 스텝마다 한 번만 제출하므로 (user_id, study_group_id, step) 이 유일하다.
+ * - 순위표(QuizLeaderboard)는 (study_group_id, step) 인덱스로 그룹/스텝 단위로 읽어 만든다.
+ */
+@Entity
+@Table(name = "QUIZ_STEP_SCORE",
+    uniqueConstraints = @UniqueConstraint(name = "UK_QUIZ_STEP_SCORE_USER_GROUP_STEP",
+        columnNames = {"user_id", "study_group_id", "step"}),
+    indexes = {
+        @Index(name = "IDX_QUIZ_STEP_SCORE_USER_GROUP_SUBMITTED", columnList = "user_id, study_group_id, submitted_at"),
+        @Index(name = "IDX_QUIZ_STEP_SCORE_GROUP_STEP", columnList = "study_group_id, step")
+    })
+@EntityListeners(QuizLeaderboardListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizStepScore {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Setter(AccessLevel.NONE)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "study_group_id", nullable = false)
+  private StudyGroup studyGroup;
+
+  @Column(nullable = false)
+  private Integer step;
+
+  @Column(nullable = false)
+  private Integer totalCount;
+
+  @Column(nullable = false)
+  private Integer correctCount;
+
+  @Column(name = "submitted_at", nullable = false)
+  private LocalDateTime submittedAt;
+
+  public static QuizStepScore of(User user, StudyGroup studyGroup, Integer step, int totalCount, int correctCount,
+      LocalDateTime submittedAt) {
+    return QuizStepScore.builder()
+        .user(user)
+        .studyGroup(studyGroup)
+        .step(step)
+        .totalCount(totalCount)
+        .correctCount(correctCount)
+        .submittedAt(submittedAt)
+        .build();
+  }
+}
@@ -0,0 +1,25 @@
+package com.depth.learningcrew.domain.quiz.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizDraftCacheEntry;
+
+public interface QuizDraftCacheRepository extends JpaRepository<QuizDraftCacheEntry, String> {
+
+    boolean existsByCacheKeyAndExpiresAtAfter(String cacheKey, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from QuizDraftCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // 덮어쓴 항목은 새로 넣은 것과 같이 본다
+    @Query("select e.cacheKey from QuizDraftCacheEntry e order by e.lastModifiedAt asc, e.cacheKey asc")
+    List<String> findOldestKeys(Pageable pageable);
+}
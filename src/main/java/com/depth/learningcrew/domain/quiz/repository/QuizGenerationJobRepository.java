@@ -0,0 +1,195 @@
+package com.depth.learningcrew.domain.quiz.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
+
+public interface QuizGenerationJobRepository extends JpaRepository<QuizGenerationJob, Long> {
+
+    Optional<QuizGenerationJob> findByStudyGroupIdAndStep(Long studyGroupId, Integer step);
+
+    long countByStatus(QuizGenerationJobStatus status);
+
+    List<QuizGenerationJob> findByBatchIdOrderByIdAsc(String batchId);
+
+    /**
+     * 지금 가져갈 수 있는 작업 후보(우선순위 높은 순). 실제 소유권은 claim() 의 조건부 UPDATE 로 확정한다.
+     *
+     * @param includeDrafts false 면 사전 생성(draftOnly) 작업은 건너뛴다(한가한 시간대가 아닐 때)
+     */
+    @Query("""
+            select j.id from QuizGenerationJob j
+            where ((j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.PENDING and j.nextRunAt <= :now)
+                or (j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING and j.leaseExpiresAt < :now))
+              and (:includeDrafts = true or j.draftOnly = false)
+            order by j.priority desc, j.nextRunAt asc
+            """)
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now,
+                                @Param("includeDrafts") boolean includeDrafts,
+                                Pageable pageable);
+
+    /**
+     * 후보 작업의 lease 를 잡는다. 다른 노드가 먼저 가져갔으면 0을 반환한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING,
+                j.leaseOwner = :owner,
+                j.leaseExpiresAt = :leaseUntil,
+                j.attempts = j.attempts + 1,
+                j.startedAt = :now,
+                j.finishedAt = null
+            where j.id = :id
+              and ((j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.PENDING and j.nextRunAt <= :now)
+                or (j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING and j.leaseExpiresAt < :now))
+            """)
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.leaseExpiresAt = :leaseUntil
+            where j.id in :ids
+              and j.leaseOwner = :owner
+              and j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING
+            """)
+    int heartbeat(@Param("ids") Collection<Long> ids,
+                  @Param("owner") String owner,
+                  @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * lease 를 가진 노드만 작업을 종료 상태로 옮길 수 있다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.status = :status,
+                j.stage = :stage,
+                j.nextRunAt = :nextRunAt,
+                j.lastError = :lastError,
+                j.tokensUsed = j.tokensUsed + :tokens,
+                j.finishedAt = :finishedAt,
+                j.leaseOwner = null,
+                j.leaseExpiresAt = null
+            where j.id = :id
+              and j.leaseOwner = :owner
+              and j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING
+            """)
+    int release(@Param("id") Long id,
+                @Param("owner") String owner,
+                @Param("status") QuizGenerationJobStatus status,
+                @Param("stage") QuizGenerationStage stage,
+                @Param("nextRunAt") LocalDateTime nextRunAt,
+                @Param("lastError") String lastError,
+                @Param("tokens") long tokens,
+                @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * 사전 생성 작업을 끝낸다. 그 사이 정식 작업으로 올라갔으면(draftOnly=false) 0을 반환하고, 워커는 이어서 저장까지 한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.SUCCEEDED,
+                j.stage = com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage.DRAFTED,
+                j.tokensUsed = j.tokensUsed + :tokens,
+                j.finishedAt = :finishedAt,
+                j.leaseOwner = null,
+                j.leaseExpiresAt = null
+            where j.id = :id
+              and j.leaseOwner = :owner
+              and j.draftOnly = true
+              and j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING
+            """)
+    int releaseDraft(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("tokens") long tokens,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * 대기/실행 중인 사전 생성 작업을 정식 작업으로 올린다. 실행 중이면 lease 는 그대로 두고, 워커가 초안을 마친 뒤 저장까지 한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.draftOnly = false,
+                j.batchId = :batchId,
+                j.priority = :priority
+            where j.id = :id
+              and j.draftOnly = true
+              and j.status in (com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.PENDING, com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING)
+            """)
+    int promote(@Param("id") Long id,
+                @Param("batchId") String batchId,
+                @Param("priority") int priority);
+
+    /**
+     * 실패로 세지 않고 작업을 뒤로 미룬다(LLM 서킷 OPEN). claim 때 올린 시도 횟수를 되돌린다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.PENDING,
+                j.stage = com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage.QUEUED,
+                j.attempts = j.attempts - 1,
+                j.nextRunAt = :nextRunAt,
+                j.lastError = :lastError,
+                j.tokensUsed = j.tokensUsed + :tokens,
+                j.leaseOwner = null,
+                j.leaseExpiresAt = null
+            where j.id = :id
+              and j.leaseOwner = :owner
+              and j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING
+            """)
+    int defer(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("nextRunAt") LocalDateTime nextRunAt,
+              @Param("lastError") String lastError,
+              @Param("tokens") long tokens);
+
+    /**
+     * 실행 중 단계 갱신. 취소됐거나 lease 를 잃었으면 0을 반환하고, 워커는 그 자리에서 작업을 멈춘다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.stage = :stage
+            where j.id = :id
+              and j.leaseOwner = :owner
+              and j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING
+            """)
+    int updateStage(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("stage") QuizGenerationStage stage);
+
+    /**
+     * 배치에서 아직 끝나지 않은 작업을 취소한다. lease 를 비우므로 실행 중이던 노드는 결과를 기록하지 못한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update QuizGenerationJob j
+            set j.status = com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.CANCELLED,
+                j.stage = com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage.CANCELLED,
+                j.finishedAt = :now,
+                j.leaseOwner = null,
+                j.leaseExpiresAt = null
+            where j.batchId = :batchId
+              and j.status in (com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.PENDING, com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus.RUNNING)
+            """)
+    int cancelBatch(@Param("batchId") String batchId, @Param("now") LocalDateTime now);
+}
@@ -10,6 +10,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,33 @@ public class QuizQueryRepository {
         return List.copyOf(dedup.values());
     }
 
+    /**
+     * 주어진 ID 의 퀴즈(선택지 포함)를 조회합니다.
+     *
+     * @param ids 퀴즈 ID 목록
+     * @return 퀴즈 엔티티 리스트(quizOptions fetch-join 로딩 완료, ID 오름차순)
+     */
+    public List<Quiz> findAllWithOptions(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        QQuiz q = new QQuiz("q");
+
+        var query = queryFactory
+                .selectFrom(q)
+                .leftJoin(q.quizOptions, quizOption).fetchJoin()
+                .where(q.id.in(ids));
+
+        applyDefaultSorting(query);
+
+        Map<Long, Quiz> dedup = new LinkedHashMap<>();
+        for (Quiz quiz : query.fetch()) {
+            dedup.putIfAbsent(quiz.getId(), quiz);
+        }
+        return List.copyOf(dedup.values());
+    }
+
     private void applyDefaultSorting(JPAQuery<Quiz> query) {
         QQuiz q = new QQuiz("q");
 
@@ -1,17 +1,18 @@
 package com.depth.learningcrew.domain.quiz.repository;
 
-import static com.depth.learningcrew.domain.quiz.entity.QQuiz.quiz1;
-import static com.depth.learningcrew.domain.quiz.entity.QQuizRecord.quizRecord;
+import static com.depth.learningcrew.domain.quiz.entity.QQuizStepScore.quizStepScore;
+import static com.depth.learningcrew.domain.studygroup.entity.QMember.member;
 
 import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
-import com.depth.learningcrew.domain.quiz.entity.QuizRecord;
+import com.depth.learningcrew.domain.studygroup.entity.QStudyGroup;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
 import com.depth.learningcrew.domain.user.entity.User;
 import com.depth.learningcrew.system.security.model.UserDetails;
 import com.querydsl.core.Tuple;
-import com.querydsl.core.types.dsl.DateTimeExpression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.NumberExpression;
-import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,124 +20,112 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class QuizRecordQueryRepository {
     private final JPAQueryFactory queryFactory;
 
-    public boolean existsUserSubmittedStep(StudyGroup studyGroup, User user, Integer step) {
+    /**
+     * 스텝 퀴즈 제출 전 검사를 한 번에 한다. 스터디 그룹 PK 조회에 멤버 여부, 제출 여부를 인덱스 EXISTS 로 붙인다.
+     * 제출 여부는 QUIZ_STEP_SCORE 의 (user_id, study_group_id, step) 유니크 키로 본다.
+     *
+     * @return 스터디 그룹이 없으면 empty
+     */
+    public Optional<SubmissionGate> findSubmissionGate(Long studyGroupId, User user, Integer step) {
+        QStudyGroup group = QStudyGroup.studyGroup;
+
+        NumberExpression<Integer> isMember = new CaseBuilder()
+                .when(JPAExpressions
+                        .selectOne()
+                        .from(member)
+                        .where(
+                                member.id.studyGroup.eq(group),
+                                member.id.user.eq(user)
+                        )
+                        .exists())
+                .then(1)
+                .otherwise(0);
+
+        NumberExpression<Integer> submitted = new CaseBuilder()
+                .when(JPAExpressions
+                        .selectOne()
+                        .from(quizStepScore)
+                        .where(
+                                quizStepScore.user.eq(user),
+                                quizStepScore.studyGroup.eq(group),
+                                quizStepScore.step.eq(step)
+                        )
+                        .exists())
+                .then(1)
+                .otherwise(0);
+
+        Tuple row = queryFactory
+                .select(group.currentStep, isMember, submitted)
+                .from(group)
+                .where(group.id.eq(studyGroupId))
+                .fetchOne();
 
-        Integer fetched = queryFactory
-                .selectOne()
-                .from(quizRecord)
-                .join(quizRecord.id.quiz, quiz1)
-                .where(
-                        quiz1.studyGroup.eq(studyGroup),
-                        quizRecord.id.user.eq(user),
-                        quiz1.step.eq(step)
-                )
-                .fetchFirst();
+        if (row == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new SubmissionGate(
+                row.get(group.currentStep),
+                Integer.valueOf(1).equals(row.get(isMember)),
+                Integer.valueOf(1).equals(row.get(submitted))));
+    }
 
-        return fetched != null;
+    public record SubmissionGate(Integer currentStep, boolean member, boolean submitted) {
     }
 
+    /**
+     * 스텝별 점수 읽기 모델(QUIZ_STEP_SCORE)을 (user_id, study_group_id) 인덱스로 범위 조회한다. 집계하지 않는다.
+     */
     public Page<QuizRecordDto.QuizRecordResponse> paginateQuizRecords(
             StudyGroup studyGroup,
             UserDetails user,
             QuizRecordDto.SearchConditions searchConditions,
             Pageable pageable
     ) {
-        JPAQuery<Tuple> contentQuery = buildBaseQuery(studyGroup, user, searchConditions);
-        applySorting(contentQuery, searchConditions);
-
-        List<Tuple> results = contentQuery
+        List<QuizRecordDto.QuizRecordResponse> content = queryFactory
+                .selectFrom(quizStepScore)
+                .where(
+                        quizStepScore.user.eq(user.getUser()),
+                        quizStepScore.studyGroup.eq(studyGroup)
+                )
+                .orderBy(orderOf(searchConditions))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .fetch();
-
-        Long totalCount = buildCountQuery(studyGroup, user)
-                .fetchOne();
-
-        List<QuizRecordDto.QuizRecordResponse> content = results.stream()
-                .map(t -> mapToDto(t, user.getUser()))
+                .fetch()
+                .stream()
+                .map(score -> QuizRecordDto.QuizRecordResponse.from(user.getUser(), score))
                 .toList();
 
-        return new PageImpl<>(content, pageable, totalCount != null ? totalCount : 0L);
-    }
-
-    private JPAQuery<Tuple> buildBaseQuery(
-            StudyGroup studyGroup,
-            UserDetails user,
-            QuizRecordDto.SearchConditions searchConditions
-    ) {
-        NumberExpression<Long> totalExpr = quiz1.id.countDistinct();
-        NumberExpression<Integer> sumCorrectExpr = quizRecord.correctCount.sum();
-        DateTimeExpression<LocalDateTime> maxCreatedExpr = quiz1.createdAt.max();
-
-        return queryFactory
-                .select(quiz1.step, totalExpr, sumCorrectExpr, maxCreatedExpr)
-                .from(quizRecord)
-                .join(quizRecord.id.quiz, quiz1)
+        Long totalCount = queryFactory
+                .select(quizStepScore.count())
+                .from(quizStepScore)
                 .where(
-                        quiz1.studyGroup.eq(studyGroup),
-                        quizRecord.id.user.eq(user.getUser())
+                        quizStepScore.user.eq(user.getUser()),
+                        quizStepScore.studyGroup.eq(studyGroup)
                 )
-                .groupBy(quiz1.step);
-    }
+                .fetchOne();
 
-    private JPAQuery<Long> buildCountQuery(
-            StudyGroup studyGroup,
-            UserDetails user
-    ) {
-        return queryFactory
-                .select(quiz1.step.countDistinct())
-                .from(quizRecord)
-                .join(quizRecord.id.quiz, quiz1)
-                .where(
-                        quiz1.studyGroup.eq(studyGroup),
-                        quizRecord.id.user.eq(user.getUser())
-                );
+        return new PageImpl<>(content, pageable, totalCount != null ? totalCount : 0L);
     }
 
-    private void applySorting(JPAQuery<Tuple> query, QuizRecordDto.SearchConditions searchConditions) {
+    private OrderSpecifier<?>[] orderOf(QuizRecordDto.SearchConditions searchConditions) {
         String sort = searchConditions.getSort() != null ? searchConditions.getSort() : "step";
         String order = searchConditions.getOrder() != null ? searchConditions.getOrder() : "asc";
+        boolean asc = "asc".equals(order);
 
         if("step".equals(sort)) {
-            if("asc".equals(order)) {
-                query.orderBy(quiz1.studyGroup.steps.size().asc());
-            } else {
-                query.orderBy(quiz1.studyGroup.steps.size().desc());
-            }
-        } else {
-            if("asc".equals(order)) {
-                query.orderBy(quiz1.createdAt.asc());
-            } else {
-                query.orderBy(quiz1.createdAt.desc());
-            }
+            return new OrderSpecifier<?>[] { asc ? quizStepScore.step.asc() : quizStepScore.step.desc() };
         }
-    }
-
-    private QuizRecordDto.QuizRecordResponse mapToDto(Tuple tuple, User user) {
-        Integer stepVal = tuple.get(quiz1.step);
-        Long totalL = tuple.get(1, Long.class);
-        Integer correctI = tuple.get(2, Integer.class);
-
-        int total = totalL != null ? totalL.intValue() : 0;
-        int correct = correctI != null ? correctI : 0;
-
-        QuizRecord aggregated = QuizRecord.builder()
-                .id(null)
-                .correctCount(correct)
-                .build();
-
-        StudyGroup stepOnlyGroup = new StudyGroup();
-        stepOnlyGroup.setCurrentStep(stepVal);
-
-        return QuizRecordDto.QuizRecordResponse.from(user, stepOnlyGroup, total, aggregated);
+        return new OrderSpecifier<?>[] {
+                asc ? quizStepScore.submittedAt.asc() : quizStepScore.submittedAt.desc(),
+                asc ? quizStepScore.step.asc() : quizStepScore.step.desc()
+        };
     }
 }
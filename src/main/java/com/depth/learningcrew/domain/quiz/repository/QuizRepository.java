@@ -2,12 +2,25 @@ package com.depth.learningcrew.domain.quiz.repository;
 
 import com.depth.learningcrew.domain.quiz.entity.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     boolean existsByStudyGroup_IdAndStepAndCreatedAtBetween(
             Long studyGroupId, Integer step,
             LocalDateTime startInclusive, LocalDateTime endExclusive
     );
+
+    // 중복 문항 지문(QuizStemIndex) 계산용. 보기/기록은 읽지 않는다.
+    @Query("select q.step as step, q.quiz as stem from Quiz q where q.studyGroup.id = :studyGroupId")
+    List<QuizStem> findStemsByStudyGroupId(@Param("studyGroupId") Long studyGroupId);
+
+    interface QuizStem {
+        Integer getStep();
+
+        String getStem();
+    }
 }
@@ -0,0 +1,13 @@
+package com.depth.learningcrew.domain.quiz.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizReviewItem;
+import com.depth.learningcrew.domain.user.entity.User;
+
+public interface QuizReviewItemRepository extends JpaRepository<QuizReviewItem, Long> {
+
+    Optional<QuizReviewItem> findByUserAndQuiz_Id(User user, Long quizId);
+}
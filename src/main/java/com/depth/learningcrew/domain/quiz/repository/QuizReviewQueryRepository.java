@@ -0,0 +1,85 @@
+package com.depth.learningcrew.domain.quiz.repository;
+
+import static com.depth.learningcrew.domain.quiz.entity.QQuiz.quiz1;
+import static com.depth.learningcrew.domain.quiz.entity.QQuizRecord.quizRecord;
+import static com.depth.learningcrew.domain.quiz.entity.QQuizReviewItem.quizReviewItem;
+import static com.depth.learningcrew.domain.studygroup.entity.QMember.member;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizRecord;
+import com.depth.learningcrew.domain.quiz.entity.QuizReviewItem;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class QuizReviewQueryRepository {
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 기한이 지난 복습 항목을 오래 밀린 순서로 가져온다. (user_id, due_at) 인덱스 범위만 읽고 limit 에서 멈춘다.
+     * 지금은 멤버가 아닌 스터디 그룹의 퀴즈는 건너뛴다.
+     *
+     * @param studyGroupId null 이면 모든 스터디 그룹
+     * @return 복습 항목 리스트(quiz fetch-join 로딩 완료, 선택지는 제외)
+     */
+    public List<QuizReviewItem> findDue(User user, Long studyGroupId, LocalDateTime now, int limit) {
+        return queryFactory
+                .selectFrom(quizReviewItem)
+                .join(quizReviewItem.quiz, quiz1).fetchJoin()
+                .where(dueCondition(user, studyGroupId, now))
+                .orderBy(quizReviewItem.dueAt.asc(), quizReviewItem.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    public long countDue(User user, Long studyGroupId, LocalDateTime now) {
+        Long count = queryFactory
+                .select(quizReviewItem.count())
+                .from(quizReviewItem)
+                .join(quizReviewItem.quiz, quiz1)
+                .where(dueCondition(user, studyGroupId, now))
+                .fetchOne();
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 복습 항목이 아직 없는 퀴즈 기록. 복습 기능 이전에 제출한 기록을 채울 때 쓴다.
+     */
+    public List<QuizRecord> findRecordsWithoutReviewItem(int limit) {
+        return queryFactory
+                .selectFrom(quizRecord)
+                .where(JPAExpressions
+                        .selectOne()
+                        .from(quizReviewItem)
+                        .where(
+                                quizReviewItem.user.eq(quizRecord.id.user),
+                                quizReviewItem.quiz.eq(quizRecord.id.quiz)
+                        )
+                        .notExists())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression[] dueCondition(User user, Long studyGroupId, LocalDateTime now) {
+        return new BooleanExpression[] {
+                quizReviewItem.user.eq(user),
+                quizReviewItem.dueAt.loe(now),
+                studyGroupId == null ? null : quiz1.studyGroup.id.eq(studyGroupId),
+                JPAExpressions
+                        .selectOne()
+                        .from(member)
+                        .where(
+                                member.id.user.eq(user),
+                                member.id.studyGroup.eq(quiz1.studyGroup)
+                        )
+                        .exists()
+        };
+    }
+}
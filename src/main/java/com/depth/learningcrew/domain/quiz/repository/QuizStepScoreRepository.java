@@ -0,0 +1,35 @@
+package com.depth.learningcrew.domain.quiz.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizStepScore;
+
+public interface QuizStepScoreRepository extends JpaRepository<QuizStepScore, Long> {
+
+    // 순위표(QuizLeaderboard) 적재용. 사용자/스터디 그룹 엔티티는 읽지 않는다.
+    @Query("select s.user.id as userId, s.step as step, s.correctCount as correctCount, s.totalCount as totalCount, "
+            + "s.submittedAt as submittedAt from QuizStepScore s where s.studyGroup.id = :studyGroupId")
+    List<StepStanding> findStandingsByStudyGroupId(@Param("studyGroupId") Long studyGroupId);
+
+    @Query("select s.user.id as userId, s.step as step, s.correctCount as correctCount, s.totalCount as totalCount, "
+            + "s.submittedAt as submittedAt from QuizStepScore s where s.studyGroup.id = :studyGroupId and s.step = :step")
+    List<StepStanding> findStandingsByStudyGroupIdAndStep(
+            @Param("studyGroupId") Long studyGroupId, @Param("step") Integer step);
+
+    interface StepStanding {
+        Long getUserId();
+
+        Integer getStep();
+
+        Integer getCorrectCount();
+
+        Integer getTotalCount();
+
+        LocalDateTime getSubmittedAt();
+    }
+}
@@ -0,0 +1,24 @@
+package com.depth.learningcrew.domain.quiz.schedule;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.service.QuizDraftCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizDraftCacheScheduler {
+
+    private final QuizDraftCache quizDraftCache;
+
+    // 퀴즈 생성(00:01~01:59)과 겹치지 않는 새벽 시간에 정리한다.
+    @Scheduled(cron = "${quiz.draft-cache.evict-cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void evict() {
+        int removed = quizDraftCache.evict();
+        log.info("[quiz-gen] draft cache evicted={}", removed);
+    }
+}
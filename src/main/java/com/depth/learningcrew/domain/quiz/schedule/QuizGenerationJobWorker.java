@@ -0,0 +1,201 @@
+package com.depth.learningcrew.domain.quiz.schedule;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.ai.llm.service.LlmInvoker;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationJobService;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationMetrics;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationProgress;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationService;
+import com.depth.learningcrew.domain.quiz.service.QuizPregenerationService;
+import com.depth.learningcrew.system.limiter.llm.LlmCircuitBreaker;
+import com.depth.learningcrew.system.limiter.llm.LlmUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 퀴즈 생성 작업 큐를 비우는 워커. 모든 노드에서 동작하며 lease 를 잡은 작업만 실행한다.
+ * - poll: 빈 슬롯만큼 우선순위 순으로 작업을 가져와 가상 스레드로 실행. 작업이 끝나면 바로 빈 슬롯을 다시 채운다.
+ * - heartbeat: 실행 중인 작업의 lease 를 연장. 노드가 죽으면 lease 만료 후 다른 노드가 이어받는다.
+ * - LLM 서킷이 열려 있으면 작업을 가져오지 않고, 실행 중 열리면 시도 횟수를 쓰지 않고 뒤로 미룬다.
+ * - 사전 생성(draftOnly) 작업은 한가한 시간대에만 가져온다. 실행 중 정식 작업으로 올라가면 초안에 이어 저장까지 한다.
+ * 게이지: quiz.jobs.queued(전체 노드의 대기 작업 수, 조회 시 count 쿼리), quiz.jobs.running(이 노드에서 실행 중).
+ */
+@Slf4j
+@Component
+public class QuizGenerationJobWorker {
+
+    private final QuizGenerationJobService jobService;
+    private final QuizGenerationService generationService;
+    private final LlmInvoker llmInvoker;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final QuizGenerationMetrics metrics;
+    private final QuizPregenerationService pregenerationService;
+    private final int maxConcurrentJobs;
+    private final String nodeId;
+
+    private final ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Future<?>> running = new ConcurrentHashMap<>();
+    // claim 은 DB 왕복이라 가상 스레드에서 synchronized 로 잡으면 캐리어 스레드가 묶인다.
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    public QuizGenerationJobWorker(
+            QuizGenerationJobService jobService,
+            QuizGenerationService generationService,
+            LlmInvoker llmInvoker,
+            LlmCircuitBreaker circuitBreaker,
+            QuizGenerationMetrics metrics,
+            MeterRegistry meterRegistry,
+            QuizPregenerationService pregenerationService,
+            @Value("${quiz.job.max-concurrent:8}") int maxConcurrentJobs) {
+        this.jobService = jobService;
+        this.generationService = generationService;
+        this.llmInvoker = llmInvoker;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.pregenerationService = pregenerationService;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.nodeId = resolveNodeId();
+
+        Gauge.builder("quiz.jobs.queued", jobService, QuizGenerationJobService::countPending).register(meterRegistry);
+        Gauge.builder("quiz.jobs.running", running, Map::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.job.poll-interval-ms:5000}", initialDelayString = "${quiz.job.poll-interval-ms:5000}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            claimFreeSlots();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void claimFreeSlots() {
+        if (pool.isShutdown()) return;
+        if (!circuitBreaker.retryAfter().isZero()) return; // 제공자 장애 중에는 작업을 잡아 두지 않는다
+        int free = maxConcurrentJobs - running.size();
+        if (free <= 0) return;
+
+        List<QuizGenerationJob> claimed;
+        try {
+            claimed = jobService.claim(nodeId, free, pregenerationService.isQuietHour());
+        } catch (Exception e) {
+            log.warn("[quiz-job] claim failed node={} err={}", nodeId, e.getMessage());
+            return;
+        }
+
+        for (QuizGenerationJob job : claimed) {
+            // 실행 전에 등록해야 작업이 먼저 끝나 remove 된 뒤 다시 들어가는 일이 없다.
+            FutureTask<Void> task = new FutureTask<>(() -> execute(job), null);
+            running.put(job.getId(), task);
+            pool.execute(task);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.job.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        try {
+            jobService.heartbeat(nodeId, Set.copyOf(running.keySet()));
+        } catch (Exception e) {
+            log.warn("[quiz-job] heartbeat failed node={} err={}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 노드에서 실행 중인 작업을 인터럽트한다. 다른 노드의 작업은 다음 단계 갱신 때 취소를 알아채고 멈춘다.
+     */
+    public void interrupt(Collection<Long> jobIds) {
+        for (Long id : jobIds) {
+            Future<?> future = running.get(id);
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void execute(QuizGenerationJob job) {
+        try (LlmInvoker.UsageScope usage = llmInvoker.openUsageScope(job.getStudyGroupId(), job.getStep())) {
+            try {
+                QuizGenerationProgress progress = stage -> {
+                    if (!jobService.updateStage(job, nodeId, stage))
+                        throw new CancellationException("Job cancelled or lease lost id=" + job.getId());
+                };
+                boolean drafted = false;
+                if (job.isDraft()) {
+                    generationService.pregenerateDraft(job.getStudyGroupId(), job.getStep(), progress);
+                    // false 면 그 사이 스텝이 끝나 정식 작업으로 올라갔다. 방금 만든 초안은 캐시에서 꺼내 쓴다.
+                    drafted = jobService.markDrafted(job, nodeId, usage.getTokens());
+                }
+                if (!drafted) {
+                    generationService.generateForGroupAndPrevStep(job.getStudyGroupId(), job.getStep(), progress);
+                    jobService.markSucceeded(job, nodeId, usage.getTokens());
+                }
+            } catch (LlmUnavailableException e) {
+                Duration delay = e.getRetryAfter().isZero() ? Duration.ofSeconds(1) : e.getRetryAfter();
+                jobService.defer(job, nodeId, delay, e, usage.getTokens());
+            } catch (CancellationException e) {
+                log.info("[quiz-job] stopped id={} gid={} step={}", job.getId(), job.getStudyGroupId(), job.getStep());
+            } catch (Exception e) {
+                // 취소된 작업이면 lease 가 이미 비어 있어 아무것도 기록되지 않는다.
+                metrics.retried(QuizGenerationMetrics.RetryScope.JOB, QuizGenerationMetrics.RetryReason.of(e), 1);
+                jobService.markFailed(job, nodeId, e, usage.getTokens());
+            }
+        } finally {
+            running.remove(job.getId());
+        }
+        refill();
+    }
+
+    // 백필처럼 대기열이 길 때 다음 폴링 주기까지 슬롯을 놀리지 않도록 한다.
+    // 이미 다른 스레드가 폴링 중이면 기다리지 않고 넘긴다. 남은 슬롯은 다음 refill 이나 정기 폴링이 채운다.
+    private void refill() {
+        if (Thread.currentThread().isInterrupted()) return;
+        if (!pollLock.tryLock()) return;
+        try {
+            claimFreeSlots();
+        } catch (RejectedExecutionException e) {
+            log.debug("[quiz-job] refill skipped, worker shutting down node={}", nodeId);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중인 작업은 lease 가 만료되면 다른 노드(또는 재시작한 이 노드)가 이어받는다.
+        pool.shutdownNow();
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,23 @@
+package com.depth.learningcrew.domain.quiz.schedule;
+
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.service.QuizPregenerationService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class QuizPregenerationScheduler {
+
+    private final QuizPregenerationService pregenerationService;
+
+    // 한가한 시간대(quiz.pregen.quiet-hours-*) 밖에서는 바로 돌아간다. 여러 노드가 돌아도 작업 큐가 중복을 거른다.
+    @Scheduled(cron = "${quiz.pregen.scan-cron:0 */20 * * * *}", zone = "Asia/Seoul")
+    public void run() {
+        pregenerationService.enqueueIdleSteps(UUID.randomUUID().toString());
+    }
+}
@@ -1,7 +1,6 @@
 package com.depth.learningcrew.domain.quiz.schedule;
 
-import com.depth.learningcrew.domain.quiz.service.QuizGenerationService;
-import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationJobService;
 import com.depth.learningcrew.domain.studygroup.repository.StudyStepRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,51 +8,42 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class QuizScheduler {
 
-    private final QuizGenerationService service;
+    private final QuizGenerationJobService jobService;
     private final StudyStepRepository studyStepRepository;
 
-    private final ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
-
-    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
-
     @Scheduled(cron = "0 1 0-1 * * *", zone = "Asia/Seoul")
     public void run() {
-        generateQuiz();
+        generateQuiz(UUID.randomUUID().toString());
     }
 
     // 스케줄에 종속적이지 않고 별도로 테스트도 가능하도록 이렇게 뺐음.
-    public void generateQuiz(){
+    // 작업 큐에 넣기만 하고, 실제 생성은 QuizGenerationJobWorker 가 노드 수와 상관없이 한 번만 수행한다.
+    public int generateQuiz(String batchId){
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
         var steps = studyStepRepository.findByEndDate(yesterday); // 어제가 EndDate인 Step
 
-        steps.forEach(step -> {
+        int enqueued = 0;
+        for (var step : steps) {
             Integer stepNum = step.getId().getStep();
-            Long groupId = step.getId().getStudyGroupId().getId();
-            String key = groupId + ":" + stepNum + ":" + today;
-
-            if (!inProgress.add(key)) {
-                log.debug("skip duplicate schedule submit {}", key);
-                return;
+            var group = step.getId().getStudyGroupId();
+            Long groupId = group.getId();
+            int priority = QuizGenerationJobService.priorityOf(step.getEndDate(), group.getMemberCount(), today);
+
+            if (jobService.enqueue(groupId, stepNum, false, batchId, priority)) {
+                enqueued++;
+            } else {
+                log.debug("skip duplicate schedule submit gid={} step={}", groupId, stepNum);
             }
-            pool.submit(() -> {
-                try {
-                    service.generateForGroupAndPrevStep(groupId, stepNum);
-                } finally {
-                    inProgress.remove(key);
-                }
-            });
-        });
+        }
+        log.info("[quiz-job] enqueued {} of {} ended steps batch={}", enqueued, steps.size(), batchId);
+        return enqueued;
     }
 }
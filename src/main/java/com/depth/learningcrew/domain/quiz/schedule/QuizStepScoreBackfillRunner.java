@@ -0,0 +1,63 @@
+package com.depth.learningcrew.domain.quiz.schedule;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.service.QuizStepScoreBackfillService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동할 때 QUIZ_STEP_SCORE 에 빠진 스텝 점수를 끝까지 채운다. 기록 조회는 이 테이블만 읽으므로 다 채운 뒤에야 준비 완료가 된다.
+ * - quiz.step-score.backfill-on-startup=true 일 때만 뜬다. 테이블을 처음 들이는 배포 한 번에 한 노드에서만 켜고 다음 배포에서 끈다.
+ *   꺼 두면 기동마다 전체 기록을 훑는 안티 조인을 돌리지 않는다.
+ * - 배치마다 따로 커밋하고, 더 넣을 것이 없으면(0) 멈춘다. 이미 채워진 뒤에는 빈 조회 한 번으로 끝난다.
+ * - 다른 노드의 백필이나 새 제출과 같은 행을 동시에 넣어 유니크 제약에 걸리면 그 배치만 다시 고른다.
+ * - 실패하면 기동을 멈춘다. 빈 기록을 보여 주는 것보다 낫다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE) // 더미 데이터 등 다른 초기화가 넣은 기록까지 채운다
+@ConditionalOnProperty(name = "quiz.step-score.backfill-on-startup", havingValue = "true")
+public class QuizStepScoreBackfillRunner implements ApplicationRunner {
+
+    private static final int MAX_CONFLICTS = 10;
+
+    private final QuizStepScoreBackfillService backfillService;
+    private final int batchSize;
+
+    public QuizStepScoreBackfillRunner(
+            QuizStepScoreBackfillService backfillService,
+            @Value("${quiz.step-score.backfill-batch-size:1000}") int batchSize) {
+        this.backfillService = backfillService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long total = 0;
+        int conflicts = 0;
+        while (true) {
+            int inserted;
+            try {
+                inserted = backfillService.backfill(batchSize);
+            } catch (DataIntegrityViolationException e) {
+                if (++conflicts > MAX_CONFLICTS) throw e;
+                log.debug("[quiz-score] backfill batch raced, retrying conflicts={}", conflicts);
+                continue;
+            }
+            if (inserted == 0) break;
+            total += inserted;
+            log.info("[quiz-score] backfilled batch={} total={}", inserted, total);
+        }
+        if (total > 0) {
+            log.info("[quiz-score] backfill finished total={}", total);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.depth.learningcrew.domain.ai.llm.service.LlmInvoker;
+import com.depth.learningcrew.domain.ai.llm.service.NoteSummarizer;
+import com.depth.learningcrew.domain.note.repository.NoteRepository;
+import com.depth.learningcrew.system.limiter.llm.TokenCounter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 퀴즈 생성 전 노트 축약 단계(map-reduce).
+ * - 노트를 한 건씩 스트리밍으로 읽으며 다른 노트와 거의 같은 문단은 버리고(ParagraphDeduplicator), chunk-chars 크기의 조각으로 나눈다.
+ * - 조각이 하나면 그대로 쓰고, 여러 개면 조각별 요약을 가상 스레드에서 병렬로 요청한다(TPM/동시성은 LlmInvoker 가 제한).
+ * - 요약을 다시 묶어도 한 조각을 넘으면 max-rounds 까지 한 번 더 줄인다.
+ */
+@Slf4j
+@Component
+public class NoteCondenser {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
+    private final NoteRepository noteRepository;
+    private final NoteSummarizer summarizer;
+    private final LlmInvoker llmInvoker;
+    private final TokenCounter tokenCounter;
+    private final QuizGenerationMetrics metrics;
+    private final TransactionTemplate readOnlyTx;
+    private final int chunkChars;
+    private final int summaryChars;
+    private final int maxRounds;
+    private final double dedupThreshold;
+    private final int dedupMinChars;
+
+    public NoteCondenser(
+            NoteRepository noteRepository,
+            NoteSummarizer summarizer,
+            LlmInvoker llmInvoker,
+            TokenCounter tokenCounter,
+            QuizGenerationMetrics metrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${llm.quiz.condense.chunk-chars:60000}") int chunkChars,
+            @Value("${llm.quiz.condense.summary-chars:6000}") int summaryChars,
+            @Value("${llm.quiz.condense.max-rounds:2}") int maxRounds,
+            @Value("${llm.quiz.dedup.threshold:0.8}") double dedupThreshold,
+            @Value("${llm.quiz.dedup.min-chars:40}") int dedupMinChars) {
+        this.noteRepository = noteRepository;
+        this.summarizer = summarizer;
+        this.llmInvoker = llmInvoker;
+        this.tokenCounter = tokenCounter;
+        this.metrics = metrics;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.chunkChars = chunkChars;
+        this.summaryChars = summaryChars;
+        this.maxRounds = maxRounds;
+        this.dedupThreshold = dedupThreshold;
+        this.dedupMinChars = dedupMinChars;
+    }
+
+    /**
+     * 스텝의 노트를 퀴즈 생성에 넣을 하나의 본문으로 만든다.
+     *
+     * @return 노트가 없으면 null
+     */
+    public String condense(String groupName, Integer step, Long studyGroupId) {
+        List<String> chunks = readChunks(studyGroupId, step);
+        if (chunks.isEmpty()) {
+            return null;
+        }
+
+        int sourceChars = totalChars(chunks);
+        for (int round = 1; chunks.size() > 1 && round <= maxRounds; round++) {
+            List<String> summaries = summarizeAll(groupName, step, chunks);
+            log.info("[quiz-gen] condensed gid={} step={} round={} chunks={} chars={}→{}",
+                    studyGroupId, step, round, chunks.size(), totalChars(chunks), totalChars(summaries));
+
+            ChunkBuilder builder = new ChunkBuilder(chunkChars);
+            summaries.forEach(s -> builder.append(s + "\n\n"));
+            chunks = builder.finish();
+        }
+
+        if (chunks.size() > 1) {
+            log.warn("[quiz-gen] digest still over budget gid={} step={} chunks={} sourceChars={}",
+                    studyGroupId, step, chunks.size(), sourceChars);
+        }
+        return String.join("", chunks);
+    }
+
+    // 노트 본문을 한꺼번에 하나의 String 으로 합치지 않고, 읽는 즉시 문단 중복을 거르고 조각 단위로 잘라 담는다.
+    private List<String> readChunks(Long studyGroupId, Integer step) {
+        ParagraphDeduplicator dedup = new ParagraphDeduplicator(dedupThreshold, dedupMinChars);
+        AtomicLong droppedTokens = new AtomicLong();
+        List<String> chunks = metrics.observe(QuizGenerationMetrics.Stage.NOTE_LOADING,
+                () -> readOnlyTx.execute(status -> streamChunks(studyGroupId, step, dedup, droppedTokens)));
+
+        if (dedup.getDroppedParagraphs() > 0) {
+            log.info("[quiz-gen] dedup gid={} step={} droppedParagraphs={} droppedChars={} droppedTokens={} keptChars={}",
+                    studyGroupId, step, dedup.getDroppedParagraphs(), dedup.getDroppedChars(),
+                    droppedTokens.get(), dedup.getKeptChars());
+        }
+        return chunks;
+    }
+
+    private List<String> streamChunks(Long studyGroupId, Integer step, ParagraphDeduplicator dedup,
+                                      AtomicLong droppedTokens) {
+        ChunkBuilder builder = new ChunkBuilder(chunkChars);
+        try (Stream<NoteRepository.NoteContent> notes = noteRepository.streamContents(studyGroupId, step)) {
+            notes.forEach(n -> {
+                builder.append("## ");
+                builder.append(n.getTitle() != null ? n.getTitle() : "");
+                builder.append("\n");
+                if (n.getContent() != null) {
+                    for (String paragraph : PARAGRAPH_BREAK.split(n.getContent())) {
+                        if (paragraph.isBlank()) continue;
+                        if (dedup.accept(paragraph)) {
+                            builder.append(paragraph);
+                            builder.append("\n\n");
+                        } else {
+                            droppedTokens.addAndGet(tokenCounter.count(paragraph)); // 프롬프트와 같은 TokenCounter 로 센다
+                        }
+                    }
+                }
+            });
+        }
+        return builder.finish();
+    }
+
+    private List<String> summarizeAll(String groupName, Integer step, List<String> chunks) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = chunks.stream()
+                    .map(chunk -> executor.submit(() -> summarize(groupName, step, chunk)))
+                    .toList();
+
+            List<String> summaries = new ArrayList<>(futures.size());
+            try {
+                for (Future<String> f : futures) {
+                    summaries.add(f.get());
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true)); // 한 조각이라도 실패하면 나머지 요약은 버린다
+                if (e.getCause() instanceof RuntimeException re)
+                    throw re;
+                throw new RuntimeException(e.getCause());
+            }
+            return summaries;
+        }
+    }
+
+    private String summarize(String groupName, Integer step, String chunk) {
+        // 요약은 최대 summaryChars 글자. 한글 위주라 글자당 1 토큰을 넘지 않는다.
+        return llmInvoker.call("summary", chunk, summaryChars,
+                () -> summarizer.summarize(groupName, step, chunk, summaryChars),
+                tmp -> {
+                    if (tmp == null || tmp.isBlank())
+                        throw new IllegalStateException("Summary must not be blank");
+                    return tmp.strip();
+                });
+    }
+
+    private static int totalChars(List<String> parts) {
+        return parts.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * 최대 maxChars 크기의 조각을 만든다. 한 조각을 넘는 긴 텍스트는 줄 경계(없으면 글자 수)에서 자른다.
+     */
+    static final class ChunkBuilder {
+        private final int maxChars;
+        private final List<String> chunks = new ArrayList<>();
+        private StringBuilder current = new StringBuilder();
+
+        ChunkBuilder(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        void append(String text) {
+            int from = 0;
+            while (from < text.length()) {
+                int room = maxChars - current.length();
+                int remaining = text.length() - from;
+                if (remaining <= room) {
+                    current.append(text, from, text.length());
+                    return;
+                }
+                int cut = text.lastIndexOf('\n', from + room - 1);
+                if (cut < from) {
+                    if (current.length() > 0) { // 빈 조각에서 다시 시도하면 줄 경계를 찾을 수 있다
+                        flush();
+                        continue;
+                    }
+                    cut = from + room - 1;
+                }
+                current.append(text, from, cut + 1);
+                from = cut + 1;
+                flush();
+            }
+        }
+
+        List<String> finish() {
+            flush();
+            return chunks;
+        }
+
+        private void flush() {
+            if (current.length() > 0) {
+                chunks.add(current.toString());
+                current = new StringBuilder();
+            }
+        }
+    }
+}
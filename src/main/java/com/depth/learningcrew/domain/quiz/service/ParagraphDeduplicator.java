@@ -0,0 +1,170 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 스텝의 노트 문단에서 거의 같은 문단을 걸러낸다(MinHash + LSH 밴딩).
+ * - 정규화한 문단을 5글자 shingle 로 나누고, 64개 해시 함수의 최솟값으로 서명을 만든다.
+ * - 서명을 16개 밴드(4행)로 나눠 같은 버킷에 들어온 문단끼리만 추정 유사도를 비교한다.
+ * - 서명/버킷 체인은 모두 long[]/int[] 로 들고 있어 문단 수가 많아도 객체를 거의 만들지 않는다.
+ * 스레드 안전하지 않다. 스텝 하나를 처리하는 동안만 쓴다.
+ */
+public final class ParagraphDeduplicator {
+
+    private static final int SHINGLE = 5;
+    private static final int HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long s = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            s = mix(s + i);
+            SEEDS[i] = s;
+        }
+    }
+
+    private final double threshold;
+    private final int minChars;
+
+    private long[] signatures = new long[64 * HASHES];
+    private int[] nextInBucket = new int[64 * BANDS];  // (문단, 밴드) → 같은 버킷의 이전 문단, 없으면 -1
+    private final Map<Long, Integer> bucketHeads = new HashMap<>();
+    private int count;
+
+    private long keptChars;
+    private long droppedChars;
+    private int droppedParagraphs;
+
+    public ParagraphDeduplicator(double threshold, int minChars) {
+        this.threshold = threshold;
+        this.minChars = minChars;
+    }
+
+    /**
+     * 앞서 받은 문단과 추정 유사도가 threshold 이상이면 false. 짧은 문단(제목, 한 줄 메모)은 비교하지 않고 통과시킨다.
+     */
+    public boolean accept(String paragraph) {
+        String norm = normalize(paragraph);
+        if (norm.length() < minChars) {
+            keptChars += paragraph.length();
+            return true;
+        }
+
+        long[] sig = signature(norm);
+        long[] keys = bandKeys(sig);
+        if (hasNearDuplicate(sig, keys)) {
+            droppedChars += paragraph.length();
+            droppedParagraphs++;
+            return false;
+        }
+
+        add(sig, keys);
+        keptChars += paragraph.length();
+        return true;
+    }
+
+    public long getKeptChars() {
+        return keptChars;
+    }
+
+    public long getDroppedChars() {
+        return droppedChars;
+    }
+
+    public int getDroppedParagraphs() {
+        return droppedParagraphs;
+    }
+
+    private boolean hasNearDuplicate(long[] sig, long[] keys) {
+        int needed = (int) Math.ceil(threshold * HASHES);
+        for (int b = 0; b < BANDS; b++) {
+            Integer head = bucketHeads.get(keys[b]);
+            for (int idx = head == null ? -1 : head; idx >= 0; idx = nextInBucket[idx * BANDS + b]) {
+                if (matches(sig, idx) >= needed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int matches(long[] sig, int idx) {
+        int base = idx * HASHES;
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[base + i] == sig[i]) same++;
+        }
+        return same;
+    }
+
+    private void add(long[] sig, long[] keys) {
+        if ((count + 1) * HASHES > signatures.length) {
+            signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            nextInBucket = Arrays.copyOf(nextInBucket, nextInBucket.length * 2);
+        }
+        System.arraycopy(sig, 0, signatures, count * HASHES, HASHES);
+        for (int b = 0; b < BANDS; b++) {
+            Integer prev = bucketHeads.put(keys[b], count);
+            nextInBucket[count * BANDS + b] = prev == null ? -1 : prev;
+        }
+        count++;
+    }
+
+    private static long[] signature(String norm) {
+        long[] sig = new long[HASHES];
+        Arrays.fill(sig, Long.MAX_VALUE);
+        for (int i = 0; i + SHINGLE <= norm.length(); i++) {
+            long h = 0xCBF29CE484222325L; // FNV-1a
+            for (int j = i; j < i + SHINGLE; j++) {
+                h ^= norm.charAt(j);
+                h *= 0x100000001B3L;
+            }
+            for (int k = 0; k < HASHES; k++) {
+                long v = mix(h ^ SEEDS[k]);
+                if (v < sig[k]) sig[k] = v;
+            }
+        }
+        return sig;
+    }
+
+    private static long[] bandKeys(long[] sig) {
+        long[] keys = new long[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            long h = b;
+            for (int r = 0; r < ROWS; r++) {
+                h = mix(h * 31 + sig[b * ROWS + r]);
+            }
+            keys[b] = h;
+        }
+        return keys;
+    }
+
+    // 대소문자/공백/구두점 차이는 같은 문단으로 본다.
+    private static String normalize(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean space = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) sb.append(' ');
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,24 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 퀴즈 엔티티가 지워지면(스터디 그룹 삭제 cascade 포함) 그 스텝의 퀴즈 묶음 캐시를 비운다.
+ * Hibernate 가 Spring 빈 컨테이너로 만들기 때문에 의존성을 주입받을 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuizCacheEvictionListener {
+
+    private final StepQuizCache stepQuizCache;
+
+    @PostRemove
+    public void onRemove(Quiz quiz) {
+        stepQuizCache.evictAfterCommit(quiz.getStudyGroup().getId(), quiz.getStep());
+    }
+}
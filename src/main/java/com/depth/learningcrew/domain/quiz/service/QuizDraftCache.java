@@ -0,0 +1,172 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.note.repository.NoteRepository;
+import com.depth.learningcrew.domain.quiz.entity.QuizDraftCacheEntry;
+import com.depth.learningcrew.domain.quiz.repository.QuizDraftCacheRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노트 내용 기반(content-addressed) 생성 결과 캐시.
+ * 저장 실패 후 재시도나 관리자 재실행처럼 노트가 그대로인 스텝은 LLM 을 다시 부르지 않는다.
+ */
+@Slf4j
+@Service
+public class QuizDraftCache {
+
+    private final QuizDraftCacheRepository cacheRepository;
+    private final NoteRepository noteRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final String promptVersion;
+    private final QuizGenerationMode mode;
+    private final Duration ttl;
+    private final int maxEntries;
+
+    public QuizDraftCache(
+            QuizDraftCacheRepository cacheRepository,
+            NoteRepository noteRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${llm.quiz.prompt-version:1}") String promptVersion,
+            @Value("${llm.quiz.generation-mode:TWO_PHASE}") QuizGenerationMode mode,
+            @Value("${quiz.draft-cache.ttl-days:14}") long ttlDays,
+            @Value("${quiz.draft-cache.max-entries:5000}") int maxEntries) {
+        this.cacheRepository = cacheRepository;
+        this.noteRepository = noteRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.promptVersion = promptVersion;
+        this.mode = mode;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 스텝 노트 원문을 스트리밍으로 한 번 훑어 캐시 키를 만든다. 축약(LLM 요약) 전에 계산해야 적중 시 요약 호출도 아낀다.
+     *
+     * @return 노트가 없으면 null
+     */
+    public String keyOf(String groupName, Integer step, Long studyGroupId) {
+        MessageDigest sha = sha256();
+        update(sha, "v" + promptVersion);
+        update(sha, mode.name());
+        update(sha, groupName);
+        update(sha, String.valueOf(step));
+
+        Boolean hasNotes = readOnlyTx.execute(status -> {
+            boolean any = false;
+            try (Stream<NoteRepository.NoteContent> notes = noteRepository.streamContents(studyGroupId, step)) {
+                for (NoteRepository.NoteContent n : (Iterable<NoteRepository.NoteContent>) notes::iterator) {
+                    update(sha, n.getTitle());
+                    update(sha, n.getContent());
+                    any = true;
+                }
+            }
+            return any;
+        });
+        return Boolean.TRUE.equals(hasNotes) ? HexFormat.of().formatHex(sha.digest()) : null;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<QuizDraft> get(String key) {
+        return cacheRepository.findById(key)
+                .filter(e -> e.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(e -> {
+                    try {
+                        return new QuizDraft(
+                                objectMapper.readValue(e.getQuizzesJson(), QuizzesPayload.class),
+                                objectMapper.readValue(e.getOptionsJson(), OptionsPayload.class));
+                    } catch (JsonProcessingException ex) {
+                        log.warn("[quiz-gen] broken draft cache entry key={} err={}", key, ex.getMessage());
+                        return null;
+                    }
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public boolean contains(String key) {
+        return cacheRepository.existsByCacheKeyAndExpiresAtAfter(key, LocalDateTime.now());
+    }
+
+    /**
+     * 검증을 통과한 초안만 넣는다. 같은 키가 있으면 덮어쓰고 만료 시각을 갱신한다.
+     * 키를 직접 정하는 엔티티라 새로 만든 객체를 save 하면 merge 되며 createdAt 이 비워진다. 있던 행을 읽어 고친다.
+     */
+    @Transactional
+    public void put(String key, Long studyGroupId, Integer step, QuizDraft draft) {
+        try {
+            String quizzesJson = objectMapper.writeValueAsString(draft.quizzes());
+            String optionsJson = objectMapper.writeValueAsString(draft.options());
+            QuizDraftCacheEntry entry = cacheRepository.findById(key)
+                    .orElseGet(() -> QuizDraftCacheEntry.builder().cacheKey(key).build());
+            entry.setStudyGroupId(studyGroupId);
+            entry.setStep(step);
+            entry.setQuizzesJson(quizzesJson);
+            entry.setOptionsJson(optionsJson);
+            entry.setExpiresAt(LocalDateTime.now().plus(ttl));
+            cacheRepository.save(entry);
+        } catch (JsonProcessingException e) {
+            log.warn("[quiz-gen] draft cache put failed key={} err={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 항목을 지우고, 그래도 max-entries 를 넘으면 마지막으로 저장한 지 오래된 것부터 지운다.
+     */
+    @Transactional
+    public int evict() {
+        int removed = cacheRepository.deleteExpired(LocalDateTime.now());
+        long overflow = cacheRepository.count() - maxEntries;
+        if (overflow > 0) {
+            List<String> oldest = cacheRepository.findOldestKeys(PageRequest.of(0, (int) overflow));
+            cacheRepository.deleteAllByIdInBatch(oldest);
+            removed += oldest.size();
+        }
+        return removed;
+    }
+
+    // 길이를 앞에 붙여 필드 경계가 섞여도 같은 해시가 나오지 않게 한다.
+    private static void update(MessageDigest sha, String value) {
+        if (value == null) {
+            sha.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        sha.update((byte) 1);
+        sha.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        sha.update((byte) ':');
+        sha.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
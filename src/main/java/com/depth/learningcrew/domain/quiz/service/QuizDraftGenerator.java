@@ -0,0 +1,464 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizBundlePayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.ai.llm.service.LenientJsonParser;
+import com.depth.learningcrew.domain.ai.llm.service.LlmInvoker;
+import com.depth.learningcrew.domain.ai.llm.service.OptionGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizBundleGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.StreamingQuizGenerator;
+import com.depth.learningcrew.system.limiter.llm.LlmUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노트로부터 검증된 문제 + 보기 초안을 만든다. 호출 방식은 llm.quiz.generation-mode 로 배포별 선택한다.
+ */
+@Slf4j
+@Component
+public class QuizDraftGenerator {
+
+    // 문항당 예상 출력 토큰. 실제와의 차이는 LlmInvoker 의 보정 계수가 맞춘다.
+    static final int QUIZ_OUTPUT_TOKENS_PER_ITEM = 80;
+    static final int OPTION_OUTPUT_TOKENS_PER_ITEM = 70;
+
+    private final QuizGenerator quizGenerator;
+    private final OptionGenerator optionGenerator;
+    private final QuizBundleGenerator bundleGenerator;
+    private final StreamingQuizGenerator streamingQuizGenerator;
+    private final QuizPayloadValidator validator;
+    private final LlmInvoker llmInvoker;
+    private final ObjectMapper objectMapper;
+    private final LenientJsonParser jsonParser;
+    private final QuizGenerationMetrics metrics;
+    private final QuizGenerationMode mode;
+    private final int partialRetryRounds;
+    private final int optionBatchSize;
+
+    public QuizDraftGenerator(
+            QuizGenerator quizGenerator,
+            OptionGenerator optionGenerator,
+            QuizBundleGenerator bundleGenerator,
+            StreamingQuizGenerator streamingQuizGenerator,
+            QuizPayloadValidator validator,
+            LlmInvoker llmInvoker,
+            ObjectMapper objectMapper,
+            LenientJsonParser jsonParser,
+            QuizGenerationMetrics metrics,
+            @Value("${llm.quiz.generation-mode:TWO_PHASE}") QuizGenerationMode mode,
+            @Value("${llm.quiz.partial-retry-rounds:2}") int partialRetryRounds,
+            @Value("${llm.quiz.stream.option-batch-size:5}") int optionBatchSize) {
+        this.quizGenerator = quizGenerator;
+        this.optionGenerator = optionGenerator;
+        this.bundleGenerator = bundleGenerator;
+        this.streamingQuizGenerator = streamingQuizGenerator;
+        this.validator = validator;
+        this.llmInvoker = llmInvoker;
+        this.objectMapper = objectMapper;
+        this.jsonParser = jsonParser;
+        this.metrics = metrics;
+        this.mode = mode;
+        this.partialRetryRounds = partialRetryRounds;
+        this.optionBatchSize = Math.max(1, optionBatchSize);
+    }
+
+    public QuizGenerationMode getMode() {
+        return mode;
+    }
+
+    public QuizDraft generate(String groupName, Integer step, String notes) {
+        return generate(groupName, step, notes, QuizStemFilter.NONE);
+    }
+
+    /**
+     * @param stemFilter 이전 스텝 문항과 겹치는 문항을 걸러 낼 검사기. 걸러 낸 문항은 빠진 문항처럼 그 수만큼만 다시 요청한다.
+     */
+    public QuizDraft generate(String groupName, Integer step, String notes, QuizStemFilter stemFilter) {
+        return switch (mode) {
+            case TWO_PHASE -> generateTwoPhase(groupName, step, notes, stemFilter);
+            case SINGLE_CALL -> generateSingleCall(groupName, step, notes, stemFilter);
+            case STREAMING -> generateStreaming(groupName, step, notes, stemFilter);
+        };
+    }
+
+    private QuizDraft generateTwoPhase(String groupName, Integer step, String notes, QuizStemFilter stemFilter) {
+        // LLM 호출 1: 퀴즈 생성. 응답이 잘려 모자란 문항만 추가로 요청한다.
+        QuizzesPayload q = llmInvoker.call("quiz", notes,
+                (long) QuizPayloadValidator.QUIZ_COUNT * QUIZ_OUTPUT_TOKENS_PER_ITEM,
+                () -> quizGenerator.generate(groupName, step, notes),
+                this::readQuizzes);
+        q = completeQuizzes(groupName, step, notes, q, stemFilter);
+
+        // LLM 호출 2: 보기 생성 (실패한 문항만 후속 요청)
+        OptionsPayload opts = completeOptions(q, null);
+
+        return new QuizDraft(q, opts);
+    }
+
+    private QuizDraft generateSingleCall(String groupName, Integer step, String notes, QuizStemFilter stemFilter) {
+        // LLM 호출 1회: 문제 + 보기. 살릴 문항이 하나도 없을 때만 전체를 다시 요청한다.
+        QuizBundlePayload bundle = llmInvoker.call("quiz_bundle", notes,
+                (long) QuizPayloadValidator.QUIZ_COUNT * (QUIZ_OUTPUT_TOKENS_PER_ITEM + OPTION_OUTPUT_TOKENS_PER_ITEM),
+                () -> bundleGenerator.generate(groupName, step, notes),
+                this::readBundle);
+
+        // 빠지거나 겹친 문항은 문제만 채우고, 보기가 없거나 잘못된 문항은 보기 생성기로 해당 id 만 다시 요청한다.
+        QuizzesPayload q = completeQuizzes(groupName, step, notes, bundle.toQuizzes(), stemFilter);
+        OptionsPayload opts = completeOptions(q, bundle.toOptions());
+
+        return new QuizDraft(q, opts);
+    }
+
+    private QuizDraft generateStreaming(String groupName, Integer step, String notes, QuizStemFilter stemFilter) {
+        try (ExecutorService optionPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor executor = llmInvoker.usageScoped(optionPool);
+
+            // LLM 호출 1: 퀴즈 스트리밍. 문항이 optionBatchSize 개 모일 때마다 LLM 호출 2(보기)를 먼저 보낸다.
+            StreamedQuizzes streamed = llmInvoker.stream("quiz_stream", notes,
+                    (long) QuizPayloadValidator.QUIZ_COUNT * QUIZ_OUTPUT_TOKENS_PER_ITEM,
+                    () -> streamingQuizGenerator.generate(groupName, step, notes),
+                    () -> new QuizStreamListener(executor, stemFilter));
+
+            // 모자란 문항을 채우고, 먼저 받은 보기를 모아 빠졌거나 잘못된 문항만 후속 요청한다.
+            QuizzesPayload q = completeQuizzes(groupName, step, notes, streamed.quizzes(), stemFilter);
+            OptionsPayload opts = completeOptions(q, collect(streamed.optionCalls()));
+            return new QuizDraft(q, opts);
+        }
+    }
+
+    private OptionsPayload collect(List<Future<OptionsPayload>> calls) {
+        List<OptionsPayload.Opt> options = new ArrayList<>();
+        for (Future<OptionsPayload> call : calls) {
+            try {
+                options.addAll(call.get().getOptions());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof LlmUnavailableException unavailable)
+                    throw unavailable;
+                log.info("[quiz-gen] pipelined option batch failed, will retry its items: {}", e.getCause().getMessage());
+            }
+        }
+        OptionsPayload merged = new OptionsPayload();
+        merged.setOptions(options);
+        return merged;
+    }
+
+    private record StreamedQuizzes(QuizzesPayload quizzes, List<Future<OptionsPayload>> optionCalls) {
+    }
+
+    /**
+     * 퀴즈 스트리밍 시도 하나. 문항이 완성되는 대로 가볍게 확인하고(빈 값/중복 id/이전 스텝과 겹침) 묶음 단위로 보기 생성을 시작한다.
+     */
+    private final class QuizStreamListener implements LlmInvoker.StreamListener<StreamedQuizzes> {
+
+        private final Executor executor;
+        private final QuizStemFilter stemFilter;
+        private final QuizItemStreamParser parser = new QuizItemStreamParser(objectMapper, this::onItem);
+        private final Set<String> seenIds = new HashSet<>();
+        private final List<QuizzesPayload.Item> batch = new ArrayList<>();
+        private final List<Future<OptionsPayload>> optionCalls = new ArrayList<>();
+
+        private QuizStreamListener(Executor executor, QuizStemFilter stemFilter) {
+            this.executor = executor;
+            this.stemFilter = stemFilter;
+        }
+
+        @Override
+        public synchronized void onPartial(String text) {
+            parser.feed(text);
+        }
+
+        @Override
+        public synchronized StreamedQuizzes onComplete(String text) {
+            QuizzesPayload q = readQuizzes(text);
+            flush();
+            return new StreamedQuizzes(q, List.copyOf(optionCalls));
+        }
+
+        @Override
+        public synchronized void onAbort() {
+            optionCalls.forEach(call -> call.cancel(true));
+        }
+
+        private void onItem(QuizzesPayload.Item item) {
+            if (isBlank(item.getId()) || isBlank(item.getStem()) || isBlank(item.getAnswer())
+                    || !seenIds.add(item.getId()) || stemFilter.matchesEarlierStep(item.getStem())) {
+                return;
+            }
+            batch.add(item);
+            if (batch.size() >= optionBatchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) return;
+            List<QuizzesPayload.Item> items = List.copyOf(batch);
+            batch.clear();
+            FutureTask<OptionsPayload> call = new FutureTask<>(() -> requestOptions(items));
+            optionCalls.add(call);
+            executor.execute(call);
+        }
+    }
+
+    // 응답에서 쓸 수 있는 문항만 남긴다. 하나도 없으면 예외 → 전체 재요청.
+    private QuizzesPayload readQuizzes(String raw) {
+        List<QuizzesPayload.Item> items = usableQuizzes(readItems(raw, "quizzes", QuizzesPayload.Item.class), List.of());
+        if (items.isEmpty())
+            throw new QuizPayloadException(QuizPayloadException.Reason.MALFORMED, "Quiz response had no usable items");
+        QuizzesPayload q = new QuizzesPayload();
+        q.setQuizzes(items);
+        return q;
+    }
+
+    private QuizBundlePayload readBundle(String raw) {
+        Set<String> seen = new HashSet<>();
+        List<QuizBundlePayload.Item> items = readItems(raw, "items", QuizBundlePayload.Item.class).stream()
+                .filter(it -> it != null && !isBlank(it.getId()) && !isBlank(it.getStem()) && !isBlank(it.getAnswer()))
+                .filter(it -> seen.add(it.getId()))
+                .limit(QuizPayloadValidator.QUIZ_COUNT)
+                .toList();
+        if (items.isEmpty())
+            throw new QuizPayloadException(QuizPayloadException.Reason.MALFORMED, "Quiz bundle response had no usable items");
+        QuizBundlePayload bundle = new QuizBundlePayload();
+        bundle.setItems(items);
+        return bundle;
+    }
+
+    private <E> List<E> readItems(String raw, String field, Class<E> itemType) {
+        LenientJsonParser.Parsed<E> parsed = jsonParser.parseItems(raw, field, itemType);
+        if (parsed.repaired() || parsed.dropped() > 0) {
+            log.info("[quiz-gen] repaired LLM JSON field={} salvaged={} dropped={}",
+                    field, parsed.items().size(), parsed.dropped());
+        }
+        return parsed.items();
+    }
+
+    // id/stem/answer 가 모두 있고 id 가 겹치지 않는 문항만, 전체가 QUIZ_COUNT 를 넘지 않게 고른다.
+    private List<QuizzesPayload.Item> usableQuizzes(List<QuizzesPayload.Item> candidates, List<QuizzesPayload.Item> existing) {
+        Set<String> seen = existing.stream().map(QuizzesPayload.Item::getId).collect(Collectors.toCollection(HashSet::new));
+        return candidates.stream()
+                .filter(it -> it != null && !isBlank(it.getId()) && !isBlank(it.getStem()) && !isBlank(it.getAnswer()))
+                .filter(it -> seen.add(it.getId()))
+                .limit(QuizPayloadValidator.QUIZ_COUNT - existing.size())
+                .toList();
+    }
+
+    /**
+     * 잘린 응답 등으로 문항이 QUIZ_COUNT 보다 적으면 빠진 id 만 추가로 요청한다(최대 partialRetryRounds 회).
+     * 이전 스텝 문항과 겹치는 문항도 여기서 걸러 내고 같은 방식으로 그 수만큼만 새로 받는다.
+     * 결과는 전체 문항 검증(validateQuizzes)을 통과해야 하며, 실패하면 작업 단위 재시도로 넘어간다.
+     */
+    QuizzesPayload completeQuizzes(String groupName, Integer step, String notes, QuizzesPayload q,
+                                   QuizStemFilter stemFilter) {
+        List<QuizzesPayload.Item> items = new ArrayList<>(q.getQuizzes() == null ? List.of() : q.getQuizzes());
+        List<QuizzesPayload.Item> rejected = new ArrayList<>();
+        int duplicates = dropDuplicates(items, rejected, stemFilter);
+
+        for (int round = 1; round <= partialRetryRounds && items.size() < QuizPayloadValidator.QUIZ_COUNT; round++) {
+            // 걸러 낸 문항의 id 는 다시 쓰지 않는다. 먼저 받은 보기(단일 호출/스트리밍)가 새 문항에 붙지 않게 한다.
+            List<String> missingIds = missingIds(items, rejected);
+            log.info("[quiz-gen] missing quiz top-up round={} ids={} duplicates={}", round, missingIds, duplicates);
+            int replaced = Math.min(duplicates, missingIds.size());
+            metrics.retried(QuizGenerationMetrics.RetryScope.ITEM, QuizGenerationMetrics.RetryReason.NEAR_DUPLICATE,
+                    replaced);
+            metrics.retried(QuizGenerationMetrics.RetryScope.ITEM, QuizGenerationMetrics.RetryReason.COUNT_MISMATCH,
+                    missingIds.size() - replaced);
+
+            String ids = String.join(",", missingIds);
+            // 걸러 낸 문항도 "반복하지 말 것" 목록에 넣어 같은 문장을 또 받지 않게 한다.
+            List<QuizzesPayload.Item> avoid = new ArrayList<>(items);
+            avoid.addAll(rejected);
+            String existing = toItemsJson(avoid);
+            List<QuizzesPayload.Item> added = llmInvoker.call("quiz_top_up", notes + existing,
+                    (long) missingIds.size() * QUIZ_OUTPUT_TOKENS_PER_ITEM,
+                    () -> quizGenerator.generateMissing(groupName, step, notes, missingIds.size(), ids, existing),
+                    raw -> readItems(raw, "quizzes", QuizzesPayload.Item.class));
+            usableQuizzes(added, items).stream()
+                    .filter(it -> missingIds.contains(it.getId()))
+                    .forEach(items::add);
+            duplicates = dropDuplicates(items, rejected, stemFilter);
+        }
+
+        if (items.size() < QuizPayloadValidator.QUIZ_COUNT && !rejected.isEmpty()) {
+            // 교체 문항을 끝내 다 받지 못했으면 작업을 실패시키기보다 걸러 낸 문항으로 채운다.
+            List<QuizzesPayload.Item> restored = usableQuizzes(rejected, items);
+            log.warn("[quiz-gen] keeping near-duplicate stems after top-up rounds ids={}",
+                    restored.stream().map(QuizzesPayload.Item::getId).toList());
+            items.addAll(restored);
+        }
+
+        items.sort(Comparator.comparingInt(QuizDraftGenerator::idOrder));
+        QuizzesPayload merged = new QuizzesPayload();
+        merged.setQuizzes(items);
+        validator.validateQuizzes(merged);
+        return merged;
+    }
+
+    // 겹친 문항을 items 에서 빼 rejected 로 옮기고 그 수를 돌려준다.
+    private int dropDuplicates(List<QuizzesPayload.Item> items, List<QuizzesPayload.Item> rejected,
+                               QuizStemFilter stemFilter) {
+        QuizStemFilter.Split split = stemFilter.split(items);
+        if (split.duplicates().isEmpty()) {
+            return 0;
+        }
+        log.info("[quiz-gen] near-duplicate stems ids={} indexed={}",
+                split.duplicates().stream().map(QuizzesPayload.Item::getId).toList(), stemFilter.size());
+        items.clear();
+        items.addAll(split.kept());
+        rejected.addAll(split.duplicates());
+        return split.duplicates().size();
+    }
+
+    // 프롬프트의 Q1..Q20 중 아직 없는(걸러 낸 문항도 쓰지 않은) id 를 모자란 수만큼 고른다.
+    private static List<String> missingIds(List<QuizzesPayload.Item> items, List<QuizzesPayload.Item> rejected) {
+        Set<String> used = items.stream().map(QuizzesPayload.Item::getId).collect(Collectors.toCollection(HashSet::new));
+        rejected.forEach(it -> used.add(it.getId()));
+        List<String> missing = new ArrayList<>();
+        for (int i = 1; missing.size() < QuizPayloadValidator.QUIZ_COUNT - items.size(); i++) {
+            if (!used.contains("Q" + i)) {
+                missing.add("Q" + i);
+            }
+        }
+        return missing;
+    }
+
+    // "Q<n>" 은 n 순서로, 그 밖의 id 는 뒤로 (정렬은 안정적이라 서로의 순서는 유지된다)
+    private static int idOrder(QuizzesPayload.Item item) {
+        String id = item.getId();
+        return id.matches("Q\\d{1,9}") ? Integer.parseInt(id.substring(1)) : Integer.MAX_VALUE;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /**
+     * 문항별로 유효한 보기만 남기고, 실패한 id 만 모아 보기 생성기에 다시 요청한다(최대 partialRetryRounds 회).
+     * 병합 결과는 마지막에 전체 검증(validateAll)을 한 번 통과해야 하며, 실패하면 작업 단위 재시도로 넘어간다.
+     *
+     * @param initial 이미 받은 보기(단일 호출 모드). null 이면 전체 문항 보기를 먼저 요청한다.
+     */
+    OptionsPayload completeOptions(QuizzesPayload q, OptionsPayload initial) {
+        Map<String, OptionsPayload.Opt> accepted = new HashMap<>();
+        Map<String, QuizPayloadValidator.OptionFailure> failures =
+                keepValid(q, initial != null ? initial : requestOptions(q.getQuizzes()), accepted);
+
+        for (int round = 1; round <= partialRetryRounds; round++) {
+            List<QuizzesPayload.Item> pending = remaining(q, accepted);
+            if (pending.isEmpty()) {
+                break;
+            }
+            log.info("[quiz-gen] partial option retry round={} ids={}", round,
+                    pending.stream().map(QuizzesPayload.Item::getId).toList());
+            countRetries(pending, failures);
+            failures = keepValid(q, requestOptions(pending), accepted);
+        }
+
+        OptionsPayload merged = new OptionsPayload();
+        merged.setOptions(q.getQuizzes().stream()
+                .map(it -> accepted.get(it.getId()))
+                .filter(Objects::nonNull)
+                .toList());
+        validator.validateAll(q, merged);
+        return merged;
+    }
+
+    private OptionsPayload requestOptions(List<QuizzesPayload.Item> items) {
+        String itemsJson = toItemsJson(items);
+        return llmInvoker.call("options", itemsJson, (long) items.size() * OPTION_OUTPUT_TOKENS_PER_ITEM,
+                () -> optionGenerator.generate(itemsJson),
+                raw -> {
+                    // 잘려서 빠진 보기는 completeOptions 가 MISSING 으로 보고 해당 id 만 다시 요청한다.
+                    List<OptionsPayload.Opt> options = readItems(raw, "options", OptionsPayload.Opt.class);
+                    if (options.isEmpty())
+                        throw new QuizPayloadException(QuizPayloadException.Reason.MALFORMED, "Options must not be empty");
+                    OptionsPayload payload = new OptionsPayload();
+                    payload.setOptions(options);
+                    return payload;
+                });
+    }
+
+    private void countRetries(List<QuizzesPayload.Item> pending,
+                              Map<String, QuizPayloadValidator.OptionFailure> failures) {
+        pending.stream()
+                .map(it -> failures.getOrDefault(it.getId(), QuizPayloadValidator.OptionFailure.MISSING))
+                .collect(Collectors.groupingBy(f -> f, Collectors.counting()))
+                .forEach((failure, count) -> metrics.retried(QuizGenerationMetrics.RetryScope.ITEM,
+                        QuizGenerationMetrics.RetryReason.of(failure), count.intValue()));
+    }
+
+    // 아직 채워지지 않은 문항에 대한 보기 중 검증을 통과한 것만 accepted 에 담고, 나머지의 실패 사유를 돌려준다.
+    private Map<String, QuizPayloadValidator.OptionFailure> keepValid(QuizzesPayload q, OptionsPayload opts,
+                                                                      Map<String, OptionsPayload.Opt> accepted) {
+        if (opts == null || opts.getOptions() == null) {
+            return Map.of();
+        }
+        QuizzesPayload pending = new QuizzesPayload();
+        pending.setQuizzes(remaining(q, accepted));
+
+        Map<String, QuizPayloadValidator.OptionFailure> failures = validator.findOptionFailures(pending, opts);
+        if (!failures.isEmpty()) {
+            log.debug("[quiz-gen] invalid options {}", failures);
+        }
+        Set<String> pendingIds = pending.getQuizzes().stream()
+                .map(QuizzesPayload.Item::getId)
+                .collect(Collectors.toSet());
+        for (OptionsPayload.Opt o : opts.getOptions()) {
+            if (o != null && pendingIds.contains(o.getId()) && !failures.containsKey(o.getId())) {
+                accepted.putIfAbsent(o.getId(), o);
+            }
+        }
+        return failures;
+    }
+
+    private List<QuizzesPayload.Item> remaining(QuizzesPayload q, Map<String, OptionsPayload.Opt> accepted) {
+        return q.getQuizzes().stream()
+                .filter(it -> !accepted.containsKey(it.getId()))
+                .toList();
+    }
+
+    String toItemsJson(List<QuizzesPayload.Item> quizzes) {
+        try {
+            List<Map<String, Object>> items = quizzes.stream()
+                    .map(it -> {
+                        Map<String, Object> m = new LinkedHashMap<>();
+                        m.put("id", it.getId());
+                        m.put("stem", it.getStem());
+                        m.put("answer", it.getAnswer());
+                        return m;
+                    })
+                    .toList();
+            Map<String, Object> wrapper = Map.of("items", items);
+            return objectMapper.writeValueAsString(wrapper);
+        } catch (Exception e) {
+            throw new RuntimeException("toItemsJson failed", e);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
+import com.depth.learningcrew.domain.quiz.repository.QuizGenerationJobRepository;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DB 기반 퀴즈 생성 작업 큐.
+ * 여러 노드가 같은 테이블을 폴링하며, 조건부 UPDATE 로 lease 를 잡은 노드만 LLM 을 호출한다.
+ */
+@Slf4j
+@Service
+public class QuizGenerationJobService {
+
+    private static final int ERROR_MAX_LEN = 1000;
+
+    /** 관리자 단건 요청. 백필/스케줄 작업보다 항상 먼저 가져간다. */
+    public static final int INTERACTIVE_PRIORITY = Integer.MAX_VALUE;
+
+    /** 사전 생성 작업. priorityOf 는 0 이상이라 정식 작업이 항상 먼저다. */
+    public static final int DRAFT_PRIORITY = -1;
+
+    private static final int RECENCY_HORIZON_DAYS = 3650;
+    private static final int MEMBER_WEIGHT_CAP = 999;
+
+    private final QuizGenerationJobRepository jobRepository;
+    private final TransactionTemplate requiresNew;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+    private final Duration retryBaseDelay;
+
+    public QuizGenerationJobService(
+            QuizGenerationJobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${quiz.job.max-attempts:5}") int maxAttempts,
+            @Value("${quiz.job.lease-seconds:300}") long leaseSeconds,
+            @Value("${quiz.job.retry-base-delay-seconds:60}") long retryBaseDelaySeconds) {
+        this.jobRepository = jobRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.retryBaseDelay = Duration.ofSeconds(retryBaseDelaySeconds);
+    }
+
+    /**
+     * (group, step) 작업을 큐에 넣는다.
+     * - 이미 대기/실행 중이면 그대로 둔다(중복 LLM 호출 방지).
+     * - 끝난 작업(성공/실패/취소)은 force=true 일 때만 다시 대기 상태로 돌린다. 스캔/백필이 계속 실패하는 스텝을
+     *   시도 횟수를 새로 채워 되살리거나, 관리자가 취소한 배치를 다시 돌리지 않게 하기 위해서다.
+     * - 다른 노드와 동시에 insert 해서 유니크 제약에 걸린 경우는 이미 큐에 있는 것으로 본다.
+     *
+     * @return 새로 대기 상태가 되었으면 true
+     */
+    public boolean enqueue(Long studyGroupId, Integer step, boolean force) {
+        return enqueue(studyGroupId, step, force, null, 0);
+    }
+
+    public boolean enqueue(Long studyGroupId, Integer step, boolean force, String batchId) {
+        return enqueue(studyGroupId, step, force, batchId, 0);
+    }
+
+    /**
+     * @param batchId  같은 요청(스캔/백필/단건)으로 들어간 작업을 묶어 조회·취소하기 위한 id. 새로 대기 상태가 된 작업에만 기록된다.
+     * @param priority 클수록 먼저 실행된다. 이미 대기 중인 작업이면 더 높은 값으로만 올린다(단건 요청의 새치기).
+     */
+    public boolean enqueue(Long studyGroupId, Integer step, boolean force, String batchId, int priority) {
+        return enqueue(studyGroupId, step, force, batchId, priority, false);
+    }
+
+    /**
+     * 관리자 단건 요청. 끝난 작업도 다시 돌리고, 대기 중인 백필/스케줄 작업보다 먼저 실행한다.
+     * 이미 대기/실행 중인 작업이 있으면 새로 넣지 않는다.
+     *
+     * @return 요청 뒤 이 스텝을 맡고 있는 작업. batchId 가 요청한 값과 다르면 기존 작업이 그대로 남은 것이다.
+     */
+    public QuizGenerationJob enqueueTarget(Long studyGroupId, Integer step, String batchId) {
+        enqueue(studyGroupId, step, true, batchId, INTERACTIVE_PRIORITY);
+        return jobRepository.findByStudyGroupIdAndStep(studyGroupId, step).orElseThrow();
+    }
+
+    /**
+     * 아직 진행 중인 스텝의 초안만 미리 만들어 두는 작업을 넣는다. 결과는 QuizDraftCache 에만 남고 퀴즈는 저장하지 않는다.
+     * - 정식 작업이 이미 있으면 넣지 않는다.
+     * - 끝난 사전 생성 작업은 다시 대기 상태로 돌린다(호출하는 쪽이 노트가 바뀐 것을 확인한 뒤 부른다).
+     */
+    public boolean enqueueDraft(Long studyGroupId, Integer step, String batchId) {
+        return enqueue(studyGroupId, step, true, batchId, DRAFT_PRIORITY, true);
+    }
+
+    private boolean enqueue(Long studyGroupId, Integer step, boolean force, String batchId, int priority,
+                            boolean draftOnly) {
+        try {
+            return Boolean.TRUE.equals(requiresNew.execute(
+                    status -> doEnqueue(studyGroupId, step, force, batchId, priority, draftOnly)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("[quiz-job] enqueue race ignored gid={} step={}", studyGroupId, step);
+            return false;
+        }
+    }
+
+    private boolean doEnqueue(Long studyGroupId, Integer step, boolean force, String batchId, int priority,
+                              boolean draftOnly) {
+        LocalDateTime now = LocalDateTime.now();
+
+        var existing = jobRepository.findByStudyGroupIdAndStep(studyGroupId, step);
+        if (existing.isPresent()) {
+            QuizGenerationJob job = existing.get();
+            if (job.isDraft() && !draftOnly) {
+                return promote(job, now, batchId, priority);
+            }
+            if (draftOnly && !job.isDraft()) {
+                return false;
+            }
+            if (job.getStatus() == QuizGenerationJobStatus.PENDING && job.getPriority() < priority) {
+                job.setPriority(priority);
+                log.debug("[quiz-job] priority raised id={} priority={}", job.getId(), priority);
+            }
+            if (job.isActive() || !force) {
+                return false;
+            }
+            job.requeue(now, maxAttempts, batchId, priority);
+            return true;
+        }
+
+        jobRepository.saveAndFlush(QuizGenerationJob.builder()
+                .studyGroupId(studyGroupId)
+                .step(step)
+                .maxAttempts(maxAttempts)
+                .nextRunAt(now)
+                .batchId(batchId)
+                .priority(priority)
+                .draftOnly(draftOnly)
+                .build());
+        return true;
+    }
+
+    // 사전 생성 작업을 정식 작업으로 올린다. 초안이 캐시에 있으면 정식 작업은 검증/저장만 한다.
+    private boolean promote(QuizGenerationJob job, LocalDateTime now, String batchId, int priority) {
+        if (job.isActive() && jobRepository.promote(job.getId(), batchId, priority) == 1) {
+            log.debug("[quiz-job] draft promoted id={}", job.getId());
+            return true;
+        }
+        // 이미 끝났거나 방금 끝난 사전 생성 작업
+        QuizGenerationJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        finished.requeue(now, maxAttempts, batchId, priority);
+        finished.setDraftOnly(false);
+        return true;
+    }
+
+    /**
+     * 백필/스케줄 작업의 우선순위. 최근에 끝난 스텝이 먼저이고, 같은 날짜면 멤버가 많은 그룹이 먼저다.
+     * (최근성 일수 * 1000 + 멤버 수) 이므로 멤버 수는 같은 종료일 안에서만 순서를 가른다.
+     */
+    public static int priorityOf(LocalDate endDate, Integer memberCount, LocalDate today) {
+        long age = endDate == null ? RECENCY_HORIZON_DAYS : Math.max(0, ChronoUnit.DAYS.between(endDate, today));
+        int recency = (int) Math.max(0, RECENCY_HORIZON_DAYS - age);
+        int members = memberCount == null ? 0 : Math.max(0, Math.min(memberCount, MEMBER_WEIGHT_CAP));
+        return recency * (MEMBER_WEIGHT_CAP + 1) + members;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<QuizGenerationJob> claim(String owner, int limit) {
+        return claim(owner, limit, true);
+    }
+
+    /**
+     * 최대 limit 개의 작업에 대해 lease 를 잡는다. 각 후보는 독립된 조건부 UPDATE 로 확정한다.
+     *
+     * @param includeDrafts 사전 생성 작업도 가져갈지(한가한 시간대에만 true)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<QuizGenerationJob> claim(String owner, int limit, boolean includeDrafts) {
+        if (limit <= 0) return List.of();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+
+        List<Long> candidates = jobRepository.findClaimableIds(now, includeDrafts, PageRequest.of(0, limit));
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : candidates) {
+            if (jobRepository.claim(id, owner, now, leaseUntil) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed.isEmpty() ? List.of() : jobRepository.findAllById(claimed);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void heartbeat(String owner, Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) return;
+        jobRepository.heartbeat(jobIds, owner, LocalDateTime.now().plus(leaseDuration));
+    }
+
+    /**
+     * 실행 중 단계를 기록한다.
+     *
+     * @return 작업이 취소됐거나 lease 를 잃었으면 false. 워커는 더 진행하지 않는다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean updateStage(QuizGenerationJob job, String owner, QuizGenerationStage stage) {
+        return jobRepository.updateStage(job.getId(), owner, stage) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markSucceeded(QuizGenerationJob job, String owner, long tokensUsed) {
+        LocalDateTime now = LocalDateTime.now();
+        jobRepository.release(job.getId(), owner, QuizGenerationJobStatus.SUCCEEDED, QuizGenerationStage.PERSISTED,
+                now, null, tokensUsed, now);
+    }
+
+    /**
+     * 사전 생성 작업 완료 처리.
+     *
+     * @return 그 사이 정식 작업으로 올라갔거나 lease 를 잃었으면 false. 워커는 정식 생성으로 이어 간다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markDrafted(QuizGenerationJob job, String owner, long tokensUsed) {
+        return jobRepository.releaseDraft(job.getId(), owner, tokensUsed, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * 실패 처리. 시도 횟수가 남아 있으면 지수 백오프 후 다시 대기, 아니면 FAILED 로 종료한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markFailed(QuizGenerationJob job, String owner, Throwable error, long tokensUsed) {
+        boolean exhausted = job.getAttempts() >= job.getMaxAttempts();
+        QuizGenerationJobStatus next = exhausted ? QuizGenerationJobStatus.FAILED : QuizGenerationJobStatus.PENDING;
+        QuizGenerationStage stage = exhausted ? QuizGenerationStage.FAILED : QuizGenerationStage.QUEUED;
+        LocalDateTime now = LocalDateTime.now();
+
+        jobRepository.release(job.getId(), owner, next, stage, now.plus(backoff(job.getAttempts())), truncate(error),
+                tokensUsed, now);
+        log.warn("[quiz-job] failed gid={} step={} attempt={}/{} -> {}", job.getStudyGroupId(), job.getStep(),
+                job.getAttempts(), job.getMaxAttempts(), next);
+    }
+
+    /**
+     * LLM 제공자 장애로 시작하지 못한 작업을 delay 뒤로 미룬다. 시도 횟수는 소모하지 않는다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void defer(QuizGenerationJob job, String owner, Duration delay, Throwable reason, long tokensUsed) {
+        jobRepository.defer(job.getId(), owner, LocalDateTime.now().plus(delay), truncate(reason), tokensUsed);
+        log.info("[quiz-job] deferred gid={} step={} for {}s", job.getStudyGroupId(), job.getStep(), delay.toSeconds());
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuizGenerationJob> findBatch(String batchId) {
+        List<QuizGenerationJob> jobs = jobRepository.findByBatchIdOrderByIdAsc(batchId);
+        if (jobs.isEmpty())
+            throw new RestException(ErrorCode.QUIZ_GENERATION_JOB_NOT_FOUND);
+        return jobs;
+    }
+
+    /**
+     * 배치의 대기/실행 중 작업을 취소한다.
+     *
+     * @return 취소 시점에 실행 중이던 작업 id. 이 노드에서 돌고 있으면 워커가 바로 중단한다.
+     */
+    @Transactional
+    public List<Long> cancelBatch(String batchId) {
+        List<Long> running = findBatch(batchId).stream()
+                .filter(j -> j.getStatus() == QuizGenerationJobStatus.RUNNING)
+                .map(QuizGenerationJob::getId)
+                .toList();
+        int cancelled = jobRepository.cancelBatch(batchId, LocalDateTime.now());
+        log.info("[quiz-job] cancelled batch={} jobs={} running={}", batchId, cancelled, running.size());
+        return running;
+    }
+
+    public long countPending() {
+        return jobRepository.countByStatus(QuizGenerationJobStatus.PENDING);
+    }
+
+    // 1m → 2m → 4m ... 최대 30m
+    private Duration backoff(int attempts) {
+        int shift = Math.max(0, Math.min(attempts - 1, 5));
+        Duration delay = retryBaseDelay.multipliedBy(1L << shift);
+        Duration cap = Duration.ofMinutes(30);
+        return delay.compareTo(cap) > 0 ? cap : delay;
+    }
+
+    private String truncate(Throwable error) {
+        if (error == null) return null;
+        String msg = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return msg.length() > ERROR_MAX_LEN ? msg.substring(0, ERROR_MAX_LEN) : msg;
+    }
+}
@@ -0,0 +1,128 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.system.limiter.llm.LlmCallOutcome;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * 퀴즈 생성 파이프라인 계측. actuator 의 /actuator/metrics 로 본다.
+ * - quiz.generation.stage{stage}: 단계별 소요 시간. Observation 이라 트레이싱을 붙이면 같은 이름의 span 으로도 남는다.
+ * - quiz.generation.retries{scope,reason}: 다시 요청한 사유. scope=item 은 문항 단위 보충(개수만큼), job 은 작업 단위 재시도.
+ *   reason=near_duplicate 는 이전 스텝 문항과 겹쳐 교체를 요청한 문항 수다.
+ * LLM 호출/리미터 대기/permit 게이지는 LlmInvoker 가, 대기 중인 작업 수는 QuizGenerationJobWorker 가 남긴다.
+ */
+@Component
+public class QuizGenerationMetrics {
+
+    static final String STAGE = "quiz.generation.stage";
+    static final String RETRIES = "quiz.generation.retries";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public QuizGenerationMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T> T observe(Stage stage, Supplier<T> work) {
+        return stage(stage).observe(work);
+    }
+
+    public void observe(Stage stage, Runnable work) {
+        stage(stage).observe(work);
+    }
+
+    public void retried(RetryScope scope, RetryReason reason, int count) {
+        if (count <= 0) return;
+        meterRegistry.counter(RETRIES, "scope", scope.tag(), "reason", reason.tag()).increment(count);
+    }
+
+    private Observation stage(Stage stage) {
+        return Observation.createNotStarted(STAGE, observationRegistry)
+                .lowCardinalityKeyValue("stage", stage.tag());
+    }
+
+    public enum Stage {
+        /** 스텝 행 락(SELECT ... FOR UPDATE) 대기 */
+        LOCK_WAIT,
+        /** 노트 해시 계산 + 초안 캐시 조회 */
+        CACHE_LOOKUP,
+        /** 노트 스트리밍 읽기 + 문단 중복 제거 */
+        NOTE_LOADING,
+        /** 노트 축약 전체(읽기 + 조각별 요약) */
+        CONDENSE,
+        /** 이전 스텝 문항 지문 로딩(QuizStemIndex, 메모리에 있으면 배열 복사만) */
+        STEM_INDEX,
+        /** 문제/보기 생성 전체(LLM 호출, 보충 요청 포함) */
+        GENERATE,
+        VALIDATION,
+        SHUFFLE,
+        /** 저장 트랜잭션 전체(락 대기 포함) */
+        PERSIST;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum RetryScope {
+        ITEM, JOB;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum RetryReason {
+        COUNT_MISMATCH, LENGTH, ANSWER_MISMATCH, CHOICE_COUNT, ANSWER_INDEX, DUPLICATE_CHOICE, MISSING,
+        NEAR_DUPLICATE, MALFORMED, OVERLOADED, OTHER;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static RetryReason of(QuizPayloadValidator.OptionFailure failure) {
+            return switch (failure) {
+                case MISSING -> MISSING;
+                case CHOICE_COUNT -> CHOICE_COUNT;
+                case ANSWER_INDEX -> ANSWER_INDEX;
+                case DUPLICATE_CHOICE -> DUPLICATE_CHOICE;
+                case LENGTH -> LENGTH;
+                case ANSWER_MISMATCH -> ANSWER_MISMATCH;
+            };
+        }
+
+        /**
+         * 작업 실패 원인을 분류한다. 검증 실패는 QuizPayloadException 의 사유 코드로 나누고, 메시지 문구는 보지 않는다.
+         */
+        public static RetryReason of(Throwable error) {
+            if (LlmCallOutcome.of(error) == LlmCallOutcome.OVERLOADED)
+                return OVERLOADED;
+            for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+                if (t instanceof QuizPayloadException e)
+                    return of(e.getReason());
+            }
+            return OTHER;
+        }
+
+        public static RetryReason of(QuizPayloadException.Reason reason) {
+            return switch (reason) {
+                case COUNT_MISMATCH -> COUNT_MISMATCH;
+                case CHOICE_COUNT -> CHOICE_COUNT;
+                case ANSWER_INDEX -> ANSWER_INDEX;
+                case DUPLICATE_CHOICE -> DUPLICATE_CHOICE;
+                case LENGTH -> LENGTH;
+                case ANSWER_MISMATCH -> ANSWER_MISMATCH;
+                case MALFORMED -> MALFORMED;
+            };
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+/**
+ * 퀴즈 생성 LLM 호출 방식 (llm.quiz.generation-mode).
+ */
+public enum QuizGenerationMode {
+    /** 문제/정답 생성 → 보기 생성, 2회 순차 호출 */
+    TWO_PHASE,
+    /** 문제/정답/보기를 1회 호출로 생성 */
+    SINGLE_CALL,
+    /** TWO_PHASE 와 같은 2회 호출이지만, 문제를 스트리밍으로 받으며 완성된 문항부터 보기 생성을 겹쳐 실행 */
+    STREAMING
+}
@@ -0,0 +1,15 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
+
+/**
+ * 생성 파이프라인 단계 콜백. 예외를 던지면 그 자리에서 생성을 중단한다(작업 취소 등).
+ */
+@FunctionalInterface
+public interface QuizGenerationProgress {
+
+    QuizGenerationProgress NONE = stage -> {
+    };
+
+    void onStage(QuizGenerationStage stage);
+}
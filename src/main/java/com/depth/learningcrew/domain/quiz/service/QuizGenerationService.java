@@ -5,29 +5,24 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Supplier;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
 import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
-import com.depth.learningcrew.domain.ai.llm.service.OptionGenerator;
-import com.depth.learningcrew.domain.ai.llm.service.QuizGenerator;
-import com.depth.learningcrew.domain.note.entity.Note;
-import com.depth.learningcrew.domain.note.repository.NoteRepository;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
 import com.depth.learningcrew.domain.quiz.repository.QuizRepository;
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationMetrics.Stage;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
 import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
-import com.depth.learningcrew.system.limiter.llm.TpmRateLimiter;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.depth.learningcrew.domain.studygroup.repository.StudyStepQueryRepository;
+import com.depth.learningcrew.system.limiter.llm.LlmUnavailableException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,35 +33,44 @@ import lombok.extern.slf4j.Slf4j;
 public class QuizGenerationService {
 
     private final StudyGroupRepository studyGroupRepository;
-    private final NoteRepository noteRepository;
+    private final NoteCondenser noteCondenser;
+    private final QuizDraftCache draftCache;
     private final QuizRepository quizRepository;
-    private final QuizGenerator quizGenerator;
-    private final OptionGenerator optionGenerator;
-    private final ObjectMapper objectMapper;
-    private final TpmRateLimiter tpmRateLimiter;
+    private final QuizDraftGenerator draftGenerator;
+    private final QuizPayloadValidator validator;
     private final QuizPersistService persistService;
-    private final com.depth.learningcrew.domain.studygroup.repository.StudyStepQueryRepository studyStepQueryRepository;
+    private final StudyStepQueryRepository studyStepQueryRepository;
+    private final QuizGenerationJobService jobService;
+    private final QuizGenerationMetrics metrics;
+    private final QuizStemIndex stemIndex;
 
-    private final Map<GenKey, ReentrantLock> locks = new ConcurrentHashMap<>();
-    private final Semaphore inFlightLimiter = new Semaphore(4, true);
-
-    private static final int OPTION_MAX_LEN = 255;
-
-    public void generateForAllEndedStepsWithoutQuizzes() {
+    // 종료됐는데 퀴즈가 없는 스텝들을 작업 큐에 넣는다. 실제 생성은 QuizGenerationJobWorker 가 나눠 처리한다.
+    public int generateForAllEndedStepsWithoutQuizzes(String batchId) {
         LocalDate today = LocalDate.now();
         var steps = studyStepQueryRepository.findEndedStepsWithoutQuizzes(today);
+        int enqueued = 0;
         for (var step : steps) {
-            Long groupId = step.getId().getStudyGroupId().getId();
+            StudyGroup group = step.getId().getStudyGroupId();
             Integer stepNum = step.getId().getStep();
-            generateForGroupAndPrevStep(groupId, stepNum);
+            int priority = QuizGenerationJobService.priorityOf(step.getEndDate(), group.getMemberCount(), today);
+            // 실제 생성은 워커가 우선순위 순으로 가상 스레드에 나눠 실행한다(quiz.job.max-concurrent 로 상한).
+            // 이미 끝난(실패/취소 포함) 작업은 되살리지 않는다. 다시 돌리려면 단건 요청(force)을 쓴다.
+            if (jobService.enqueue(group.getId(), stepNum, false, batchId, priority)) {
+                enqueued++;
+            }
         }
+        return enqueued;
     }
 
+    /**
+     * 한 스텝의 퀴즈를 동기로 생성/저장한다. 중복 실행 방지는 작업 큐의 lease 와 저장 시 DB 락이 담당한다.
+     * 실패 시 예외를 그대로 던져 호출자(작업 워커)가 재시도 여부를 결정하게 한다.
+     */
     public void generateForGroupAndPrevStep(Long studyGroupId, Integer step) {
-        GenKey key = new GenKey(studyGroupId, step, LocalDate.now());
-        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
-        lock.lock();
+        generateForGroupAndPrevStep(studyGroupId, step, QuizGenerationProgress.NONE);
+    }
 
+    public void generateForGroupAndPrevStep(Long studyGroupId, Integer step, QuizGenerationProgress progress) {
         try {
             if (existsToday(studyGroupId, step)) {
                 log.info("[quiz-gen] skip: already generated today gid={} step={}", studyGroupId, step);
@@ -76,105 +80,97 @@ public class QuizGenerationService {
             StudyGroup group = studyGroupRepository.findById(studyGroupId)
                     .orElseThrow(() -> new IllegalArgumentException("StudyGroup not found: " + studyGroupId));
 
-            List<Note> notes = noteRepository.findByStudyGroup_IdAndStep(studyGroupId, step);
-            if (notes.isEmpty()) {
+            // 노트 원문 해시로 캐시 조회. 같은 노트로 이미 검증까지 마친 초안이 있으면 LLM 을 건너뛴다.
+            String cacheKey = metrics.observe(Stage.CACHE_LOOKUP,
+                    () -> draftCache.keyOf(group.getName(), step, studyGroupId));
+            if (cacheKey == null) {
                 log.info("[quiz-gen] skip: no notes gid={} step={}", studyGroupId, step);
                 return;
             }
 
-            String mergedNotes = mergeNotes(notes);
-
-            // LLM 호출 1: 퀴즈 생성
-            long quizTokensEst = estimateTokensForQuiz(mergedNotes);
-            tpmRateLimiter.acquire(quizTokensEst);
-
-            QuizzesPayload q = withPermitAndRetry(() -> quizGenerator.generate(group.getName(), step, mergedNotes));
-            validateQuizzes(q);
-
-            // LLM 호출 2: 보기 생성
-            String itemsJson = toItemsJson(q);
-
-            long optionTokensEst = estimateTokensForOptions(itemsJson);
-            tpmRateLimiter.acquire(optionTokensEst);
-
-            OptionsPayload opts = withPermitAndRetry(() -> {
-                OptionsPayload tmp = optionGenerator.generate(itemsJson);
-                validateOptions(q, tmp); // 구조 검증 + 정답 일치 + 길이 검증 수행.
-                strictAnswerConsistencyCheck(q, tmp);
-                validateOptionLengths(tmp); // 길이 위반 시 예외 → withPermitAndRetry가 재시도
-                return tmp;
-            });
+            // 스텝 진행 중에 미리 만든 초안(pregenerateDraft)도 여기서 걸린다.
+            QuizDraft draft = metrics.observe(Stage.CACHE_LOOKUP, () -> draftCache.get(cacheKey).orElse(null));
+            if (draft != null) {
+                log.info("[quiz-gen] draft cache hit gid={} step={}", studyGroupId, step);
+            } else {
+                draft = generateDraft(group, step, cacheKey, progress);
+                if (draft == null) {
+                    log.info("[quiz-gen] skip: no notes gid={} step={}", studyGroupId, step);
+                    return;
+                }
+            }
 
-            opts = shuffleAndReindex(q, opts); // 선지 순서를 서버에서 섞고 answerIndex를 다시 맞춘다
+            progress.onStage(QuizGenerationStage.VALIDATING);
+            QuizzesPayload q = draft.quizzes();
+            OptionsPayload drafted = draft.options();
+            // 캐시에서 꺼낸 초안도 같은 기준으로 다시 확인
+            metrics.observe(Stage.VALIDATION, () -> validator.validateAll(q, drafted));
+            // 선지 순서를 서버에서 섞고 answerIndex를 다시 맞춘다
+            OptionsPayload opts = metrics.observe(Stage.SHUFFLE, () -> shuffleAndReindex(q, drafted));
 
             // 저장 -> 트랜잭션 + DB 락 + 최종 중복 검사
-            persistService.persistAtomic(group.getId(), step, q, opts);
-
-            log.info("🟢[quiz-gen] success gid={} step={} estTokens(q+opt)={}", studyGroupId, step,
-                    (quizTokensEst + optionTokensEst));
-        } catch (Exception e) {
+            progress.onStage(QuizGenerationStage.PERSISTING);
+            metrics.observe(Stage.PERSIST, () -> persistService.persistAtomic(group.getId(), step, q, opts));
+            // 다음 스텝 생성 때 이번 문항과 겹치는 문항을 걸러 내도록 지문에 덧붙인다.
+            stemIndex.record(group.getId(), step, q.getQuizzes().stream().map(QuizzesPayload.Item::getStem).toList());
+
+            log.info("🟢[quiz-gen] success gid={} step={} mode={}", studyGroupId, step, draftGenerator.getMode());
+        } catch (CancellationException e) {
+            log.info("[quiz-gen] cancelled gid={} step={}", studyGroupId, step);
+            throw e;
+        } catch (LlmUnavailableException e) {
+            log.warn("[quiz-gen] llm unavailable gid={} step={} retryAfter={}", studyGroupId, step, e.getRetryAfter());
+            throw e;
+        } catch (RuntimeException e) {
             log.error("🔴[quiz-gen] failed gid={} step={} err={}", studyGroupId, step, e.getMessage(), e);
-        } finally {
-            lock.unlock();
-            if (!lock.hasQueuedThreads()) {
-                locks.remove(key, lock);
-            }
+            throw e;
         }
     }
 
-    // 레이트리밋 + 재시도 유틸
-    private <T> T withPermitAndRetry(Supplier<T> supplier) {
-        boolean acquired = false;
-        try {
-            inFlightLimiter.acquire();
-            acquired = true;
-            return retry(supplier, 3, 1_000L); // 3회, 1s→2s→4s 백오프
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(ie);
-        } finally {
-            if (acquired)
-                inFlightLimiter.release();
+    /**
+     * 아직 진행 중인 스텝의 초안만 만들어 캐시에 넣는다. 퀴즈는 저장하지 않는다.
+     * 스텝이 끝난 뒤 노트가 그대로면 정식 생성은 캐시에서 꺼내 검증/저장만 한다.
+     */
+    public void pregenerateDraft(Long studyGroupId, Integer step, QuizGenerationProgress progress) {
+        StudyGroup group = studyGroupRepository.findById(studyGroupId)
+                .orElseThrow(() -> new IllegalArgumentException("StudyGroup not found: " + studyGroupId));
+
+        String cacheKey = metrics.observe(Stage.CACHE_LOOKUP,
+                () -> draftCache.keyOf(group.getName(), step, studyGroupId));
+        if (cacheKey == null || metrics.observe(Stage.CACHE_LOOKUP, () -> draftCache.contains(cacheKey))) {
+            log.info("[quiz-pregen] skip: {} gid={} step={}", cacheKey == null ? "no notes" : "draft cached",
+                    studyGroupId, step);
+            return;
         }
-    }
-
-    private <T> T retry(Supplier<T> action, int maxAttempts, long initialDelayMs) {
-        long delay = initialDelayMs;
-        RuntimeException last = null;
-        for (int i = 1; i <= maxAttempts; i++) {
-            try {
-                return action.get();
-            } catch (RuntimeException ex) {
-                last = ex;
-                if (i < maxAttempts) {
-                    sleep(delay);
-                    delay = Math.min(delay * 2, 8000);
-                }
-            }
+        if (generateDraft(group, step, cacheKey, progress) != null) {
+            log.info("[quiz-pregen] drafted gid={} step={}", studyGroupId, step);
         }
-        throw last != null ? last : new RuntimeException("retry failed");
     }
 
-    private void sleep(long ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
+    // 노트 축약 → LLM 생성/검증 → 캐시. 노트가 없으면 null
+    private QuizDraft generateDraft(StudyGroup group, Integer step, String cacheKey, QuizGenerationProgress progress) {
+        Long studyGroupId = group.getId();
+        progress.onStage(QuizGenerationStage.CALLING_LLM);
+
+        // 노트 스트리밍 + 조각별 요약(map-reduce). 한 조각에 들어가면 원문 그대로 쓴다.
+        String mergedNotes = metrics.observe(Stage.CONDENSE,
+                () -> noteCondenser.condense(group.getName(), step, studyGroupId));
+        if (mergedNotes == null) {
+            return null;
         }
-    }
 
-    // 토큰 추정 (간단 보수치)
-    private long estimateTokensForQuiz(String mergedNotes) {
-        long input = mergedNotes != null ? mergedNotes.length() : 0;
-        long output = 20L * 150;
-        return Math.round((input + output) * 1.2);
-    }
+        // 같은 그룹의 다른 스텝 문항 지문. 겹치는 문항은 생성 중에 그 문항만 다시 요청한다.
+        QuizStemFilter stemFilter = metrics.observe(Stage.STEM_INDEX, () -> stemIndex.filterFor(studyGroupId, step));
 
-    private long estimateTokensForOptions(String itemsJson) {
-        long input = itemsJson != null ? itemsJson.length() : 0;
-        long output = 20L * 120;
-        return Math.round((input + output) * 1.2);
+        // LLM 호출 (llm.quiz.generation-mode 에 따라 1회 또는 2회) + 검증
+        QuizDraft draft = metrics.observe(Stage.GENERATE,
+                () -> draftGenerator.generate(group.getName(), step, mergedNotes, stemFilter));
+        try {
+            draftCache.put(cacheKey, studyGroupId, step, draft);
+        } catch (RuntimeException e) {
+            log.warn("[quiz-gen] draft cache put failed gid={} step={} err={}", studyGroupId, step, e.getMessage());
+        }
+        return draft;
     }
 
     // 유틸/검증/저장
@@ -184,105 +180,6 @@ public class QuizGenerationService {
         return quizRepository.existsByStudyGroup_IdAndStepAndCreatedAtBetween(groupId, step, s, e);
     }
 
-    // Group의 특정 Step에 속하는 모든 Note 통합
-    private String mergeNotes(List<Note> notes) {
-        StringBuilder sb = new StringBuilder(400_000);
-        for (Note n : notes) {
-            sb.append("## ");
-            if (n.getTitle() != null)
-                sb.append(n.getTitle());
-            sb.append("\n");
-            if (n.getContent() != null)
-                sb.append(n.getContent());
-            sb.append("\n\n");
-        }
-        return sb.toString();
-    }
-
-    private String toItemsJson(QuizzesPayload q) {
-        try {
-            List<Map<String, Object>> items = q.getQuizzes().stream()
-                    .map(it -> {
-                        Map<String, Object> m = new LinkedHashMap<>();
-                        m.put("id", it.getId());
-                        m.put("stem", it.getStem());
-                        m.put("answer", it.getAnswer());
-                        return m;
-                    })
-                    .toList();
-            Map<String, Object> wrapper = Map.of("items", items);
-            return objectMapper.writeValueAsString(wrapper);
-        } catch (Exception e) {
-            throw new RuntimeException("toItemsJson failed", e);
-        }
-    }
-
-    private void validateQuizzes(QuizzesPayload q) {
-        if (q == null || q.getQuizzes() == null || q.getQuizzes().size() != 20) {
-            throw new IllegalStateException("Questions must be exactly 20");
-        }
-        long distinct = q.getQuizzes().stream().map(QuizzesPayload.Item::getId).distinct().count();
-        if (distinct != 20)
-            throw new IllegalStateException("Question IDs must be unique");
-        boolean anyBlank = q.getQuizzes().stream()
-                .anyMatch(it -> isBlank(it.getId()) || isBlank(it.getStem()) || isBlank(it.getAnswer()));
-        if (anyBlank)
-            throw new IllegalStateException("id/stem/answer must be non-empty");
-    }
-
-    private void validateOptions(QuizzesPayload q, OptionsPayload opts) {
-        if (opts == null || opts.getOptions() == null || opts.getOptions().size() != 20) {
-            throw new IllegalStateException("Options must be exactly 20");
-        }
-        Map<String, QuizzesPayload.Item> qMap = q.getQuizzes().stream()
-                .collect(Collectors.toMap(QuizzesPayload.Item::getId, it -> it));
-        for (OptionsPayload.Opt o : opts.getOptions()) {
-            if (!qMap.containsKey(o.getId()))
-                throw new IllegalStateException("Option id not found: " + o.getId());
-            if (o.getChoices() == null || o.getChoices().size() != 4)
-                throw new IllegalStateException("Choices must be 4");
-            if (o.getAnswerIndex() == null || o.getAnswerIndex() < 0 || o.getAnswerIndex() > 3) {
-                throw new IllegalStateException("answerIndex must be 0..3");
-            }
-            long dc = o.getChoices().stream().distinct().count();
-            if (dc != 4)
-                throw new IllegalStateException("Choices must be all distinct for id=" + o.getId());
-        }
-    }
-
-    private void validateOptionLengths(OptionsPayload opts) {
-        for (OptionsPayload.Opt o : opts.getOptions()) {
-            for (String c : o.getChoices()) {
-                if (c != null && c.length() > OPTION_MAX_LEN) {
-                    throw new IllegalStateException("Choice exceeds 255 chars");
-                }
-            }
-        }
-    }
-
-    private void strictAnswerConsistencyCheck(QuizzesPayload q, OptionsPayload opts) {
-        Map<String, String> answerById = q.getQuizzes().stream()
-                .collect(Collectors.toMap(QuizzesPayload.Item::getId, QuizzesPayload.Item::getAnswer));
-        for (OptionsPayload.Opt o : opts.getOptions()) {
-            String ans = normalize(answerById.get(o.getId()));
-            String chosen = normalize(o.getChoices().get(o.getAnswerIndex()));
-            if (!ans.equals(chosen)) {
-                throw new IllegalStateException("answer/choices mismatch id=" + o.getId());
-            }
-        }
-    }
-
-    private String normalize(String s) {
-        return s == null ? "" : s.trim().replaceAll("\\s+", " ");
-    }
-
-    private boolean isBlank(String s) {
-        return s == null || s.trim().isEmpty();
-    }
-
-    private record GenKey(Long groupId, Integer step, LocalDate date) {
-    }
-
     private OptionsPayload shuffleAndReindex(QuizzesPayload q, OptionsPayload opts) {
         Map<String, String> ansById = q.getQuizzes().stream()
                 .collect(Collectors.toMap(QuizzesPayload.Item::getId, QuizzesPayload.Item::getAnswer));
@@ -296,20 +193,21 @@ public class QuizGenerationService {
 
         List<OptionsPayload.Opt> shuffled = new ArrayList<>();
         for (OptionsPayload.Opt o : opts.getOptions()) {
-            String canonical = normalize(ansById.get(o.getId()));
+            String canonical = validator.normalize(ansById.get(o.getId()));
 
             List<String> src = new ArrayList<>(o.getChoices());
             Collections.shuffle(src, rnd);
 
             int newIdx = -1;
             for (int i = 0; i < src.size(); i++) {
-                if (normalize(src.get(i)).equals(canonical)) {
+                if (validator.normalize(src.get(i)).equals(canonical)) {
                     newIdx = i;
                     break;
                 }
             }
             if (newIdx < 0)
-                throw new IllegalStateException("Correct choice not found after shuffle id=" + o.getId());
+                throw new QuizPayloadException(QuizPayloadException.Reason.ANSWER_MISMATCH,
+                        "Correct choice not found after shuffle id=" + o.getId());
 
             OptionsPayload.Opt neo = new OptionsPayload.Opt();
             neo.setId(o.getId());
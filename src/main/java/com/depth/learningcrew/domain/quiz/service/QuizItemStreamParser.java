@@ -0,0 +1,92 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.function.Consumer;
+
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {"quizzes":[{...},{...}]} 응답을 조각 단위로 받으면서, 문항 객체가 닫힐 때마다 Item 으로 꺼낸다.
+ * - 문자열 안의 괄호와 이스케이프는 구조로 보지 않는다.
+ * - 첫 '{' / '[' 전의 잡음(마크다운 펜스 등)은 무시한다. 루트가 배열이면 배열 원소를 문항으로 본다.
+ * - 파싱에 실패한 문항은 건너뛴다. 전체 응답은 스트림이 끝난 뒤 따로 검증한다.
+ */
+@Slf4j
+final class QuizItemStreamParser {
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<QuizzesPayload.Item> onItem;
+
+    private final StringBuilder current = new StringBuilder();
+    private int depth;
+    private int itemDepth = -1;
+    private boolean capturing;
+    private boolean inString;
+    private boolean escaped;
+
+    QuizItemStreamParser(ObjectMapper objectMapper, Consumer<QuizzesPayload.Item> onItem) {
+        this.objectMapper = objectMapper;
+        this.onItem = onItem;
+    }
+
+    void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    private void accept(char c) {
+        if (capturing) {
+            current.append(c);
+        }
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                if (depth > 0) inString = true;
+            }
+            case '{', '[' -> {
+                if (depth == 0) {
+                    itemDepth = c == '[' ? 2 : 3; // [ {item} ] 또는 { "quizzes": [ {item} ] }
+                }
+                depth++;
+                if (c == '{' && depth == itemDepth && !capturing) {
+                    capturing = true;
+                    current.setLength(0);
+                    current.append(c);
+                }
+            }
+            case '}', ']' -> {
+                if (c == '}' && capturing && depth == itemDepth) {
+                    capturing = false;
+                    emit(current.toString());
+                }
+                depth = Math.max(0, depth - 1);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void emit(String json) {
+        QuizzesPayload.Item item;
+        try {
+            item = objectMapper.readValue(json, QuizzesPayload.Item.class);
+        } catch (Exception e) {
+            log.debug("[quiz-gen] skip unparsable streamed item: {}", e.getMessage());
+            return;
+        }
+        onItem.accept(item);
+    }
+}
@@ -0,0 +1,202 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.depth.learningcrew.domain.quiz.repository.QuizStepScoreRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * 스터디 그룹 퀴즈 순위표. (그룹 전체, 그룹 × 스텝) 별로 RankTree 를 메모리에 두고 제출할 때마다 한 사람씩 고쳐 넣는다.
+ * - 캐시에 없는 순위표는 QUIZ_STEP_SCORE 에서 다시 만든다(서버 재시작 직후 포함). 자주 보는 그룹만 max-boards 개까지 남는다.
+ * - 제출은 커밋된 뒤에, 이미 올라와 있는 순위표에만 반영한다. 같은 (사용자, 스텝) 은 한 번만 더하므로 적재와 겹쳐도 두 번 세지 않는다.
+ * - 제출 반영은 이 노드에서만 일어난다. 다른 노드로 들어온 제출은 순위표를 적재한 지 cache-ttl 이 지나 다시 읽을 때 보인다.
+ *   이 노드의 제출 반영은 만료 시각을 늦추지 않으므로, 순위표는 길어야 cache-ttl 만큼 늦다.
+ */
+@Component
+public class QuizLeaderboard {
+
+    private final QuizStepScoreRepository quizStepScoreRepository;
+    private final Cache<BoardKey, Board> boards;
+
+    @Autowired
+    public QuizLeaderboard(
+            QuizStepScoreRepository quizStepScoreRepository,
+            @Value("${quiz.leaderboard.max-boards:1000}") long maxBoards,
+            @Value("${quiz.leaderboard.cache-ttl-seconds:60}") long cacheTtlSeconds) {
+        this(quizStepScoreRepository, maxBoards, Duration.ofSeconds(cacheTtlSeconds), Ticker.systemTicker());
+    }
+
+    QuizLeaderboard(QuizStepScoreRepository quizStepScoreRepository, long maxBoards, Duration cacheTtl,
+                    Ticker ticker) {
+        this.quizStepScoreRepository = quizStepScoreRepository;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .expireAfter(expireAfterLoad(cacheTtl))
+                .ticker(ticker)
+                .build();
+    }
+
+    // expireAfterWrite 는 computeIfPresent 로 고쳐 넣을 때마다 만료를 미뤄, 자주 제출되는 순위표가 다른 노드 제출을 계속 놓친다.
+    private static Expiry<BoardKey, Board> expireAfterLoad(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(BoardKey key, Board board, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(BoardKey key, Board board, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(BoardKey key, Board board, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * @param step null 이면 그룹 전체(스텝 점수 합)
+     * @param userId 내 순위를 같이 돌려줄 사용자
+     */
+    public Page page(Long studyGroupId, Integer step, int offset, int limit, Long userId) {
+        return boards.get(new BoardKey(studyGroupId, step), this::load).page(offset, limit, userId);
+    }
+
+    /**
+     * 스텝 제출 결과를 순위표에 반영한다. 트랜잭션 안이면 커밋된 뒤에 반영한다.
+     */
+    public void recordAfterCommit(Long studyGroupId, Long userId, Integer step, int correctCount, int totalCount,
+                                  LocalDateTime submittedAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(studyGroupId, userId, step, correctCount, totalCount, submittedAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(studyGroupId, userId, step, correctCount, totalCount, submittedAt);
+            }
+        });
+    }
+
+    /**
+     * 점수 테이블을 직접 채운 뒤(백필) 올라와 있는 순위표를 모두 버린다. 트랜잭션 안이면 커밋된 뒤에 버린다.
+     */
+    public void invalidateAllAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            boards.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                boards.invalidateAll();
+            }
+        });
+    }
+
+    // computeIfPresent 는 같은 키의 적재가 끝날 때까지 기다린다.
+    private void record(Long studyGroupId, Long userId, Integer step, int correctCount, int totalCount,
+                        LocalDateTime submittedAt) {
+        for (BoardKey key : List.of(new BoardKey(studyGroupId, step), new BoardKey(studyGroupId, null))) {
+            boards.asMap().computeIfPresent(key, (k, board) -> {
+                board.add(userId, step, correctCount, totalCount, submittedAt);
+                return board;
+            });
+        }
+    }
+
+    private Board load(BoardKey key) {
+        List<QuizStepScoreRepository.StepStanding> rows = key.step() == null
+                ? quizStepScoreRepository.findStandingsByStudyGroupId(key.studyGroupId())
+                : quizStepScoreRepository.findStandingsByStudyGroupIdAndStep(key.studyGroupId(), key.step());
+        Board board = new Board();
+        for (QuizStepScoreRepository.StepStanding row : rows) {
+            board.add(row.getUserId(), row.getStep(), row.getCorrectCount(), row.getTotalCount(), row.getSubmittedAt());
+        }
+        return board;
+    }
+
+    /**
+     * 맞힌 문항 수가 많은 순, 같으면 먼저 제출을 마친 순, 그래도 같으면 사용자 ID 순.
+     */
+    public record Standing(Long userId, int correctCount, int totalCount, LocalDateTime lastSubmittedAt) {
+
+        static final Comparator<Standing> ORDER = Comparator
+                .comparingInt(Standing::correctCount).reversed()
+                .thenComparing(Standing::lastSubmittedAt)
+                .thenComparing(Standing::userId);
+
+        Standing plus(int correct, int total, LocalDateTime submittedAt) {
+            return new Standing(userId, correctCount + correct, totalCount + total,
+                    submittedAt.isAfter(lastSubmittedAt) ? submittedAt : lastSubmittedAt);
+        }
+    }
+
+    /**
+     * @param rank 1 부터. 동점이어도 순서대로 다른 순위를 준다.
+     */
+    public record Ranked(int rank, Standing standing) {
+    }
+
+    /**
+     * @param me 아직 제출하지 않았으면 null
+     */
+    public record Page(int participants, List<Ranked> entries, Ranked me) {
+    }
+
+    private record BoardKey(Long studyGroupId, Integer step) {
+    }
+
+    private static final class Board {
+        private final RankTree<Standing> tree = new RankTree<>(Standing.ORDER);
+        private final Map<Long, Standing> byUser = new HashMap<>();
+        private final Map<Long, Set<Integer>> stepsByUser = new HashMap<>();
+
+        synchronized void add(Long userId, Integer step, int correct, int total, LocalDateTime submittedAt) {
+            if (!stepsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(step)) {
+                return;
+            }
+            Standing prev = byUser.get(userId);
+            Standing next = prev == null
+                    ? new Standing(userId, correct, total, submittedAt)
+                    : prev.plus(correct, total, submittedAt);
+            if (prev != null) {
+                tree.remove(prev);
+            }
+            tree.add(next);
+            byUser.put(userId, next);
+        }
+
+        synchronized Page page(int offset, int limit, Long userId) {
+            List<Standing> standings = tree.range(offset, limit);
+            List<Ranked> entries = new ArrayList<>(standings.size());
+            for (int i = 0; i < standings.size(); i++) {
+                entries.add(new Ranked(offset + i + 1, standings.get(i)));
+            }
+            Standing mine = userId == null ? null : byUser.get(userId);
+            Ranked me = mine == null ? null : new Ranked(tree.rank(mine) + 1, mine);
+            return new Page(tree.size(), entries, me);
+        }
+    }
+}
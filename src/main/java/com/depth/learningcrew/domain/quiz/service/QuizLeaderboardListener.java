@@ -0,0 +1,29 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizStepScore;
+
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스텝 점수가 저장되면 올라와 있는 순위표에 커밋 후 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuizLeaderboardListener {
+
+    private final QuizLeaderboard quizLeaderboard;
+
+    @PostPersist
+    public void onPersist(QuizStepScore score) {
+        quizLeaderboard.recordAfterCommit(
+                score.getStudyGroup().getId(),
+                score.getUser().getId(),
+                score.getStep(),
+                score.getCorrectCount(),
+                score.getTotalCount(),
+                score.getSubmittedAt());
+    }
+}
@@ -0,0 +1,76 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizLeaderboardDto;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.repository.MemberQueryRepository;
+import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.domain.user.repository.UserRepository;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class QuizLeaderboardService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final StudyGroupRepository studyGroupRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final UserRepository userRepository;
+    private final QuizLeaderboard quizLeaderboard;
+
+    /**
+     * @param step null 이면 그룹 전체 순위
+     */
+    @Transactional(readOnly = true)
+    public QuizLeaderboardDto.LeaderboardResponse getLeaderboard(
+            Long studyGroupId,
+            Integer step,
+            int page,
+            int size,
+            UserDetails user) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (long) page * size > Integer.MAX_VALUE) {
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        }
+
+        StudyGroup studyGroup = studyGroupRepository.findById(studyGroupId)
+                .orElseThrow(() -> new RestException(ErrorCode.STUDY_GROUP_NOT_FOUND));
+
+        if (!memberQueryRepository.isMember(studyGroup, user.getUser())) {
+            throw new RestException(ErrorCode.STUDY_GROUP_NOT_MEMBER);
+        }
+
+        QuizLeaderboard.Page board = quizLeaderboard.page(
+                studyGroup.getId(), step, page * size, size, user.getUser().getId());
+
+        // 닉네임은 이번 페이지에 나온 사람 것만 읽는다.
+        List<Long> userIds = new ArrayList<>(board.entries().stream()
+                .map(ranked -> ranked.standing().userId())
+                .toList());
+        if (board.me() != null) {
+            userIds.add(board.me().standing().userId());
+        }
+        Map<Long, String> nicknames = userRepository.findAllByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getNickname));
+
+        return QuizLeaderboardDto.LeaderboardResponse.builder()
+                .step(step)
+                .participants(board.participants())
+                .me(board.me() == null ? null
+                        : QuizLeaderboardDto.Entry.from(board.me(), nicknames.get(board.me().standing().userId())))
+                .entries(board.entries().stream()
+                        .map(ranked -> QuizLeaderboardDto.Entry.from(ranked, nicknames.get(ranked.standing().userId())))
+                        .toList())
+                .build();
+    }
+}
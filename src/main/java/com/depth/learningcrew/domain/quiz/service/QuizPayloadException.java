@@ -0,0 +1,35 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import lombok.Getter;
+
+/**
+ * LLM 응답이 퀴즈 규칙을 어겨 쓸 수 없을 때 던진다.
+ * 작업 워커는 일반 실패처럼 재시도하고, reason 으로 재시도 사유를 센다(QuizGenerationMetrics.RetryReason).
+ */
+@Getter
+public class QuizPayloadException extends IllegalStateException {
+
+    private final Reason reason;
+
+    public QuizPayloadException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public enum Reason {
+        /** 문항/보기 수가 QUIZ_COUNT 와 다름 */
+        COUNT_MISMATCH,
+        /** 보기가 CHOICE_COUNT 개가 아님 */
+        CHOICE_COUNT,
+        /** answerIndex 가 범위를 벗어남 */
+        ANSWER_INDEX,
+        /** 한 문항 안에 같은 보기가 있음 */
+        DUPLICATE_CHOICE,
+        /** 보기가 OPTION_MAX_LEN 을 넘음 */
+        LENGTH,
+        /** 정답 문구가 보기에 없음 */
+        ANSWER_MISMATCH,
+        /** 쓸 수 있는 항목이 없거나 id 가 비었거나 겹침 */
+        MALFORMED
+    }
+}
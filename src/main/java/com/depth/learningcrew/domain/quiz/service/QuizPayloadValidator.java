@@ -0,0 +1,140 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.quiz.service.QuizPayloadException.Reason;
+
+/**
+ * LLM 이 돌려준 문제/보기 payload 검증. 생성 모드와 상관없이 같은 규칙을 적용한다.
+ */
+@Component
+public class QuizPayloadValidator {
+
+    public static final int QUIZ_COUNT = 20;
+    public static final int CHOICE_COUNT = 4;
+    public static final int OPTION_MAX_LEN = 255;
+
+    public void validateQuizzes(QuizzesPayload q) {
+        if (q == null || q.getQuizzes() == null || q.getQuizzes().size() != QUIZ_COUNT) {
+            throw new QuizPayloadException(Reason.COUNT_MISMATCH, "Questions must be exactly 20");
+        }
+        long distinct = q.getQuizzes().stream().map(QuizzesPayload.Item::getId).distinct().count();
+        if (distinct != QUIZ_COUNT)
+            throw new QuizPayloadException(Reason.MALFORMED, "Question IDs must be unique");
+        boolean anyBlank = q.getQuizzes().stream()
+                .anyMatch(it -> isBlank(it.getId()) || isBlank(it.getStem()) || isBlank(it.getAnswer()));
+        if (anyBlank)
+            throw new QuizPayloadException(Reason.MALFORMED, "id/stem/answer must be non-empty");
+    }
+
+    public void validateOptions(QuizzesPayload q, OptionsPayload opts) {
+        if (opts == null || opts.getOptions() == null || opts.getOptions().size() != QUIZ_COUNT) {
+            throw new QuizPayloadException(Reason.COUNT_MISMATCH, "Options must be exactly 20");
+        }
+        Map<String, QuizzesPayload.Item> qMap = q.getQuizzes().stream()
+                .collect(Collectors.toMap(QuizzesPayload.Item::getId, it -> it));
+        for (OptionsPayload.Opt o : opts.getOptions()) {
+            if (!qMap.containsKey(o.getId()))
+                throw new QuizPayloadException(Reason.MALFORMED, "Option id not found: " + o.getId());
+            if (o.getChoices() == null || o.getChoices().size() != CHOICE_COUNT)
+                throw new QuizPayloadException(Reason.CHOICE_COUNT, "Choices must be 4");
+            if (o.getAnswerIndex() == null || o.getAnswerIndex() < 0 || o.getAnswerIndex() > 3) {
+                throw new QuizPayloadException(Reason.ANSWER_INDEX, "answerIndex must be 0..3");
+            }
+            long dc = o.getChoices().stream().distinct().count();
+            if (dc != CHOICE_COUNT)
+                throw new QuizPayloadException(Reason.DUPLICATE_CHOICE, "Choices must be all distinct for id=" + o.getId());
+        }
+    }
+
+    public void validateOptionLengths(OptionsPayload opts) {
+        for (OptionsPayload.Opt o : opts.getOptions()) {
+            for (String c : o.getChoices()) {
+                if (c != null && c.length() > OPTION_MAX_LEN) {
+                    throw new QuizPayloadException(Reason.LENGTH, "Choice exceeds 255 chars");
+                }
+            }
+        }
+    }
+
+    public void strictAnswerConsistencyCheck(QuizzesPayload q, OptionsPayload opts) {
+        Map<String, String> answerById = q.getQuizzes().stream()
+                .collect(Collectors.toMap(QuizzesPayload.Item::getId, QuizzesPayload.Item::getAnswer));
+        for (OptionsPayload.Opt o : opts.getOptions()) {
+            String ans = normalize(answerById.get(o.getId()));
+            String chosen = normalize(o.getChoices().get(o.getAnswerIndex()));
+            if (!ans.equals(chosen)) {
+                throw new QuizPayloadException(Reason.ANSWER_MISMATCH, "answer/choices mismatch id=" + o.getId());
+            }
+        }
+    }
+
+    /**
+     * 문항별 보기 검증. 전체를 버리지 않고 실패한 문항만 다시 요청할 수 있도록 id → 실패 사유를 돌려준다.
+     * 응답에 해당 id 의 보기가 없으면 MISSING, q 에 없는 id 로 온 보기는 무시한다.
+     */
+    public Map<String, OptionFailure> findOptionFailures(QuizzesPayload q, OptionsPayload opts) {
+        Map<String, OptionsPayload.Opt> byId = new HashMap<>();
+        if (opts != null && opts.getOptions() != null) {
+            for (OptionsPayload.Opt o : opts.getOptions()) {
+                if (o != null && o.getId() != null) {
+                    byId.putIfAbsent(o.getId(), o);
+                }
+            }
+        }
+
+        Map<String, OptionFailure> failures = new LinkedHashMap<>();
+        for (QuizzesPayload.Item item : q.getQuizzes()) {
+            OptionFailure failure = checkOption(item, byId.get(item.getId()));
+            if (failure != null) {
+                failures.put(item.getId(), failure);
+            }
+        }
+        return failures;
+    }
+
+    private OptionFailure checkOption(QuizzesPayload.Item item, OptionsPayload.Opt o) {
+        if (o == null)
+            return OptionFailure.MISSING;
+        if (o.getChoices() == null || o.getChoices().size() != CHOICE_COUNT || o.getChoices().stream().anyMatch(Objects::isNull))
+            return OptionFailure.CHOICE_COUNT;
+        if (o.getAnswerIndex() == null || o.getAnswerIndex() < 0 || o.getAnswerIndex() > 3)
+            return OptionFailure.ANSWER_INDEX;
+        if (o.getChoices().stream().distinct().count() != CHOICE_COUNT)
+            return OptionFailure.DUPLICATE_CHOICE;
+        if (o.getChoices().stream().anyMatch(c -> c.length() > OPTION_MAX_LEN))
+            return OptionFailure.LENGTH;
+        if (!normalize(item.getAnswer()).equals(normalize(o.getChoices().get(o.getAnswerIndex()))))
+            return OptionFailure.ANSWER_MISMATCH;
+        return null;
+    }
+
+    /**
+     * 보기 단계 전체 검증(구조 + 정답 일치 + 길이).
+     */
+    public void validateAll(QuizzesPayload q, OptionsPayload opts) {
+        validateOptions(q, opts);
+        strictAnswerConsistencyCheck(q, opts);
+        validateOptionLengths(opts);
+    }
+
+    public String normalize(String s) {
+        return s == null ? "" : s.trim().replaceAll("\\s+", " ");
+    }
+
+    private boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
+    }
+
+    public enum OptionFailure {
+        MISSING, CHOICE_COUNT, ANSWER_INDEX, DUPLICATE_CHOICE, LENGTH, ANSWER_MISMATCH
+    }
+}
@@ -2,24 +2,24 @@ package com.depth.learningcrew.domain.quiz.service;
 
 import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
 import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
-import com.depth.learningcrew.domain.quiz.entity.Quiz;
-import com.depth.learningcrew.domain.quiz.entity.QuizOption;
-import com.depth.learningcrew.domain.quiz.entity.QuizOptionId;
-import com.depth.learningcrew.domain.quiz.repository.QuizOptionRepository;
 import com.depth.learningcrew.domain.quiz.repository.QuizRepository;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
-import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
 import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
 import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
 import com.depth.learningcrew.domain.studygroup.repository.StudyStepRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -31,8 +31,10 @@ public class QuizPersistService {
 
     private final StudyStepRepository studyStepRepository;
     private final QuizRepository quizRepository;
-    private final QuizOptionRepository quizOptionRepository;
     private final StudyGroupRepository studyGroupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizGenerationMetrics metrics;
+    private final StepQuizCache stepQuizCache;
 
     // Transaction Self Invocation 방지
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -43,7 +45,7 @@ public class QuizPersistService {
                 .orElseThrow(() -> new IllegalArgumentException("StudyGroup not found: " + groupId));
 
         StudyStepId stepId = StudyStepId.of(step, groupRef);
-        StudyStep stepRef = studyStepRepository.findByIdForUpdate(stepId)
+        metrics.observe(QuizGenerationMetrics.Stage.LOCK_WAIT, () -> studyStepRepository.findByIdForUpdate(stepId))
                 .orElseThrow(() -> new IllegalStateException("StudyStep not found: gid=" + groupId + ", step=" + step));
 
         LocalDateTime s = LocalDate.now().atStartOfDay();
@@ -56,26 +58,49 @@ public class QuizPersistService {
         Map<String, OptionsPayload.Opt> optMap = opts.getOptions().stream()
                 .collect(Collectors.toMap(OptionsPayload.Opt::getId, it -> it));
 
-        for (QuizzesPayload.Item item : q.getQuizzes()) {
-            Quiz quiz = Quiz.builder()
-                    .quiz(item.getStem())
-                    .step(step)
-                    .studyGroup(groupRef)
-                    .studyStep(stepRef)
-                    .build();
-            quiz = quizRepository.save(quiz);
+        // 스텝 행 락을 잡은 채로 저장하므로 왕복 횟수를 줄인다: 문제 INSERT 1회 + id 조회 1회 + 보기 INSERT 1회.
+        // JDBC 로 직접 넣으므로 감사(auditing) 시각도 여기서 채운다. 초 단위로 잘라 DB 컬럼 정밀도와 무관하게 다시 찾을 수 있게 한다.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Timestamp ts = Timestamp.valueOf(now);
+        List<QuizzesPayload.Item> items = q.getQuizzes();
 
-            OptionsPayload.Opt o = optMap.get(item.getId());
-            List<String> cs = o.getChoices();
+        List<Object> quizArgs = new ArrayList<>(items.size() * 5);
+        for (QuizzesPayload.Item item : items) {
+            quizArgs.addAll(List.of(item.getStem(), step, groupId, ts, ts));
+        }
+        jdbcTemplate.update(
+                "insert into quiz (quiz, step, study_group_id, created_at, last_modified_at) values "
+                        + placeholders(items.size(), 5),
+                quizArgs.toArray());
 
+        // 같은 INSERT 로 들어간 행의 IDENTITY 값은 입력 순서대로 증가한다.
+        List<Long> quizIds = jdbcTemplate.queryForList(
+                "select id from quiz where study_group_id = ? and step = ? and created_at = ? order by id",
+                Long.class, groupId, step, ts);
+        if (quizIds.size() != items.size())
+            throw new IllegalStateException("Inserted quiz count mismatch gid=" + groupId + ", step=" + step
+                    + ", expected=" + items.size() + ", actual=" + quizIds.size());
+
+        List<Object> optionArgs = new ArrayList<>(items.size() * 4 * 4);
+        for (int n = 0; n < items.size(); n++) {
+            OptionsPayload.Opt o = optMap.get(items.get(n).getId());
+            List<String> cs = o.getChoices();
             for (int i = 0; i < 4; i++) {
-                QuizOption option = QuizOption.builder()
-                        .id(QuizOptionId.of(quiz, i + 1))
-                        .content(cs.get(i))
-                        .isAnswer(i == o.getAnswerIndex())
-                        .build();
-                quizOptionRepository.save(option);
+                optionArgs.addAll(List.of(quizIds.get(n), i + 1, cs.get(i), i == o.getAnswerIndex()));
             }
         }
+        jdbcTemplate.update(
+                "insert into quiz_option (quiz_id, option_num, content, is_answer) values "
+                        + placeholders(items.size() * 4, 4),
+                optionArgs.toArray());
+
+        // JDBC 로 넣어 엔티티 콜백이 없으므로 스텝 퀴즈 묶음 캐시를 직접 비운다.
+        stepQuizCache.evictAfterCommit(groupId, step);
+    }
+
+    // (?, ?, ...), (?, ?, ...) 형태의 다중 행 VALUES 절. 드라이버의 배치 재작성 옵션에 기대지 않고 한 문장으로 보낸다.
+    static String placeholders(int rows, int columns) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
     }
 }
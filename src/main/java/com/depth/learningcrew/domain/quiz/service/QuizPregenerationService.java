@@ -0,0 +1,92 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.depth.learningcrew.domain.studygroup.repository.StudyStepQueryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스텝이 끝나기 전, 한가한 시간대에 초안을 미리 만들어 자정 직후 몰리는 LLM 호출을 하루에 나눈다.
+ * - 종료일이 lookahead-days 안이고 노트 작성이 idle-minutes 동안 잠잠한 스텝을 사전 생성(draftOnly) 작업으로 넣는다.
+ * - 워커는 quiet-hours 안에서만 사전 생성 작업을 가져간다. 결과는 노트 해시로 QuizDraftCache 에 들어간다.
+ * - 스텝이 끝나면 QuizScheduler 의 정식 작업이 같은 행을 이어받고, 노트가 그대로면 캐시 적중으로 검증/저장만 한다.
+ *   노트가 바뀌었으면 다음 스캔 때 다시 만들고, 끝내 못 맞추면 정식 작업이 기존처럼 LLM 을 부른다.
+ * 삭제된 노트는 수정 시각으로 잡히지 않아 다시 만들지 않는다. 이때도 정식 작업이 캐시 미스로 새로 생성한다.
+ */
+@Slf4j
+@Service
+public class QuizPregenerationService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final StudyStepQueryRepository studyStepQueryRepository;
+    private final QuizGenerationJobService jobService;
+    private final boolean enabled;
+    private final int quietStartHour;
+    private final int quietEndHour;
+    private final long idleMinutes;
+    private final int lookaheadDays;
+    private final int maxPerScan;
+
+    public QuizPregenerationService(
+            StudyStepQueryRepository studyStepQueryRepository,
+            QuizGenerationJobService jobService,
+            @Value("${quiz.pregen.enabled:false}") boolean enabled,
+            @Value("${quiz.pregen.quiet-hours-start:2}") int quietStartHour,
+            @Value("${quiz.pregen.quiet-hours-end:8}") int quietEndHour,
+            @Value("${quiz.pregen.idle-minutes:120}") long idleMinutes,
+            @Value("${quiz.pregen.lookahead-days:2}") int lookaheadDays,
+            @Value("${quiz.pregen.max-per-scan:200}") int maxPerScan) {
+        this.studyStepQueryRepository = studyStepQueryRepository;
+        this.jobService = jobService;
+        this.enabled = enabled;
+        this.quietStartHour = quietStartHour;
+        this.quietEndHour = quietEndHour;
+        this.idleMinutes = idleMinutes;
+        this.lookaheadDays = lookaheadDays;
+        this.maxPerScan = maxPerScan;
+    }
+
+    /**
+     * 지금 사전 생성 작업을 실행해도 되는지. [start, end) 시(Asia/Seoul), start > end 면 자정을 넘는 구간이다.
+     */
+    public boolean isQuietHour() {
+        return enabled && isQuietHour(LocalTime.now(ZONE).getHour());
+    }
+
+    boolean isQuietHour(int hour) {
+        if (quietStartHour == quietEndHour) return false;
+        return quietStartHour < quietEndHour
+                ? hour >= quietStartHour && hour < quietEndHour
+                : hour >= quietStartHour || hour < quietEndHour;
+    }
+
+    /**
+     * 초안을 미리 만들 스텝을 찾아 사전 생성 작업으로 넣는다. 한가한 시간대가 아니면 아무것도 하지 않는다.
+     *
+     * @return 새로 넣은 작업 수
+     */
+    public int enqueueIdleSteps(String batchId) {
+        if (!isQuietHour()) return 0;
+
+        LocalDate today = LocalDate.now();
+        var steps = studyStepQueryRepository.findIdleStepsToPregenerate(
+                today, today.plusDays(lookaheadDays - 1L), LocalDateTime.now().minusMinutes(idleMinutes), maxPerScan);
+
+        int enqueued = 0;
+        for (var step : steps) {
+            if (jobService.enqueueDraft(step.getId().getStudyGroupId().getId(), step.getId().getStep(), batchId)) {
+                enqueued++;
+            }
+        }
+        log.info("[quiz-pregen] enqueued {} of {} idle steps batch={}", enqueued, steps.size(), batchId);
+        return enqueued;
+    }
+}
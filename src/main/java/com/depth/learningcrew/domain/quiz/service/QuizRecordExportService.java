@@ -0,0 +1,186 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 스터디 그룹 멤버 전원의 스텝별 퀴즈 결과(QUIZ_STEP_SCORE)를 CSV / NDJSON 으로 내보낸다.
+ * - 권한 검사는 요청 스레드에서 끝내고, 본문은 StreamingResponseBody 에서 전진 전용 커서로 한 행씩 읽어 바로 쓴다.
+ * - 드라이버가 fetch-size 만큼씩 가져오므로 그룹 기록이 아무리 많아도 메모리는 일정하다.
+ */
+@Service
+public class QuizRecordExportService {
+
+    private static final String EXPORT_SQL =
+            "select s.user_id, u.nickname, s.step, s.total_count, s.correct_count, s.submitted_at "
+                    + "from quiz_step_score s join user_account u on u.id = s.user_id "
+                    + "where s.study_group_id = ? "
+                    + "order by s.step, s.id";
+
+    private static final String CSV_HEADER = "user_id,nickname,step,total_quiz_count,correct_count,score,submitted_at";
+
+    private final StudyGroupRepository studyGroupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public QuizRecordExportService(
+            StudyGroupRepository studyGroupRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${quiz.export.fetch-size:500}") int fetchSize) {
+        this.studyGroupRepository = studyGroupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+            }
+        }
+    }
+
+    public record Export(Format format, String filename, StreamingResponseBody body) {
+    }
+
+    /**
+     * 스터디 그룹 소유자(또는 관리자)만 내보낼 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public Export export(Long studyGroupId, String format, UserDetails user) {
+        Format exportFormat = Format.from(format);
+
+        StudyGroup studyGroup = studyGroupRepository.findById(studyGroupId)
+                .orElseThrow(() -> new RestException(ErrorCode.STUDY_GROUP_NOT_FOUND));
+        studyGroup.canUpdateBy(user);
+
+        Long groupId = studyGroup.getId();
+        return new Export(
+                exportFormat,
+                "quiz-records-" + groupId + "." + exportFormat.extension(),
+                out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    write(groupId, exportFormat, writer);
+                    writer.flush();
+                });
+    }
+
+    private void write(Long studyGroupId, Format format, Writer writer) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    ps.setLong(1, studyGroupId);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> {
+                    Timestamp submittedAt = rs.getTimestamp("submitted_at");
+                    ExportRow row = ExportRow.of(
+                            rs.getLong("user_id"),
+                            rs.getString("nickname"),
+                            rs.getInt("step"),
+                            rs.getInt("total_count"),
+                            rs.getInt("correct_count"),
+                            submittedAt == null ? null : submittedAt.toLocalDateTime());
+                    try {
+                        writer.write(format == Format.CSV ? row.toCsv() : toJson(row));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private String toJson(ExportRow row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize export row userId=" + row.userId(), e);
+        }
+    }
+
+    record ExportRow(Long userId, String nickname, Integer step, Integer totalQuizCount, Integer correctCount,
+                     Integer score, LocalDateTime submittedAt) {
+
+        static ExportRow of(long userId, String nickname, int step, int total, int correct, LocalDateTime submittedAt) {
+            int score = total == 0 ? 0 : Math.round((float) correct * 100 / total);
+            return new ExportRow(userId, nickname, step, total, correct, score, submittedAt);
+        }
+
+        String toCsv() {
+            return userId + "," + csvText(nickname) + "," + step + "," + totalQuizCount + "," + correctCount + ","
+                    + score + "," + (submittedAt == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(submittedAt));
+        }
+
+        // 쉼표/따옴표/줄바꿈은 따옴표로 감싸고, 스프레드시트 수식으로 읽힐 수 있는 첫 글자(= + - @)는 ' 로 막는다.
+        static String csvText(String value) {
+            if (value == null) {
+                return "";
+            }
+            String text = !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizReviewDto;
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.entity.QuizOption;
+import com.depth.learningcrew.domain.quiz.entity.QuizReviewItem;
+import com.depth.learningcrew.domain.quiz.repository.QuizQueryRepository;
+import com.depth.learningcrew.domain.quiz.repository.QuizReviewItemRepository;
+import com.depth.learningcrew.domain.quiz.repository.QuizReviewQueryRepository;
+import com.depth.learningcrew.domain.studygroup.repository.MemberQueryRepository;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 제출한 스텝 퀴즈를 SM-2 일정으로 다시 풀게 한다.
+ * 제출할 때 문항마다 복습 항목을 만들고, 세션은 기한이 지난 항목만 인덱스로 골라 온다.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizReviewService {
+
+    public static final int MAX_SESSION_SIZE = 50;
+    public static final int MAX_BACKFILL_BATCH = 5000;
+
+    private final QuizReviewItemRepository quizReviewItemRepository;
+    private final QuizReviewQueryRepository quizReviewQueryRepository;
+    private final QuizQueryRepository quizQueryRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 스텝 퀴즈 제출 결과로 복습 항목을 만든다. 제출한 트랜잭션 안에서 부른다.
+     *
+     * @param results 퀴즈 ID → 정답 여부
+     */
+    @Transactional
+    public void seed(User user, Map<Long, Boolean> results, LocalDateTime answeredAt) {
+        if (results.isEmpty()) {
+            return;
+        }
+        List<Seed> seeds = new ArrayList<>(results.size());
+        results.forEach((quizId, correct) -> seeds.add(
+                new Seed(user.getId(), quizId, QuizReviewItem.firstAnswer(user, null, correct, answeredAt))));
+        insertAll(seeds);
+    }
+
+    @Transactional(readOnly = true)
+    public QuizReviewDto.SessionResponse getSession(Long studyGroupId, int size, UserDetails user) {
+        if (size < 1 || size > MAX_SESSION_SIZE) {
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<QuizReviewItem> due = quizReviewQueryRepository.findDue(user.getUser(), studyGroupId, now, size);
+
+        // 선택지는 컬렉션이라 limit 과 같이 fetch-join 하지 않고 따로 읽는다.
+        Map<Long, Quiz> quizzes = quizQueryRepository.findAllWithOptions(
+                        due.stream().map(item -> item.getQuiz().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Quiz::getId, Function.identity()));
+
+        long dueCount = due.size() < size
+                ? due.size()
+                : quizReviewQueryRepository.countDue(user.getUser(), studyGroupId, now);
+
+        return QuizReviewDto.SessionResponse.builder()
+                .dueCount(dueCount)
+                .quizzes(due.stream()
+                        .map(item -> QuizReviewDto.ReviewQuiz.from(item, quizzes.get(item.getQuiz().getId())))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * 복습 답을 채점하고 다음 일정을 잡는다. 기한 전에 풀어도 그 시점 기준으로 다시 계산한다.
+     */
+    @Transactional
+    public QuizReviewDto.AnswerResponse answer(Long quizId, QuizReviewDto.AnswerRequest request, UserDetails user) {
+        QuizReviewItem item = quizReviewItemRepository.findByUserAndQuiz_Id(user.getUser(), quizId)
+                .orElseThrow(() -> new RestException(ErrorCode.QUIZ_REVIEW_ITEM_NOT_FOUND));
+
+        Quiz quiz = item.getQuiz();
+        if (!memberQueryRepository.isMember(quiz.getStudyGroup(), user.getUser())) {
+            throw new RestException(ErrorCode.STUDY_GROUP_NOT_MEMBER);
+        }
+        if (request.getSelectedOptions() == null) {
+            throw new RestException(ErrorCode.GLOBAL_BAD_REQUEST);
+        }
+
+        Set<Integer> answerSet = quiz.getQuizOptions().stream()
+                .filter(QuizOption::getIsAnswer)
+                .map(option -> option.getId().getOptionNum())
+                .collect(Collectors.toSet());
+
+        Set<Integer> allOptionNums = quiz.getQuizOptions().stream()
+                .map(option -> option.getId().getOptionNum())
+                .collect(Collectors.toSet());
+
+        Set<Integer> selectedSet = new HashSet<>(request.getSelectedOptions());
+
+        if (!allOptionNums.containsAll(selectedSet)) {
+            throw new RestException(ErrorCode.GLOBAL_BAD_REQUEST);
+        }
+
+        boolean correct = selectedSet.equals(answerSet);
+        int quality = quality(correct, request.getQuality());
+        item.review(quality, LocalDateTime.now());
+
+        return QuizReviewDto.AnswerResponse.from(item, correct, answerSet.stream().sorted().toList(), quality);
+    }
+
+    /**
+     * 복습 기능 이전에 제출한 기록에 복습 항목을 만든다. 한 번에 batchSize 개씩, 0 을 돌려줄 때까지 반복해 부르면 된다.
+     * 기록에 제출 시각이 없어서 지금 제출한 것으로 보고 일정을 잡는다.
+     */
+    @Transactional
+    public int backfill(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BACKFILL_BATCH) {
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Seed> seeds = quizReviewQueryRepository.findRecordsWithoutReviewItem(batchSize).stream()
+                .map(record -> new Seed(record.getId().getUser().getId(), record.getId().getQuiz().getId(),
+                        QuizReviewItem.firstAnswer(null, null, record.getCorrectCount() > 0, now)))
+                .toList();
+        insertAll(seeds);
+        return seeds.size();
+    }
+
+    // IDENTITY 키라 saveAll 은 행마다 INSERT 를 보내므로 다중 행 INSERT 한 문장으로 넣는다.
+    private void insertAll(List<Seed> seeds) {
+        if (seeds.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(seeds.size() * 8);
+        for (Seed seed : seeds) {
+            QuizReviewItem item = seed.item();
+            Collections.addAll(args, seed.userId(), seed.quizId(), item.getEasiness(), item.getRepetitions(),
+                    item.getIntervalDays(), item.getLapses(), item.getDueAt(), item.getLastReviewedAt());
+        }
+        jdbcTemplate.update(
+                "insert into quiz_review_item (user_id, quiz_id, easiness, repetitions, interval_days, lapses, "
+                        + "due_at, last_reviewed_at) values " + QuizPersistService.placeholders(seeds.size(), 8),
+                args.toArray());
+    }
+
+    // 첫 일정만 계산한 항목. 사용자/퀴즈는 id 로만 넣는다.
+    private record Seed(Long userId, Long quizId, QuizReviewItem item) {
+    }
+
+    // 정오답과 모순되는 자기 평가는 받지 않는다.
+    static int quality(boolean correct, Integer requested) {
+        if (requested == null) {
+            return correct ? QuizReviewItem.QUALITY_CORRECT : QuizReviewItem.QUALITY_WRONG;
+        }
+        boolean valid = correct ? requested >= 3 && requested <= 5 : requested >= 0 && requested <= 2;
+        if (!valid) {
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        }
+        return requested;
+    }
+}
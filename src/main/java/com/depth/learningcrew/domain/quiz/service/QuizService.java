@@ -2,13 +2,10 @@ package com.depth.learningcrew.domain.quiz.service;
 
 import com.depth.learningcrew.domain.quiz.dto.QuizDto;
 import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
-import com.depth.learningcrew.domain.quiz.entity.Quiz;
-import com.depth.learningcrew.domain.quiz.entity.QuizOption;
-import com.depth.learningcrew.domain.quiz.entity.QuizRecord;
-import com.depth.learningcrew.domain.quiz.entity.QuizRecordId;
+import com.depth.learningcrew.domain.quiz.entity.QuizStepScore;
 import com.depth.learningcrew.domain.quiz.repository.QuizQueryRepository;
 import com.depth.learningcrew.domain.quiz.repository.QuizRecordQueryRepository;
-import com.depth.learningcrew.domain.quiz.repository.QuizRecordRepository;
+import com.depth.learningcrew.domain.quiz.repository.QuizStepScoreRepository;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
 import com.depth.learningcrew.domain.studygroup.repository.MemberQueryRepository;
 import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
@@ -16,9 +13,11 @@ import com.depth.learningcrew.system.exception.model.ErrorCode;
 import com.depth.learningcrew.system.exception.model.RestException;
 import com.depth.learningcrew.system.security.model.UserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,7 +34,10 @@ public class QuizService {
     private final MemberQueryRepository memberQueryRepository;
     private final QuizQueryRepository quizQueryRepository;
     private final QuizRecordQueryRepository quizRecordQueryRepository;
-    private final QuizRecordRepository quizRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizReviewService quizReviewService;
+    private final StepQuizCache stepQuizCache;
+    private final QuizStepScoreRepository quizStepScoreRepository;
 
     @Transactional(readOnly = true)
     public List<QuizDto.QuizResponse> getStepQuizzes(
@@ -48,18 +50,28 @@ public class QuizService {
 
         cannotViewIfNotMember(studyGroup, user);
 
-        return quizQueryRepository.findAllOfStepWithOptions(studyGroup, step)
+        return stepQuizzes(studyGroup, step).quizzes()
                 .stream()
                 .map(QuizDto.QuizResponse::from)
                 .toList();
     }
 
+    // 스텝 퀴즈는 저장 후 바뀌지 않으므로 캐시된 묶음을 쓴다.
+    private StepQuizSet stepQuizzes(StudyGroup studyGroup, Integer step) {
+        return stepQuizCache.get(studyGroup.getId(), step,
+                () -> quizQueryRepository.findAllOfStepWithOptions(studyGroup, step));
+    }
+
     private void cannotViewIfNotMember(StudyGroup studyGroup, UserDetails user) {
         if(!memberQueryRepository.isMember(studyGroup, user.getUser())) {
             throw new RestException(ErrorCode.STUDY_GROUP_NOT_MEMBER);
         }
     }
 
+    /**
+     * 제출 전 검사(그룹/멤버/제출 여부)는 쿼리 하나로, 저장은 점수 1행 + 기록/복습 항목 다중 행 INSERT 로 끝낸다.
+     * 같은 스텝을 동시에 두 번 제출하면 QUIZ_STEP_SCORE 유니크 키(예전 제출은 QUIZ_RECORD PK)에서 막힌다.
+     */
     @Transactional
     public QuizRecordDto.QuizSubmitResponse submitStepAnswers(
             Long studyGroupId,
@@ -67,13 +79,19 @@ public class QuizService {
             QuizRecordDto.QuizSubmitRequest request,
             UserDetails user) {
 
-        StudyGroup studyGroup = studyGroupRepository.findById(studyGroupId)
+        QuizRecordQueryRepository.SubmissionGate gate = quizRecordQueryRepository
+                .findSubmissionGate(studyGroupId, user.getUser(), step)
                 .orElseThrow(() -> new RestException(ErrorCode.STUDY_GROUP_NOT_FOUND));
 
-        cannotWriteIfNotMember(studyGroup, user);
-        cannotWriteWhenAlreadySubmitted(studyGroup, user, step);
+        if(!gate.member()) {
+            throw new RestException(ErrorCode.STUDY_GROUP_NOT_MEMBER);
+        }
+        if(gate.submitted()) {
+            throw new RestException(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
+        }
 
-        List<Quiz> quizzes = quizQueryRepository.findAllOfStepWithOptions(studyGroup, step);
+        StudyGroup studyGroup = studyGroupRepository.getReferenceById(studyGroupId);
+        StepQuizSet quizzes = stepQuizzes(studyGroup, step);
         if(quizzes.isEmpty()) {
             throw new RestException(ErrorCode.QUIZ_NOT_FOUND);
         }
@@ -84,57 +102,55 @@ public class QuizService {
                         Function.identity()
                 ));
         int correctCount = 0;
-        List<QuizRecord> toSave = new ArrayList<>();
+        Map<Long, Boolean> results = new LinkedHashMap<>();
 
-        for(Quiz quiz : quizzes) {
-            QuizRecordDto.QuizSubmitRequest.Answer answer = answers.get(quiz.getId());
-            if(answer == null) {
+        for(StepQuizSet.Item quiz : quizzes.quizzes()) {
+            QuizRecordDto.QuizSubmitRequest.Answer answer = answers.get(quiz.id());
+            if(answer == null || answer.getSelectedOptions() == null) {
                 throw new RestException(ErrorCode.GLOBAL_BAD_REQUEST);
             }
 
-            Set<Integer> answerSet = quiz.getQuizOptions().stream()
-                    .filter(QuizOption::getIsAnswer)
-                    .map(option -> option.getId().getOptionNum())
-                    .collect(Collectors.toSet());
-
-            Set<Integer> allOptionNums = quiz.getQuizOptions().stream()
-                    .map(option -> option.getId().getOptionNum())
-                    .collect(Collectors.toSet());
-
-            Set<Integer> selectedSet = new HashSet<>(answer.getSelectedOptions());
-
-            if(!allOptionNums.containsAll(selectedSet)) {
+            // 보기 번호 비트마스크로 채점한다. 없는 보기 번호를 고르면 -1
+            long selected = quiz.selectionMask(answer.getSelectedOptions());
+            if(selected < 0) {
                 throw new RestException(ErrorCode.GLOBAL_BAD_REQUEST);
             }
 
-            int isCorrect = selectedSet.equals(answerSet) ? 1 : 0;
-            correctCount += isCorrect;
-
-            QuizRecord record = QuizRecord.builder()
-                    .id(QuizRecordId.of(user.getUser(), quiz))
-                    .correctCount(isCorrect)
-                    .build();
-            toSave.add(record);
+            boolean correct = quiz.isCorrect(selected);
+            correctCount += correct ? 1 : 0;
+            results.put(quiz.id(), correct);
         }
 
-        // 퀴즈 기록 저장
-        quizRecordRepository.saveAll(toSave);
-
         LocalDateTime now = LocalDateTime.now();
 
-        return QuizRecordDto.QuizSubmitResponse.from(user.getUser(), studyGroup, quizzes.size(), correctCount, now);
-    }
+        try {
+            // 기록 페이지용 스텝 점수. 유니크 키로 중복 제출을 막으므로 기록보다 먼저 넣는다.
+            quizStepScoreRepository.save(
+                    QuizStepScore.of(user.getUser(), studyGroup, step, quizzes.size(), correctCount, now));
 
-    private void cannotWriteIfNotMember(StudyGroup studyGroup, UserDetails user) {
-        if(!memberQueryRepository.isMember(studyGroup, user.getUser())) {
-            throw new RestException(ErrorCode.STUDY_GROUP_NOT_MEMBER);
+            // 퀴즈 기록 저장. @EmbeddedId 엔티티 saveAll 은 행마다 SELECT 후 INSERT 라 한 문장으로 넣는다.
+            insertRecords(user.getUser().getId(), results);
+        } catch (DataIntegrityViolationException e) {
+            throw new RestException(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
         }
+
+        // 문항별 복습 일정 등록
+        quizReviewService.seed(user.getUser(), results, now);
+
+        return QuizRecordDto.QuizSubmitResponse.from(user.getUser(), gate.currentStep(), quizzes.size(), correctCount, now);
     }
 
-    private void cannotWriteWhenAlreadySubmitted(StudyGroup studyGroup, UserDetails user, Integer step) {
-        if(quizRecordQueryRepository.existsUserSubmittedStep(studyGroup, user.getUser(), step)) {
-            throw new RestException(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
-        }
+    private void insertRecords(Long userId, Map<Long, Boolean> results) {
+        List<Object> args = new ArrayList<>(results.size() * 3);
+        results.forEach((quizId, correct) -> {
+            args.add(userId);
+            args.add(quizId);
+            args.add(correct ? 1 : 0);
+        });
+        jdbcTemplate.update(
+                "insert into quiz_record (user_id, quiz_id, correct_count) values "
+                        + QuizPersistService.placeholders(results.size(), 3),
+                args.toArray());
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,77 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+
+/**
+ * 한 스텝을 생성하는 동안 쓰는 중복 문항 검사기. QuizStemIndex 가 같은 스터디 그룹의 다른 스텝 문항 지문으로 만든다.
+ * - 정규화 문장 해시가 같으면 HashSet 조회 한 번으로, 아니면 SimHash 배열을 훑어 해밍 거리로 판정한다.
+ * - 그룹당 문항이 수백~수천 개라 long XOR + bitCount 한 바퀴면 충분하다(수 마이크로초).
+ * 만든 뒤에는 바뀌지 않으므로 스트리밍 리스너 같은 다른 스레드에서 같이 써도 된다.
+ */
+public final class QuizStemFilter {
+
+    public static final QuizStemFilter NONE = new QuizStemFilter(new long[0], new long[0], -1);
+
+    private final Set<Long> exactHashes;
+    private final long[] simHashes;
+    private final int maxDistance;
+
+    QuizStemFilter(long[] exactHashes, long[] simHashes, int maxDistance) {
+        this.exactHashes = new HashSet<>(exactHashes.length * 2);
+        for (long h : exactHashes) {
+            this.exactHashes.add(h);
+        }
+        this.simHashes = simHashes;
+        this.maxDistance = maxDistance;
+    }
+
+    public int size() {
+        return simHashes.length;
+    }
+
+    /**
+     * 이전 스텝 문항과 정규화 문장이 같거나 SimHash 거리가 maxDistance 이하이면 true.
+     */
+    public boolean matchesEarlierStep(String stem) {
+        return matchesEarlierStep(QuizStemFingerprint.normalize(stem));
+    }
+
+    /**
+     * 앞에서부터 보며 이전 스텝 문항과 겹치거나, 앞서 남긴 문항과 정규화 문장이 같은 문항을 골라낸다.
+     * 같은 응답 안의 문항끼리는 완전 일치만 본다(번호만 다른 문항처럼 짧은 문장은 SimHash 로 가르기 어렵다).
+     */
+    public Split split(List<QuizzesPayload.Item> items) {
+        Set<Long> seen = new HashSet<>();
+        List<QuizzesPayload.Item> kept = new ArrayList<>(items.size());
+        List<QuizzesPayload.Item> duplicates = new ArrayList<>();
+        for (QuizzesPayload.Item item : items) {
+            String norm = QuizStemFingerprint.normalize(item.getStem());
+            if (!seen.add(QuizStemFingerprint.exactHash(norm)) || matchesEarlierStep(norm)) {
+                duplicates.add(item);
+            } else {
+                kept.add(item);
+            }
+        }
+        return new Split(kept, duplicates);
+    }
+
+    private boolean matchesEarlierStep(String norm) {
+        if (simHashes.length == 0) return false;
+        if (exactHashes.contains(QuizStemFingerprint.exactHash(norm))) return true;
+        long sim = QuizStemFingerprint.simHash(norm);
+        for (long other : simHashes) {
+            if (QuizStemFingerprint.distance(sim, other) <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Split(List<QuizzesPayload.Item> kept, List<QuizzesPayload.Item> duplicates) {
+    }
+}
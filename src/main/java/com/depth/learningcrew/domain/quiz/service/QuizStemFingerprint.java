@@ -0,0 +1,71 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.text.Normalizer;
+
+/**
+ * 문제 문장(stem) 지문. 정규화한 문장의 64비트 해시(완전 일치)와 SimHash(거의 같은 문장) 두 가지를 만든다.
+ * - 한국어 문항은 짧고 조사/어미만 바뀌는 경우가 많아 단어 대신 글자 2-gram 으로 SimHash 를 만든다.
+ * - 두 SimHash 의 해밍 거리(다른 비트 수)가 작을수록 비슷한 문장이다.
+ */
+final class QuizStemFingerprint {
+
+    private static final int SHINGLE = 2;
+
+    private QuizStemFingerprint() {
+    }
+
+    // 전각/반각, 대소문자, 공백/구두점 차이는 같은 문장으로 본다.
+    static String normalize(String stem) {
+        if (stem == null) return "";
+        String s = Normalizer.normalize(stem, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    static long exactHash(String norm) {
+        return mix(fnv(norm, 0, norm.length()));
+    }
+
+    static long simHash(String norm) {
+        int[] votes = new int[64];
+        int shingles = Math.max(1, norm.length() - SHINGLE + 1);
+        for (int i = 0; i < shingles; i++) {
+            long h = mix(fnv(norm, i, Math.min(norm.length(), i + SHINGLE)));
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((h >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+        long sim = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) sim |= 1L << bit;
+        }
+        return sim;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // FNV-1a
+    private static long fnv(String s, int from, int to) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
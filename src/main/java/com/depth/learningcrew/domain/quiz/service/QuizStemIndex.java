@@ -0,0 +1,122 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.depth.learningcrew.domain.quiz.repository.QuizRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스터디 그룹별로 이미 만든 문제 문장 지문을 메모리에 들고 있다가, 새 스텝을 생성할 때 다른 스텝과 겹치는 문항을 걸러 내게 한다.
+ * - 그룹을 처음 볼 때 QUIZ 에서 (step, stem) 만 한 번 읽어 지문을 계산하고, 저장에 성공한 스텝은 record 로 덧붙인다.
+ * - 다른 인스턴스가 저장한 스텝은 TTL 이 지나 다시 읽을 때 반영된다. 스텝 간격이 보통 며칠이라 충분하다.
+ */
+@Slf4j
+@Component
+public class QuizStemIndex {
+
+    private final QuizRepository quizRepository;
+    private final boolean enabled;
+    private final int maxDistance;
+    private final Cache<Long, GroupStems> groups;
+
+    public QuizStemIndex(
+            QuizRepository quizRepository,
+            @Value("${quiz.dedup.enabled:true}") boolean enabled,
+            @Value("${quiz.dedup.max-distance:10}") int maxDistance,
+            @Value("${quiz.dedup.cache-groups:2000}") long cacheGroups,
+            @Value("${quiz.dedup.cache-ttl-minutes:30}") long cacheTtlMinutes) {
+        this.quizRepository = quizRepository;
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.groups = Caffeine.newBuilder()
+                .maximumSize(cacheGroups)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    /**
+     * 같은 그룹의 다른 스텝 문항으로 검사기를 만든다. 같은 스텝을 다시 생성할 때 예전 문항은 비교하지 않는다.
+     */
+    public QuizStemFilter filterFor(Long studyGroupId, Integer step) {
+        if (!enabled) {
+            return QuizStemFilter.NONE;
+        }
+        return groups.get(studyGroupId, this::load).excluding(step, maxDistance);
+    }
+
+    /**
+     * 저장한 스텝 문항을 이미 올라와 있는 그룹 지문에 덧붙인다. 올라와 있지 않으면 다음 조회 때 DB 에서 읽는다.
+     */
+    public void record(Long studyGroupId, Integer step, List<String> stems) {
+        if (!enabled) {
+            return;
+        }
+        groups.asMap().computeIfPresent(studyGroupId, (id, current) -> current.plus(step, stems));
+    }
+
+    private GroupStems load(Long studyGroupId) {
+        List<QuizRepository.QuizStem> rows = quizRepository.findStemsByStudyGroupId(studyGroupId);
+        GroupStems loaded = GroupStems.EMPTY.plus(rows);
+        log.debug("[quiz-dedup] loaded stems gid={} count={}", studyGroupId, rows.size());
+        return loaded;
+    }
+
+    // 지문은 세 배열을 같은 인덱스로 맞춰 들고 있고, 덧붙일 때는 새 배열로 바꾼다(읽는 쪽은 락이 필요 없다).
+    private record GroupStems(int[] steps, long[] exactHashes, long[] simHashes) {
+
+        static final GroupStems EMPTY = new GroupStems(new int[0], new long[0], new long[0]);
+
+        GroupStems plus(Integer step, List<String> stems) {
+            return plus(stems.stream().<QuizRepository.QuizStem>map(stem -> new Stem(step, stem)).toList());
+        }
+
+        GroupStems plus(List<? extends QuizRepository.QuizStem> rows) {
+            int n = steps.length;
+            int[] s = Arrays.copyOf(steps, n + rows.size());
+            long[] e = Arrays.copyOf(exactHashes, n + rows.size());
+            long[] h = Arrays.copyOf(simHashes, n + rows.size());
+            for (QuizRepository.QuizStem row : rows) {
+                String norm = QuizStemFingerprint.normalize(row.getStem());
+                s[n] = row.getStep();
+                e[n] = QuizStemFingerprint.exactHash(norm);
+                h[n] = QuizStemFingerprint.simHash(norm);
+                n++;
+            }
+            return new GroupStems(s, e, h);
+        }
+
+        QuizStemFilter excluding(Integer step, int maxDistance) {
+            int count = 0;
+            long[] e = new long[steps.length];
+            long[] h = new long[steps.length];
+            for (int i = 0; i < steps.length; i++) {
+                if (steps[i] != step) {
+                    e[count] = exactHashes[i];
+                    h[count] = simHashes[i];
+                    count++;
+                }
+            }
+            return new QuizStemFilter(Arrays.copyOf(e, count), Arrays.copyOf(h, count), maxDistance);
+        }
+    }
+
+    private record Stem(Integer step, String stem) implements QuizRepository.QuizStem {
+        @Override
+        public Integer getStep() {
+            return step;
+        }
+
+        @Override
+        public String getStem() {
+            return stem;
+        }
+    }
+}
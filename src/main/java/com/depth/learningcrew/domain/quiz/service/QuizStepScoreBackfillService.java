@@ -0,0 +1,52 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 점수 읽기 모델(QUIZ_STEP_SCORE) 이전에 제출한 퀴즈 기록을 스텝별로 집계해 채운다.
+ * 이미 점수 행이 있는 (사용자, 스터디 그룹, 스텝) 은 건너뛰므로 여러 번 불러도 된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizStepScoreBackfillService {
+
+    public static final int MAX_BACKFILL_BATCH = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizLeaderboard quizLeaderboard;
+
+    /**
+     * 한 번에 batchSize 개 스텝씩 INSERT ... SELECT 로 채운다. 백필을 켠 배포에서 QuizStepScoreBackfillRunner 가 0 이 될 때까지 부른다.
+     * 기록에 제출 시각이 없어서 그 스텝 퀴즈가 만들어진 마지막 시각을 제출 시각으로 쓴다.
+     *
+     * @return 새로 만든 점수 행 수
+     */
+    @Transactional
+    public int backfill(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BACKFILL_BATCH) {
+            throw new RestException(ErrorCode.GLOBAL_INVALID_PARAMETER);
+        }
+        int inserted = jdbcTemplate.update(
+                "insert into quiz_step_score (user_id, study_group_id, step, total_count, correct_count, submitted_at) "
+                        + "select r.user_id, q.study_group_id, q.step, count(*), sum(r.correct_count), max(q.created_at) "
+                        + "from quiz_record r join quiz q on q.id = r.quiz_id "
+                        + "where not exists (select 1 from quiz_step_score s "
+                        + "where s.user_id = r.user_id and s.study_group_id = q.study_group_id and s.step = q.step) "
+                        + "group by r.user_id, q.study_group_id, q.step "
+                        + "limit ?",
+                batchSize);
+
+        // JDBC 로 넣어 엔티티 콜백이 없으므로 올라와 있는 순위표를 다시 만들게 한다.
+        if (inserted > 0) {
+            quizLeaderboard.invalidateAllAfterCommit();
+        }
+        return inserted;
+    }
+}
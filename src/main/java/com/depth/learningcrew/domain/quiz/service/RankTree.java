@@ -0,0 +1,159 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 순위 조회용 treap. 노드마다 서브트리 크기를 들고 있어 삽입/삭제/순위/k 번째 조회가 모두 O(log n) 이다.
+ * 같은 값(comparator 결과 0)은 한 번만 들어 있다고 가정한다. 동기화하지 않는다.
+ */
+final class RankTree<T> {
+
+    private final Comparator<? super T> order;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    RankTree(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void add(T value) {
+        Split<T> split = split(root, value);
+        root = merge(merge(split.less(), new Node<>(value, random.nextInt())), split.rest());
+    }
+
+    boolean remove(T value) {
+        int before = size();
+        root = remove(root, value);
+        return size() < before;
+    }
+
+    /**
+     * @return 앞에 있는 원소 수(0 부터). 없으면 -1
+     */
+    int rank(T value) {
+        int before = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = order.compare(value, node.value);
+            if (cmp == 0) {
+                return before + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 순서상 offset 번째부터 최대 limit 개. O(log n + limit)
+     */
+    List<T> range(int offset, int limit) {
+        List<T> out = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        collect(root, offset, (int) Math.min((long) offset + limit, Integer.MAX_VALUE), out);
+        return out;
+    }
+
+    // 서브트리 안에서 [from, to) 위치의 원소를 순서대로 담는다.
+    private void collect(Node<T> node, int from, int to, List<T> out) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, Math.min(to, leftSize), out);
+        }
+        if (from <= leftSize && leftSize < to) {
+            out.add(node.value);
+        }
+        if (to > leftSize + 1) {
+            collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+        }
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        node.update();
+        return node;
+    }
+
+    // less: value 보다 앞, rest: value 이상
+    private Split<T> split(Node<T> node, T value) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        if (order.compare(node.value, value) < 0) {
+            Split<T> right = split(node.right, value);
+            node.right = right.less();
+            node.update();
+            return new Split<>(node, right.rest());
+        }
+        Split<T> left = split(node.left, value);
+        node.left = left.rest();
+        node.update();
+        return new Split<>(left.less(), node);
+    }
+
+    // a 의 모든 원소가 b 보다 앞이어야 한다.
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private record Split<T>(Node<T> less, Node<T> rest) {
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
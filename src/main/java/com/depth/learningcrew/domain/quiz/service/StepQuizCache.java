@@ -0,0 +1,62 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * (스터디 그룹, 스텝) 별 퀴즈 묶음 캐시. 퀴즈 조회/제출 채점이 매번 퀴즈 + 보기 fetch-join 을 다시 하지 않게 한다.
+ * - 시간으로 만료하지 않는다. 그 스텝 퀴즈를 새로 저장하거나(QuizPersistService) 지울 때(QuizCacheEvictionListener)만 비운다.
+ * - 아직 퀴즈가 없는 스텝은 담지 않는다. 생성되자마자 다음 조회에서 바로 보인다.
+ */
+@Component
+public class StepQuizCache {
+
+    private final Cache<StepKey, StepQuizSet> steps;
+
+    public StepQuizCache(@Value("${quiz.step-cache.max-steps:5000}") long maxSteps) {
+        this.steps = Caffeine.newBuilder()
+                .maximumSize(maxSteps)
+                .build();
+    }
+
+    /**
+     * @param loader 캐시에 없을 때 보기까지 읽어 오는 쿼리
+     * @return 퀴즈가 없으면 빈 묶음(캐시하지 않음)
+     */
+    public StepQuizSet get(Long studyGroupId, Integer step, Supplier<List<Quiz>> loader) {
+        StepQuizSet cached = steps.get(new StepKey(studyGroupId, step), key -> {
+            StepQuizSet loaded = StepQuizSet.of(loader.get());
+            return loaded.isEmpty() ? null : loaded;
+        });
+        return cached != null ? cached : new StepQuizSet(List.of());
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 커밋된 뒤에 비운다. 커밋 전에 비우면 다른 요청이 예전 상태를 다시 담을 수 있다.
+     */
+    public void evictAfterCommit(Long studyGroupId, Integer step) {
+        StepKey key = new StepKey(studyGroupId, step);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            steps.invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                steps.invalidate(key);
+            }
+        });
+    }
+
+    private record StepKey(Long studyGroupId, Integer step) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.entity.QuizOption;
+
+/**
+ * 한 스텝의 퀴즈 묶음을 읽기 전용으로 줄여 둔 것. 퀴즈는 QuizPersistService 가 한 번 쓰면 바뀌지 않으므로 StepQuizCache 에 그대로 둔다.
+ * 보기 번호 n 을 비트 n 으로 두어 정답 보기/전체 보기를 long 하나씩으로 들고 있다. 채점은 선택한 번호로 만든 마스크를 정답 마스크와 비교하면 끝난다.
+ */
+public record StepQuizSet(List<Item> quizzes) {
+
+    // 부호 비트를 쓰지 않아 selectionMask 의 -1(잘못된 선택)과 겹치지 않는다.
+    public static final int MAX_OPTION_NUM = 62;
+
+    /**
+     * @param quizzes 보기까지 읽은 퀴즈 엔티티(findAllOfStepWithOptions)
+     */
+    public static StepQuizSet of(List<Quiz> quizzes) {
+        return new StepQuizSet(quizzes.stream().map(Item::of).toList());
+    }
+
+    public boolean isEmpty() {
+        return quizzes.isEmpty();
+    }
+
+    public int size() {
+        return quizzes.size();
+    }
+
+    public record Item(Long id, String quiz, Integer step, LocalDateTime createdAt, List<Option> options,
+                       long answerMask, long optionMask) {
+
+        static Item of(Quiz quiz) {
+            long answerMask = 0;
+            long optionMask = 0;
+            for (QuizOption option : quiz.getQuizOptions()) {
+                int num = option.getId().getOptionNum();
+                if (num < 0 || num > MAX_OPTION_NUM)
+                    throw new IllegalStateException("Option number out of mask range quizId=" + quiz.getId() + ", num=" + num);
+                optionMask |= 1L << num;
+                if (Boolean.TRUE.equals(option.getIsAnswer())) {
+                    answerMask |= 1L << num;
+                }
+            }
+            List<Option> options = quiz.getQuizOptions().stream()
+                    .map(option -> new Option(option.getId().getOptionNum(), option.getContent(), option.getIsAnswer()))
+                    .toList();
+            return new Item(quiz.getId(), quiz.getQuiz(), quiz.getStep(), quiz.getCreatedAt(), options,
+                    answerMask, optionMask);
+        }
+
+        /**
+         * 선택한 보기 번호로 마스크를 만든다. 같은 번호를 여러 번 골라도 한 번으로 친다.
+         *
+         * @return 이 퀴즈에 없는 보기 번호가 섞여 있으면 -1
+         */
+        public long selectionMask(List<Integer> selectedOptions) {
+            long mask = 0;
+            for (int i = 0, n = selectedOptions.size(); i < n; i++) {
+                Integer num = selectedOptions.get(i);
+                if (num == null || num < 0 || num > MAX_OPTION_NUM || (optionMask & (1L << num)) == 0) {
+                    return -1;
+                }
+                mask |= 1L << num;
+            }
+            return mask;
+        }
+
+        public boolean isCorrect(long selectionMask) {
+            return selectionMask == answerMask;
+        }
+    }
+
+    public record Option(Integer optionNum, String content, Boolean isAnswer) {
+    }
+}
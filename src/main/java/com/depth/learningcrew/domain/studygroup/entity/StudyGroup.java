@@ -11,6 +11,7 @@ import com.depth.learningcrew.domain.file.handler.FileHandler;
 import com.depth.learningcrew.domain.note.entity.Note;
 import com.depth.learningcrew.domain.qna.entity.QAndA;
 import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.entity.QuizStepScore;
 import com.depth.learningcrew.domain.user.entity.Role;
 import com.depth.learningcrew.domain.user.entity.User;
 import com.depth.learningcrew.system.exception.model.ErrorCode;
@@ -108,6 +109,10 @@ public class StudyGroup extends TimeStampedEntity implements CleanableEntity {
     @Builder.Default
     private List<Quiz> quizzes = new ArrayList<>();
 
+    @OneToMany(mappedBy = "studyGroup", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<QuizStepScore> quizStepScores = new ArrayList<>();
+
     @OneToMany(mappedBy = "studyGroup", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<QAndA> qAndAs = new ArrayList<>();
@@ -26,9 +26,10 @@ public class MemberQueryRepository {
 
   public boolean isMember(StudyGroup studyGroup, User user) {
     return queryFactory
-        .selectFrom(member)
+        .selectOne()
+        .from(member)
         .where(member.id.studyGroup.eq(studyGroup), member.id.user.eq(user))
-        .fetchOne() != null;
+        .fetchFirst() != null;
   }
 
   public Page<MemberDto.MemberResponse> paginateStudyGroupMembers(
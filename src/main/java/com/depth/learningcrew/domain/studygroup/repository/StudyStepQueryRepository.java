@@ -1,11 +1,16 @@
 package com.depth.learningcrew.domain.studygroup.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
 
+import com.depth.learningcrew.domain.note.entity.QNote;
 import com.depth.learningcrew.domain.quiz.entity.QQuiz;
+import com.depth.learningcrew.domain.quiz.entity.QQuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.studygroup.entity.QStudyGroup;
 import com.depth.learningcrew.domain.studygroup.entity.QStudyStep;
 import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
 import com.querydsl.jpa.JPAExpressions;
@@ -26,10 +31,12 @@ public class StudyStepQueryRepository {
    */
   public List<StudyStep> findEndedStepsWithoutQuizzes(LocalDate today) {
     QStudyStep s = new QStudyStep("s");
+    QStudyGroup g = new QStudyGroup("g");
     QQuiz q = new QQuiz("q");
 
     return queryFactory
         .selectFrom(s)
+        .join(s.id.studyGroupId, g).fetchJoin() // 백필 우선순위에 멤버 수를 쓴다
         .where(
             s.endDate.before(today),
             JPAExpressions.selectOne()
@@ -40,4 +47,51 @@ public class StudyStepQueryRepository {
                 .notExists())
         .fetch();
   }
+
+  /**
+   * 종료일이 [from, to] 인 스텝 중 초안을 미리 만들 만한 스텝을 종료일이 가까운 순으로 조회합니다.
+   * - 노트가 있고, idleSince 이후로 수정된 노트가 없다(작성이 잠잠하다).
+   * - 퀴즈가 아직 없다.
+   * - 대기/실행 중인 작업이 없고, 마지막 노트 수정 이후에 끝난 작업도 없다(이미 지금 노트로 초안을 만들었다).
+   */
+  public List<StudyStep> findIdleStepsToPregenerate(LocalDate from, LocalDate to, LocalDateTime idleSince, int limit) {
+    QStudyStep s = new QStudyStep("s");
+    QStudyGroup g = new QStudyGroup("g");
+    QQuiz q = new QQuiz("q");
+    QNote n = new QNote("n");
+    QNote recent = new QNote("recent");
+    QNote latest = new QNote("latest");
+    QQuizGenerationJob j = new QQuizGenerationJob("j");
+
+    return queryFactory
+        .selectFrom(s)
+        .join(s.id.studyGroupId, g).fetchJoin()
+        .where(
+            s.endDate.between(from, to),
+            JPAExpressions.selectOne()
+                .from(n)
+                .where(n.studyGroup.eq(g), n.step.eq(s.id.step))
+                .exists(),
+            JPAExpressions.selectOne()
+                .from(recent)
+                .where(recent.studyGroup.eq(g), recent.step.eq(s.id.step), recent.lastModifiedAt.after(idleSince))
+                .notExists(),
+            JPAExpressions.selectOne()
+                .from(q)
+                .where(q.studyGroup.eq(g), q.step.eq(s.id.step))
+                .notExists(),
+            JPAExpressions.selectOne()
+                .from(j)
+                .where(
+                    j.studyGroupId.eq(g.id),
+                    j.step.eq(s.id.step),
+                    j.status.in(QuizGenerationJobStatus.PENDING, QuizGenerationJobStatus.RUNNING)
+                        .or(j.finishedAt.goe(JPAExpressions.select(latest.lastModifiedAt.max())
+                            .from(latest)
+                            .where(latest.studyGroup.eq(g), latest.step.eq(s.id.step)))))
+                .notExists())
+        .orderBy(s.endDate.asc(), g.memberCount.desc())
+        .limit(limit)
+        .fetch();
+  }
 }
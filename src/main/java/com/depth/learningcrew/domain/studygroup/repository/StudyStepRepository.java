@@ -15,7 +15,9 @@ import java.util.List;
 import java.util.Optional;
 
 public interface StudyStepRepository extends JpaRepository<StudyStep, StudyStepId> {
-    List<StudyStep> findByEndDate(LocalDate endDate);
+    // 퀴즈 작업 우선순위 계산에 그룹 멤버 수가 필요해 그룹을 함께 가져온다.
+    @Query("select s from StudyStep s join fetch s.id.studyGroupId where s.endDate = :endDate")
+    List<StudyStep> findByEndDate(@Param("endDate") LocalDate endDate);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
@@ -1,19 +1,36 @@
 package com.depth.learningcrew.system.configuration.llm;
 
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// llm.provider=fake 면 테스트의 가짜 모델을 쓴다 (FakeChatModelConfig)
 @Configuration
+@ConditionalOnProperty(name = "llm.provider", havingValue = "gemini", matchIfMissing = true)
 public class GeminiConfig {
     @Bean
     public GoogleAiGeminiChatModel googleAiGeminiChatModel (
-            @Value("${gemini.api-key}") String apiKey
+            @Value("${gemini.api-key}") String apiKey,
+            @Value("${gemini.model-name:gemini-2.0-flash}") String modelName
     ) {
         return GoogleAiGeminiChatModel.builder()
                 .apiKey(apiKey)
-                .modelName("gemini-2.0-flash")
+                .modelName(modelName)
+                .build();
+    }
+
+    // llm.quiz.generation-mode=STREAMING 에서 StreamingQuizGenerator 가 쓴다
+    @Bean
+    public GoogleAiGeminiStreamingChatModel googleAiGeminiStreamingChatModel (
+            @Value("${gemini.api-key}") String apiKey,
+            @Value("${gemini.model-name:gemini-2.0-flash}") String modelName
+    ) {
+        return GoogleAiGeminiStreamingChatModel.builder()
+                .apiKey(apiKey)
+                .modelName(modelName)
                 .build();
     }
 }
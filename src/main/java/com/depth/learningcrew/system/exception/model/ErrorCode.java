@@ -80,6 +80,8 @@ public enum ErrorCode {
     // Quiz
     QUIZ_NOT_FOUND(404, "퀴즈를 찾을 수 없습니다."),
     QUIZ_ALREADY_SUBMITTED_IN_STEP(409, "해당 스텝의 답변을 이미 제출했습니다."),
+    QUIZ_GENERATION_JOB_NOT_FOUND(404, "퀴즈 생성 작업을 찾을 수 없습니다."),
+    QUIZ_REVIEW_ITEM_NOT_FOUND(404, "복습 대상 퀴즈가 아닙니다."),
 
     // Other
     INTERNAL_SERVER_ERROR(500, "오류가 발생했습니다."),;
@@ -0,0 +1,133 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 동시 호출 수를 AIMD 로 조절하는 리미터.
+ * - 빠른 성공(slowCallMs 미만): 한도를 1/limit 씩 늘린다. 한도만큼 성공하면 약 +1.
+ * - 느린 성공이나 검증 실패: 한도를 그대로 둔다.
+ * - 429/5xx/타임아웃: 한도를 절반으로 줄인다. 줄인 시점보다 먼저 보낸 호출의 실패로는 다시 줄이지 않는다.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long slowCallNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder waitNanos = new LongAdder();
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${llm.concurrency.initial:4}") int initialLimit,
+            @Value("${llm.concurrency.min:1}") int minLimit,
+            @Value("${llm.concurrency.max:32}") int maxLimit,
+            @Value("${llm.concurrency.slow-call-ms:20000}") long slowCallMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+    }
+
+    /**
+     * 한도 안에 자리가 날 때까지 블록한다. 받은 Permit 은 반드시 release 해야 한다.
+     */
+    public Permit acquire() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            while (inFlight >= currentLimit()) {
+                released.await();
+            }
+            inFlight++;
+            long now = System.nanoTime();
+            waitNanos.add(now - start);
+            return new Permit(now);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * acquire() 에서 자리를 기다린 누적 시간.
+     */
+    public long totalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRelease(Permit permit, LlmCallOutcome outcome) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            inFlight--;
+            double before = limit;
+            if (outcome == LlmCallOutcome.OVERLOADED) {
+                if (permit.startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, limit / 2);
+                    lastDecreaseNanos = now;
+                }
+            } else if (outcome == LlmCallOutcome.SUCCESS && now - permit.startNanos < slowCallNanos) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            if ((int) before != (int) limit) {
+                log.info("[llm-limit] concurrency {} -> {} ({})", (int) before, (int) limit, outcome);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * acquire() 로 받은 자리. release() 는 한 번만 반영된다.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void release(LlmCallOutcome outcome) {
+            if (released) return;
+            released = true;
+            onRelease(this, outcome);
+        }
+    }
+}
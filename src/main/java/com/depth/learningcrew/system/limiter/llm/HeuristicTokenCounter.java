@@ -0,0 +1,57 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 네트워크 없이 쓰는 근사 토크나이저.
+ * - 한글 음절: 음절당 약 0.8 토큰 (자주 쓰는 어절은 여러 음절이 한 토큰으로 묶인다)
+ * - 라틴 문자: 단어를 4글자당 1 토큰으로 자른다 (BPE 평균)
+ * - 숫자, 한자, 구두점/기호: 글자당 1 토큰
+ * - 공백: 다음 단어에 붙으므로 세지 않는다
+ */
+@Component
+public class HeuristicTokenCounter implements TokenCounter {
+
+    static final double HANGUL_SYLLABLE = 0.8;
+    static final int LATIN_CHARS_PER_TOKEN = 4;
+
+    @Override
+    public long count(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        double tokens = 0;
+        int latinRun = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            i += Character.charCount(cp);
+
+            if (isLatinLetter(cp)) {
+                latinRun++;
+                continue;
+            }
+            tokens += latinTokens(latinRun);
+            latinRun = 0;
+
+            if (isHangulSyllable(cp)) {
+                tokens += HANGUL_SYLLABLE;
+            } else if (!Character.isWhitespace(cp)) {
+                tokens += 1; // 자모, 숫자, 한자, 구두점, 이모지
+            }
+        }
+        tokens += latinTokens(latinRun);
+        return (long) Math.ceil(tokens);
+    }
+
+    private static int latinTokens(int run) {
+        return run == 0 ? 0 : (run + LATIN_CHARS_PER_TOKEN - 1) / LATIN_CHARS_PER_TOKEN;
+    }
+
+    private static boolean isLatinLetter(int cp) {
+        return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z')
+                || (cp >= 0x00C0 && cp <= 0x024F && Character.isLetter(cp));
+    }
+
+    private static boolean isHangulSyllable(int cp) {
+        return cp >= 0xAC00 && cp <= 0xD7A3;
+    }
+}
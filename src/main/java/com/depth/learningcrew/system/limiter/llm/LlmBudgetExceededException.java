@@ -0,0 +1,13 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.time.Duration;
+
+/**
+ * 일일 토큰 예산을 다 써서 호출하지 않을 때 던진다. 작업 워커는 서킷이 열렸을 때처럼 다음 날로 작업을 미룬다.
+ */
+public class LlmBudgetExceededException extends LlmUnavailableException {
+
+    public LlmBudgetExceededException(String scope, long used, long limit, Duration retryAfter) {
+        super("LLM daily token budget exceeded scope=" + scope + " used=" + used + " limit=" + limit, retryAfter);
+    }
+}
@@ -0,0 +1,54 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * LLM 호출 결과를 동시성 리미터/서킷 브레이커 관점에서 나눈 것.
+ */
+public enum LlmCallOutcome {
+
+    /** 응답을 정상적으로 받음 */
+    SUCCESS,
+    /** 429 / 5xx / 타임아웃 / 연결 실패. 제공자 과부하 또는 장애 신호 */
+    OVERLOADED,
+    /** 응답은 왔지만 파싱/검증에 실패. 제공자 상태와는 무관하다 */
+    FAILED;
+
+    /*
+     * Gemini 클라이언트는 비정상 응답의 상태를 예외 메시지에 실린 오류 본문으로만 알려 준다.
+     * {"error":{"code":429,...,"status":"RESOURCE_EXHAUSTED"}} 모양의 error 객체 안에 있는 code/status 만 본다.
+     * 다른 메시지에 섞인 "unavailable" 같은 낱말로는 과부하로 보지 않는다.
+     */
+    private static final Pattern GEMINI_OVERLOAD_BODY = Pattern.compile(
+            "\"error\"\\s*:\\s*\\{[^}]*?(?:"
+                    + "\"code\"\\s*:\\s*(?:429|5\\d\\d)\\b"
+                    + "|\"status\"\\s*:\\s*\"(?:RESOURCE_EXHAUSTED|UNAVAILABLE|DEADLINE_EXCEEDED|INTERNAL)\")");
+
+    /**
+     * LLM 호출 자체(응답 검증 전)에서 난 예외를 분류한다.
+     */
+    public static LlmCallOutcome of(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (isTimeoutOrUnreachable(t)) {
+                return OVERLOADED;
+            }
+            String message = t.getMessage();
+            if (message != null && GEMINI_OVERLOAD_BODY.matcher(message).find()) {
+                return OVERLOADED;
+            }
+        }
+        return FAILED;
+    }
+
+    // 응답을 받지 못한 경우만. 그 밖의 IOException(파일, 직렬화 등)은 제공자 상태와 무관하다.
+    private static boolean isTimeoutOrUnreachable(Throwable t) {
+        return t instanceof TimeoutException
+                || t instanceof HttpTimeoutException
+                || t instanceof SocketTimeoutException
+                || t instanceof ConnectException;
+    }
+}
@@ -0,0 +1,146 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 제공자 장애 시 호출을 바로 실패시키는 서킷 브레이커.
+ * - CLOSED: 최근 windowSize 회 중 과부하(429/5xx/타임아웃) 비율이 threshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 tryAcquire() 가 false. 호출자는 LlmUnavailableException 으로 작업을 미룬다.
+ * - HALF_OPEN: 시험 호출 하나만 보내고, 성공하면 CLOSED, 과부하면 다시 OPEN
+ * 응답 검증 실패(FAILED)는 제공자가 살아 있다는 뜻이므로 성공으로 센다.
+ */
+@Slf4j
+@Component
+public class LlmCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+
+    private final boolean[] window; // true = 과부하
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public LlmCircuitBreaker(
+            @Value("${llm.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${llm.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${llm.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${llm.circuit-breaker.open-seconds:30}") long openSeconds) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.window = new boolean[this.windowSize];
+    }
+
+    /**
+     * 지금 호출해도 되는지. true 를 받았으면 결과를 record() 로 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                log.info("[llm-circuit] OPEN -> HALF_OPEN");
+                // fall through: 첫 호출을 시험 호출로 보낸다
+            case HALF_OPEN:
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void record(LlmCallOutcome outcome) {
+        boolean overloaded = outcome == LlmCallOutcome.OVERLOADED;
+
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (overloaded) {
+                open();
+            } else {
+                state = State.CLOSED;
+                resetWindow();
+                log.info("[llm-circuit] HALF_OPEN -> CLOSED");
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // 열리기 전에 보낸 호출의 늦은 결과
+        }
+
+        if (windowCount == windowSize && window[windowIndex]) {
+            windowFailures--;
+        }
+        window[windowIndex] = overloaded;
+        if (overloaded) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+        windowCount = Math.min(windowCount + 1, windowSize);
+
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * tryAcquire() 뒤 실제로 호출하지 못했을 때(대기 중 인터럽트 등) 부른다.
+     */
+    public synchronized void abandon() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * OPEN 이면 시험 호출이 가능해질 때까지 남은 시간, 아니면 0.
+     */
+    public synchronized Duration retryAfter() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        long remaining = openNanos - (System.nanoTime() - openedAtNanos);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    private void open() {
+        log.warn("[llm-circuit] {} -> OPEN failures={}/{}", state, windowFailures, windowCount);
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        probeInFlight = false;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        Arrays.fill(window, false);
+    }
+}
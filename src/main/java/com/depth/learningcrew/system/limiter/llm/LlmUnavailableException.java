@@ -0,0 +1,24 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * 서킷이 열려 LLM 호출을 시도하지 않고 바로 실패시킬 때 던진다.
+ * 작업 워커는 이 예외를 실패로 세지 않고 retryAfter 뒤로 작업을 미룬다.
+ */
+@Getter
+public class LlmUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LlmUnavailableException(Duration retryAfter) {
+        this("LLM provider unavailable, retry after " + retryAfter.toMillis() + "ms", retryAfter);
+    }
+
+    protected LlmUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,81 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TokenCounter 추정치를 모델별 실제 사용량(usage metadata)에 맞춰 보정한다.
+ * - 입력/출력 보정 계수를 따로 두고 EWMA 로 갱신한다. 입력 계수는 프롬프트 템플릿 분량까지 흡수한다.
+ * - 처음 몇 번은 1/n 가중치로 빠르게 수렴하고, 이후에는 alpha 로 천천히 따라간다.
+ * - TPM 예약량은 보정한 추정치에 headroom 을 곱한 값이다. 남은 차이는 TpmRateLimiter.reconcile 이 정산한다.
+ */
+@Slf4j
+@Component
+public class TokenCalibrator {
+
+    static final double MIN_FACTOR = 0.25;
+    static final double MAX_FACTOR = 4.0;
+
+    private final double alpha;
+    private final double headroom;
+    private final Map<String, Factors> byModel = new ConcurrentHashMap<>();
+
+    public TokenCalibrator(
+            @Value("${llm.tokens.calibration.alpha:0.2}") double alpha,
+            @Value("${llm.tokens.calibration.headroom:1.1}") double headroom) {
+        this.alpha = alpha;
+        this.headroom = headroom;
+    }
+
+    /**
+     * @return TPM 리미터에 예약할 토큰 수
+     */
+    public long reserve(String model, long inputTokens, long outputTokens) {
+        Factors f = factors(model);
+        return Math.round((inputTokens * f.input + outputTokens * f.output) * headroom);
+    }
+
+    /**
+     * 호출 결과로 계수를 갱신한다. 응답에 usage 가 없으면(null) 해당 방향은 건너뛴다.
+     */
+    public void observe(String model, long inputTokens, long outputTokens, Integer actualInput, Integer actualOutput) {
+        Factors f = factors(model);
+        synchronized (f) {
+            f.samples++;
+            double weight = Math.max(alpha, 1.0 / f.samples);
+            if (actualInput != null && inputTokens > 0)
+                f.input = update(f.input, (double) actualInput / inputTokens, weight);
+            if (actualOutput != null && outputTokens > 0)
+                f.output = update(f.output, (double) actualOutput / outputTokens, weight);
+        }
+        log.debug("[llm-tokens] model={} inputFactor={} outputFactor={}", model, f.input, f.output);
+    }
+
+    public double inputFactor(String model) {
+        return factors(model).input;
+    }
+
+    public double outputFactor(String model) {
+        return factors(model).output;
+    }
+
+    private Factors factors(String model) {
+        return byModel.computeIfAbsent(model, m -> new Factors());
+    }
+
+    private static double update(double current, double observed, double weight) {
+        double clamped = Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, observed));
+        return current + weight * (clamped - current);
+    }
+
+    private static final class Factors {
+        private volatile double input = 1.0;
+        private volatile double output = 1.0;
+        private long samples;
+    }
+}
@@ -0,0 +1,10 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+/**
+ * 프롬프트가 몇 토큰인지 세는 방법. 모델 토크나이저를 붙이려면 구현을 @Primary 빈으로 등록한다.
+ * 결과는 추정치이며 TokenCalibrator 가 실제 사용량으로 보정한다.
+ */
+public interface TokenCounter {
+
+    long count(CharSequence text);
+}
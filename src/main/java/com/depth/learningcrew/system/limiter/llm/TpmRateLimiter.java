@@ -3,60 +3,149 @@ package com.depth.learningcrew.system.limiter.llm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 분당 토큰(TPM) 한도를 지키기 위한 토큰 버킷 리미터.
+ * - 고정 1분 윈도우 대신 매 순간 capacity / 60s 속도로 연속 리필한다.
+ * - 대기자는 도착 순서(FIFO)대로 예약을 받는다. 큰 요청 뒤의 작은 요청이 새치기하지 않는다.
+ * - 호출이 끝나면 reconcile()로 추정치와 실제 사용량의 차이를 돌려받는다(또는 추가 차감한다).
+ */
 @Component
 public class TpmRateLimiter {
 
+    private static final long WINDOW_MS = 60_000L;
+
     private final long capacityPerMinute;
-    private final AtomicLong available;   // 현재 윈도우에서 남은 토큰
-    private volatile long windowStartMs;  // 현재 윈도우 시작 시각(ms)
+    private final double tokensPerNano;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<Object> waiters = new ArrayDeque<>(); // FIFO 대기열 (노드는 단순 식별자)
+    private final LongAdder waitNanos = new LongAdder();
+
+    private double available;      // 현재 버킷 잔량. reconcile 초과분이 있으면 음수(부채)가 될 수 있다.
+    private long lastRefillNanos;
 
     public TpmRateLimiter(@Value("${llm.tpm.capacity:1000000}") long capacityPerMinute) {
         this.capacityPerMinute = capacityPerMinute;
-        this.available = new AtomicLong(capacityPerMinute);
-        this.windowStartMs = System.currentTimeMillis();
+        this.tokensPerNano = (double) capacityPerMinute / TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+        this.available = capacityPerMinute;
+        this.lastRefillNanos = System.nanoTime();
     }
 
-    public void acquire(long tokens) {
-        if (tokens <= 0) return;
-
-        // 요청 토큰이 분당 용량보다 큰 경우: 여러 분에 걸쳐 소비
-        long remaining = tokens;
-        while (remaining > 0) {
-            refillIfNeeded();
-            long canTake = Math.min(remaining, available.get());
-            if (canTake > 0) {
-                long before = available.get();
-                if (before >= canTake && available.compareAndSet(before, before - canTake)) {
-                    remaining -= canTake;
-                    continue;
+    /**
+     * tokens 만큼 예약한다. 앞선 대기자가 모두 예약을 받고, 버킷에 충분한 토큰이 쌓일 때까지 블록된다.
+     * 분당 용량보다 큰 요청은 버킷이 가득 찼을 때 통과시키고 초과분은 부채로 남겨 뒤 요청이 갚게 한다.
+     */
+    public Reservation acquire(long tokens) {
+        if (tokens <= 0) return new Reservation(0);
+
+        long need = Math.min(tokens, capacityPerMinute);
+        Object node = new Object();
+        long start = System.nanoTime();
+
+        lock.lock();
+        try {
+            waiters.addLast(node);
+            try {
+                while (true) {
+                    refill();
+                    if (waiters.peekFirst() == node && available >= need) {
+                        break;
+                    }
+                    if (waiters.peekFirst() == node) {
+                        // 부족분이 리필될 때까지만 대기. reconcile로 토큰이 돌아오면 signal로 먼저 깬다.
+                        long waitNanos = (long) Math.ceil((need - available) / tokensPerNano);
+                        changed.awaitNanos(Math.max(waitNanos, 1_000_000L));
+                    } else {
+                        changed.await();
+                    }
                 }
-                // CAS 경합 시 반복
-                continue;
+            } catch (InterruptedException e) {
+                waiters.remove(node);
+                changed.signalAll();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
             }
 
-            // 현재 윈도우에 토큰이 없으므로 다음 윈도우까지 대기
-            sleepUntilNextWindow();
+            waiters.pollFirst();
+            available -= tokens;
+            waitNanos.add(System.nanoTime() - start);
+            changed.signalAll(); // 다음 대기자 차례
+            return new Reservation(tokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실제 사용량으로 예약을 정산한다.
+     * 추정치가 더 컸다면 차액을 버킷에 돌려주고, 실제가 더 컸다면 부족분을 추가로 차감한다.
+     * actualTokens 를 알 수 없으면(음수) 예약을 그대로 둔다.
+     */
+    public void reconcile(Reservation reservation, long actualTokens) {
+        if (reservation == null || actualTokens < 0 || reservation.reconciled) return;
+        reservation.reconciled = true;
+
+        long delta = reservation.tokens - actualTokens;
+        if (delta == 0) return;
+
+        lock.lock();
+        try {
+            refill();
+            available = Math.min(capacityPerMinute, available + delta);
+            if (delta > 0) {
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    private synchronized void refillIfNeeded() {
-        long now = System.currentTimeMillis();
-        long elapsed = now - windowStartMs;
-        if (elapsed >= 60_000) {
-            windowStartMs = now - (elapsed % 60_000); // 새 윈도우 시작: 단순히 남은 토큰을 capacity로 리필
-            available.set(capacityPerMinute);
+    public long availableTokens() {
+        lock.lock();
+        try {
+            refill();
+            return (long) available;
+        } finally {
+            lock.unlock();
         }
     }
 
-    private void sleepUntilNextWindow() {
-        long now = System.currentTimeMillis();
-        long remain = 60_000 - (now - windowStartMs);
-        if (remain < 5) remain = 5;
-        try { Thread.sleep(Math.min(remain, 1_000)); } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
+    /**
+     * acquire() 에서 예약을 기다린 누적 시간.
+     */
+    public long totalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) return;
+        available = Math.min(capacityPerMinute, available + elapsed * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * acquire() 로 받은 예약. reconcile() 은 예약당 한 번만 반영된다.
+     */
+    public static final class Reservation {
+        private final long tokens;
+        private volatile boolean reconciled;
+
+        private Reservation(long tokens) {
+            this.tokens = tokens;
+        }
+
+        public long getTokens() {
+            return tokens;
         }
     }
 }
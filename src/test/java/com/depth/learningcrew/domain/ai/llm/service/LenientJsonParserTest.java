@@ -0,0 +1,79 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LenientJsonParserTest {
+
+    private final LenientJsonParser parser = new LenientJsonParser(new ObjectMapper());
+
+    @Test
+    @DisplayName("정상 JSON 은 복구 없이 그대로 읽는다")
+    void parseItems_strictJson() {
+        LenientJsonParser.Parsed<QuizzesPayload.Item> parsed = parser.parseItems(
+                "{\"quizzes\":[{\"id\":\"Q1\",\"stem\":\"s\",\"answer\":\"a\"}]}", "quizzes", QuizzesPayload.Item.class);
+
+        assertThat(parsed.items()).extracting(QuizzesPayload.Item::getId).containsExactly("Q1");
+        assertThat(parsed.repaired()).isFalse();
+        assertThat(parsed.dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("코드 펜스, 앞뒤 설명, 끝 콤마, 문자열 안 줄바꿈을 고쳐 읽는다")
+    void parseItems_repairsCommonSyntaxDefects() {
+        String raw = """
+                결과입니다.
+                ```json
+                {"quizzes":[
+                  {"id":"Q1","stem":"첫 줄
+                둘째 줄","answer":"a1"},
+                  {"id":"Q2","stem":"s2","answer":"a2",},
+                ]}
+                ```
+                """;
+
+        LenientJsonParser.Parsed<QuizzesPayload.Item> parsed = parser.parseItems(raw, "quizzes", QuizzesPayload.Item.class);
+
+        assertThat(parsed.items()).extracting(QuizzesPayload.Item::getId).containsExactly("Q1", "Q2");
+        assertThat(parsed.items().get(0).getStem()).isEqualTo("첫 줄\n둘째 줄");
+        assertThat(parsed.repaired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("중간에 잘린 응답에서는 끝까지 닫힌 항목만 살린다")
+    void parseItems_salvagesCompleteItemsFromTruncatedArray() {
+        String raw = "{\"options\":[{\"id\":\"Q1\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"answerIndex\":0},"
+                + "{\"id\":\"Q2\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"answerIndex\":1},"
+                + "{\"id\":\"Q3\",\"choices\":[\"a\",\"b\"";
+
+        LenientJsonParser.Parsed<OptionsPayload.Opt> parsed = parser.parseItems(raw, "options", OptionsPayload.Opt.class);
+
+        assertThat(parsed.items()).extracting(OptionsPayload.Opt::getId).containsExactly("Q1", "Q2");
+        assertThat(parsed.items().get(1).getAnswerIndex()).isEqualTo(1);
+        assertThat(parsed.repaired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("타입에 맞지 않는 항목만 버리고 나머지는 유지한다")
+    void parseItems_dropsOnlyBadItems() {
+        String raw = "{\"options\":[{\"id\":\"Q1\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"answerIndex\":0},"
+                + "{\"id\":\"Q2\",\"choices\":\"a,b,c,d\",\"answerIndex\":\"first\"}]}";
+
+        LenientJsonParser.Parsed<OptionsPayload.Opt> parsed = parser.parseItems(raw, "options", OptionsPayload.Opt.class);
+
+        assertThat(parsed.items()).extracting(OptionsPayload.Opt::getId).containsExactly("Q1");
+        assertThat(parsed.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JSON 이 전혀 없으면 빈 결과")
+    void parseItems_noJson() {
+        assertThat(parser.parseItems("죄송합니다. 만들 수 없습니다.", "quizzes", QuizzesPayload.Item.class).items()).isEmpty();
+    }
+}
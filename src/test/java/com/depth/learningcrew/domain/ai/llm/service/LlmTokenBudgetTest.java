@@ -0,0 +1,88 @@
+package com.depth.learningcrew.domain.ai.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.system.limiter.llm.LlmBudgetExceededException;
+import com.depth.learningcrew.system.limiter.llm.LlmUnavailableException;
+
+class LlmTokenBudgetTest {
+
+    private final LlmTokenLedger ledger = mock(LlmTokenLedger.class);
+
+    @Test
+    @DisplayName("그룹 예산을 다 쓰면 다음 날까지 미루라는 예외를 던지고, 다른 그룹은 계속 호출한다")
+    void check_blocksGroupOverBudget_untilTomorrow() {
+        when(ledger.usedOn(any(LocalDate.class), eq(1L))).thenReturn(900L);
+        when(ledger.usedOn(any(LocalDate.class), eq(2L))).thenReturn(0L);
+        LlmTokenBudget budget = new LlmTokenBudget(ledger, 1_000, 0, 3600);
+
+        budget.check(1L);
+        budget.charge(1L, 150);
+
+        assertThatThrownBy(() -> budget.check(1L))
+                .isInstanceOf(LlmBudgetExceededException.class)
+                .isInstanceOf(LlmUnavailableException.class)
+                .satisfies(e -> assertThat(((LlmUnavailableException) e).getRetryAfter())
+                        .isPositive()
+                        .isLessThanOrEqualTo(Duration.ofDays(1)));
+        assertThatCode(() -> budget.check(2L)).doesNotThrowAnyException();
+        // 새로 읽을 때까지는 원장을 다시 조회하지 않는다
+        verify(ledger, times(1)).usedOn(any(LocalDate.class), eq(1L));
+    }
+
+    @Test
+    @DisplayName("전체 예산은 그룹이 없는 호출에도 적용되고, 0 이면 원장을 조회하지 않는다")
+    void check_appliesGlobalBudget() {
+        when(ledger.usedOn(any(LocalDate.class))).thenReturn(5_000L);
+
+        assertThatThrownBy(() -> new LlmTokenBudget(ledger, 0, 5_000, 3600).check(null))
+                .isInstanceOf(LlmBudgetExceededException.class);
+
+        new LlmTokenBudget(ledger, 0, 0, 3600).check(1L);
+        verify(ledger, never()).usedOn(any(LocalDate.class), any());
+    }
+
+    @Test
+    @DisplayName("다른 호출이 원장을 다시 읽는 동안에는 기다리지 않고 오늘의 직전 사용량으로 판단한다")
+    void check_doesNotWaitForConcurrentRefresh() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ledger.usedOn(any(LocalDate.class), eq(1L)))
+                .thenReturn(100L)
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return 200L;
+                });
+        LlmTokenBudget budget = new LlmTokenBudget(ledger, 1_000, 0, 0); // 매번 다시 읽을 때가 됨
+
+        budget.check(1L);
+        Thread.sleep(2);
+        CompletableFuture<Void> refreshing = CompletableFuture.runAsync(() -> budget.check(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatCode(() -> budget.check(1L)).doesNotThrowAnyException();
+        verify(ledger, times(2)).usedOn(any(LocalDate.class), eq(1L));
+
+        release.countDown();
+        refreshing.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.depth.learningcrew.domain.quiz.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QuizReviewItemTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+  @Test
+  @DisplayName("연속으로 맞히면 간격이 1일, 6일, 이전 간격 × easiness 순으로 늘어난다")
+  void review_WhenCorrectRepeatedly_ShouldGrowInterval() {
+    // given
+    QuizReviewItem item = QuizReviewItem.firstAnswer(null, null, true, T0);
+
+    // then
+    assertThat(item.getIntervalDays()).isEqualTo(1);
+    assertThat(item.getDueAt()).isEqualTo(T0.plusDays(1));
+    assertThat(item.getEasiness()).isCloseTo(2.5, within(1e-9));
+
+    // when
+    item.review(5, T0.plusDays(1));
+    item.review(4, T0.plusDays(7));
+
+    // then
+    assertThat(item.getRepetitions()).isEqualTo(3);
+    assertThat(item.getEasiness()).isCloseTo(2.6, within(1e-9));
+    assertThat(item.getIntervalDays()).isEqualTo(16); // round(6 × 2.6)
+    assertThat(item.getDueAt()).isEqualTo(T0.plusDays(7 + 16));
+    assertThat(item.getLapses()).isZero();
+  }
+
+  @Test
+  @DisplayName("틀리면 간격을 1일로 되돌리고 easiness 를 낮춘다")
+  void review_WhenWrong_ShouldResetIntervalAndCountLapse() {
+    // given
+    QuizReviewItem item = QuizReviewItem.firstAnswer(null, null, true, T0);
+    item.review(4, T0.plusDays(1));
+
+    // when
+    item.review(QuizReviewItem.QUALITY_WRONG, T0.plusDays(7));
+
+    // then
+    assertThat(item.getRepetitions()).isZero();
+    assertThat(item.getIntervalDays()).isEqualTo(1);
+    assertThat(item.getLapses()).isEqualTo(1);
+    assertThat(item.getEasiness()).isCloseTo(2.5 - 0.54, within(1e-9));
+    assertThat(item.getDueAt()).isEqualTo(T0.plusDays(8));
+  }
+
+  @Test
+  @DisplayName("easiness 는 1.3 아래로 내려가지 않는다")
+  void review_WhenAlwaysForgotten_ShouldKeepMinimumEasiness() {
+    // given
+    QuizReviewItem item = QuizReviewItem.firstAnswer(null, null, false, T0);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      item.review(0, T0.plusDays(i + 1));
+    }
+
+    // then
+    assertThat(item.getEasiness()).isEqualTo(QuizReviewItem.MIN_EASINESS);
+    assertThat(item.getLapses()).isZero();
+  }
+
+  @Test
+  @DisplayName("0~5 밖의 응답 품질은 받지 않는다")
+  void review_WithInvalidQuality_ShouldThrow() {
+    QuizReviewItem item = QuizReviewItem.firstAnswer(null, null, true, T0);
+
+    assertThrows(IllegalArgumentException.class, () -> item.review(6, T0));
+  }
+}
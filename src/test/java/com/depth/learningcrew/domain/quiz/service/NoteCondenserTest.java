@@ -0,0 +1,146 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.depth.learningcrew.domain.ai.llm.service.NoteSummarizer;
+import com.depth.learningcrew.domain.note.repository.NoteRepository;
+import com.depth.learningcrew.support.llm.TestLlmInvokers;
+import com.depth.learningcrew.support.metrics.TestMetrics;
+import com.depth.learningcrew.system.limiter.llm.HeuristicTokenCounter;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.AiServices;
+
+class NoteCondenserTest {
+
+    private final NoteRepository noteRepository = mock(NoteRepository.class);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final ChatLanguageModel model = new ChatLanguageModel() {
+        @Override
+        public ChatResponse chat(ChatRequest request) {
+            int n = calls.incrementAndGet();
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("- 요약 " + n))
+                    .tokenUsage(new TokenUsage(100, 10))
+                    .finishReason(FinishReason.STOP)
+                    .build();
+        }
+    };
+
+    @Test
+    @DisplayName("노트가 한 조각에 들어가면 요약 없이 원문을 그대로 쓴다")
+    void condense_passThrough_whenSingleChunk() {
+        when(noteRepository.streamContents(1L, 1)).thenReturn(Stream.of(
+                note("1주차", "프로세스와 스레드"),
+                note("2주차", "스케줄링")));
+
+        String digest = condenser(1_000).condense("OS 스터디", 1, 1L);
+
+        assertThat(digest).isEqualTo("## 1주차\n프로세스와 스레드\n\n## 2주차\n스케줄링\n\n");
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("노트가 여러 조각이면 조각마다 요약하고 요약본을 이어 붙인다")
+    void condense_summarizesEachChunk() {
+        when(noteRepository.streamContents(1L, 1)).thenReturn(Stream.of(
+                note("a", randomText(1, 2_000)), note("b", randomText(2, 2_000)), note("c", randomText(3, 2_000))));
+
+        String digest = condenser(1_000).condense("OS 스터디", 1, 1L);
+
+        assertThat(calls.get()).isGreaterThanOrEqualTo(6);
+        assertThat(digest).contains("- 요약").doesNotContain("컨텍스트 스위칭");
+    }
+
+    @Test
+    @DisplayName("여러 멤버가 붙여 넣은 같은 문단은 한 번만 남는다")
+    void condense_dropsNearDuplicateParagraphs() {
+        String lecture = "컨텍스트 스위칭은 실행 중인 프로세스의 상태를 PCB에 저장하고 다음 프로세스의 상태를 복원하는 과정이다.";
+        when(noteRepository.streamContents(1L, 1)).thenReturn(Stream.of(
+                note("a", lecture + "\n\n내 정리: 비용이 크다"),
+                note("b", lecture.replace("과정이다.", "과정이다") + "\n\n캐시가 비워진다")));
+
+        String digest = condenser(10_000).condense("OS 스터디", 1, 1L);
+
+        assertThat(digest.split("PCB", -1)).hasSize(2);
+        assertThat(digest).contains("내 정리: 비용이 크다", "캐시가 비워진다");
+    }
+
+    @Test
+    @DisplayName("없는 노트는 null")
+    void condense_returnsNull_whenNoNotes() {
+        when(noteRepository.streamContents(1L, 1)).thenReturn(Stream.empty());
+
+        assertThat(condenser(1_000).condense("OS 스터디", 1, 1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("ChunkBuilder: 조각 크기를 넘지 않고 가능하면 줄 경계에서 자른다")
+    void chunkBuilder_splitsOnLineBoundaries() {
+        NoteCondenser.ChunkBuilder builder = new NoteCondenser.ChunkBuilder(10);
+        builder.append("abcd\nefgh\n");
+        builder.append("ijklmnopqrstuvwxyz");
+
+        List<String> chunks = builder.finish();
+
+        assertThat(chunks).allMatch(c -> c.length() <= 10);
+        assertThat(String.join("", chunks)).isEqualTo("abcd\nefgh\nijklmnopqrstuvwxyz");
+        assertThat(chunks.get(0)).isEqualTo("abcd\nefgh\n");
+    }
+
+    private NoteCondenser condenser(int chunkChars) {
+        return new NoteCondenser(
+                noteRepository,
+                AiServices.create(NoteSummarizer.class, model),
+                TestLlmInvokers.unlimited(),
+                new HeuristicTokenCounter(),
+                TestMetrics.quizGeneration(),
+                mock(PlatformTransactionManager.class),
+                chunkChars,
+                100,
+                2,
+                0.8,
+                40);
+    }
+
+    private static String randomText(long seed, int chars) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(chars);
+        while (sb.length() < chars) {
+            sb.append((char) ('가' + rnd.nextInt(11_172)));
+            if (rnd.nextInt(40) == 0) sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static NoteRepository.NoteContent note(String title, String content) {
+        return new NoteRepository.NoteContent() {
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+        };
+    }
+}
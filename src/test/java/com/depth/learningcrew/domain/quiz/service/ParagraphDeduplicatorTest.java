@@ -0,0 +1,48 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ParagraphDeduplicatorTest {
+
+    private static final String LECTURE = """
+            페이지 교체 알고리즘은 물리 메모리가 가득 찼을 때 어떤 페이지를 내보낼지 정한다.
+            FIFO 는 가장 먼저 들어온 페이지를, LRU 는 가장 오랫동안 쓰이지 않은 페이지를 내보낸다.
+            OPT 는 앞으로 가장 오래 쓰이지 않을 페이지를 내보내며 이론적 하한으로만 쓰인다.""";
+
+    @Test
+    @DisplayName("완전히 같은 문단은 두 번째부터 버린다")
+    void accept_dropsExactDuplicate() {
+        ParagraphDeduplicator dedup = new ParagraphDeduplicator(0.8, 40);
+
+        assertThat(dedup.accept(LECTURE)).isTrue();
+        assertThat(dedup.accept(LECTURE)).isFalse();
+        assertThat(dedup.getDroppedParagraphs()).isEqualTo(1);
+        assertThat(dedup.getDroppedChars()).isEqualTo(LECTURE.length());
+    }
+
+    @Test
+    @DisplayName("공백/구두점/대소문자만 다르거나 한 단어만 바뀐 문단도 중복으로 본다")
+    void accept_dropsNearDuplicate() {
+        ParagraphDeduplicator dedup = new ParagraphDeduplicator(0.8, 40);
+        dedup.accept(LECTURE);
+
+        assertThat(dedup.accept(LECTURE.replace("\n", " ").replace(".", "").toLowerCase())).isFalse();
+        assertThat(dedup.accept(LECTURE.replace("이론적 하한", "이론상 하한"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("내용이 다른 문단과 짧은 문단은 남긴다")
+    void accept_keepsDistinctAndShortParagraphs() {
+        ParagraphDeduplicator dedup = new ParagraphDeduplicator(0.8, 40);
+        dedup.accept(LECTURE);
+
+        assertThat(dedup.accept("세마포어는 공유 자원에 접근할 수 있는 스레드 수를 카운터로 제한하는 동기화 도구다. "
+                + "P 연산으로 감소시키고 V 연산으로 증가시킨다.")).isTrue();
+        assertThat(dedup.accept("요약")).isTrue();
+        assertThat(dedup.accept("요약")).isTrue();
+        assertThat(dedup.getDroppedParagraphs()).isZero();
+    }
+}
@@ -0,0 +1,157 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.note.repository.NoteRepository;
+import com.depth.learningcrew.domain.quiz.entity.QuizDraftCacheEntry;
+import com.depth.learningcrew.domain.quiz.repository.QuizDraftCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "quiz.draft-cache.max-entries=2")
+@ActiveProfiles("test")
+class QuizDraftCacheIntegrationTest {
+
+    @Autowired
+    private QuizDraftCache draftCache;
+
+    @Autowired
+    private QuizDraftCacheRepository cacheRepository;
+
+    @AfterEach
+    void tearDown() {
+        cacheRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("저장한 초안을 그대로 다시 읽는다")
+    void putAndGet_roundTrip() {
+        draftCache.put("k1", 1L, 1, draft("Q1", "정답"));
+
+        QuizDraft cached = draftCache.get("k1").orElseThrow();
+
+        assertThat(cached.quizzes().getQuizzes()).extracting(QuizzesPayload.Item::getAnswer).containsExactly("정답");
+        assertThat(cached.options().getOptions().get(0).getChoices()).containsExactly("정답", "a", "b", "c");
+        assertThat(draftCache.get("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("만료된 항목은 조회되지 않고 evict 에서 지워진다")
+    void expiredEntry_isIgnoredAndEvicted() {
+        draftCache.put("k1", 1L, 1, draft("Q1", "정답"));
+        QuizDraftCacheEntry entry = cacheRepository.findById("k1").orElseThrow();
+        entry.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        cacheRepository.save(entry);
+
+        assertThat(draftCache.get("k1")).isEmpty();
+        assertThat(draftCache.evict()).isEqualTo(1);
+        assertThat(cacheRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("max-entries 를 넘으면 오래된 항목부터 지운다")
+    void evict_removesOldestOverCapacity() throws InterruptedException {
+        for (int i = 1; i <= 3; i++) {
+            draftCache.put("k" + i, 1L, i, draft("Q1", "정답"));
+            Thread.sleep(5);
+        }
+
+        assertThat(draftCache.evict()).isEqualTo(1);
+        assertThat(cacheRepository.findAll()).extracting(QuizDraftCacheEntry::getCacheKey)
+                .containsExactlyInAnyOrder("k2", "k3");
+    }
+
+    @Test
+    @DisplayName("덮어쓴 항목은 생성 시각을 유지하고, 용량 정리 때 새로 저장한 것으로 남는다")
+    void overwriteThenEvict_keepsRefreshedEntry() throws InterruptedException {
+        for (int i = 1; i <= 3; i++) {
+            draftCache.put("k" + i, 1L, i, draft("Q1", "정답"));
+            Thread.sleep(5);
+        }
+        LocalDateTime createdAt = cacheRepository.findById("k1").orElseThrow().getCreatedAt();
+
+        draftCache.put("k1", 1L, 1, draft("Q1", "새 정답"));
+
+        QuizDraftCacheEntry refreshed = cacheRepository.findById("k1").orElseThrow();
+        assertThat(refreshed.getCreatedAt()).isNotNull().isEqualTo(createdAt);
+        assertThat(draftCache.get("k1").orElseThrow().quizzes().getQuizzes().get(0).getAnswer()).isEqualTo("새 정답");
+
+        assertThat(draftCache.evict()).isEqualTo(1);
+        assertThat(cacheRepository.findAll()).extracting(QuizDraftCacheEntry::getCacheKey)
+                .containsExactlyInAnyOrder("k1", "k3");
+    }
+
+    @Test
+    @DisplayName("캐시 키: 노트/프롬프트 버전이 바뀌면 달라지고, 노트가 없으면 null")
+    void keyOf_dependsOnNotesAndPromptVersion() {
+        NoteRepository notes = mock(NoteRepository.class);
+        when(notes.streamContents(1L, 1))
+                .thenReturn(Stream.of(note("1주차", "프로세스")))
+                .thenReturn(Stream.of(note("1주차", "프로세스")))
+                .thenReturn(Stream.of(note("1주차", "프로세스와 스레드")))
+                .thenReturn(Stream.of(note("1주차", "프로세스")));
+        when(notes.streamContents(1L, 2)).thenReturn(Stream.empty());
+
+        QuizDraftCache v1 = cache(notes, "1");
+        QuizDraftCache v2 = cache(notes, "2");
+
+        String first = v1.keyOf("OS 스터디", 1, 1L);
+        assertThat(first).hasSize(64);
+        assertThat(v1.keyOf("OS 스터디", 1, 1L)).isEqualTo(first);
+        assertThat(v1.keyOf("OS 스터디", 1, 1L)).isNotEqualTo(first);
+        assertThat(v2.keyOf("OS 스터디", 1, 1L)).isNotEqualTo(first);
+        assertThat(v1.keyOf("OS 스터디", 2, 1L)).isNull();
+    }
+
+    private QuizDraftCache cache(NoteRepository notes, String promptVersion) {
+        return new QuizDraftCache(cacheRepository, notes, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                promptVersion, QuizGenerationMode.TWO_PHASE, 14, 5000);
+    }
+
+    private static QuizDraft draft(String id, String answer) {
+        QuizzesPayload.Item item = new QuizzesPayload.Item();
+        item.setId(id);
+        item.setStem("질문");
+        item.setAnswer(answer);
+        QuizzesPayload q = new QuizzesPayload();
+        q.setQuizzes(List.of(item));
+
+        OptionsPayload.Opt opt = new OptionsPayload.Opt();
+        opt.setId(id);
+        opt.setChoices(List.of(answer, "a", "b", "c"));
+        opt.setAnswerIndex(0);
+        OptionsPayload opts = new OptionsPayload();
+        opts.setOptions(List.of(opt));
+        return new QuizDraft(q, opts);
+    }
+
+    private static NoteRepository.NoteContent note(String title, String content) {
+        return new NoteRepository.NoteContent() {
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,297 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.ai.llm.service.LenientJsonParser;
+import com.depth.learningcrew.domain.ai.llm.service.OptionGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizBundleGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.StreamingQuizGenerator;
+import com.depth.learningcrew.domain.quiz.repository.QuizRepository;
+import com.depth.learningcrew.support.llm.StubQuizChatModel;
+import com.depth.learningcrew.support.llm.StubStreamingQuizChatModel;
+import com.depth.learningcrew.support.llm.TestLlmInvokers;
+import com.depth.learningcrew.support.metrics.TestMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.langchain4j.service.AiServices;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuizDraftGeneratorTest {
+
+    private static final Set<String> BROKEN = Set.of("Q3", "Q7");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("두 단계 모드: 보기가 잘못된 문항만 다시 요청하고 나머지는 유지한다")
+    void twoPhase_regeneratesOnlyFailingOptions() {
+        BrokenOnceModel model = new BrokenOnceModel();
+        QuizDraftGenerator generator = generator(model, QuizGenerationMode.TWO_PHASE);
+
+        QuizDraft draft = generator.generate("OS 스터디", 1, "노트");
+
+        assertThat(model.optionRequestSizes).containsExactly(20, 2);
+        assertThat(model.getCalls()).isEqualTo(3);
+        assertThat(itemRetries()).isEqualTo(2);
+        assertValid(draft);
+    }
+
+    @Test
+    @DisplayName("단일 호출 모드: 보기가 잘못된 문항만 보기 생성기로 보충한다")
+    void singleCall_fillsFailingItemsWithOptionGenerator() {
+        BrokenOnceModel model = new BrokenOnceModel();
+        QuizDraftGenerator generator = generator(model, QuizGenerationMode.SINGLE_CALL);
+
+        QuizDraft draft = generator.generate("OS 스터디", 1, "노트");
+
+        assertThat(model.optionRequestSizes).containsExactly(2);
+        assertThat(model.getCalls()).isEqualTo(2);
+        assertValid(draft);
+    }
+
+    @Test
+    @DisplayName("잘린 문제 응답: 닫힌 문항은 살리고 빠진 문항만 추가로 요청한다")
+    void twoPhase_salvagesTruncatedQuizzesAndTopsUpMissing() {
+        TruncatedOnceModel model = new TruncatedOnceModel();
+        QuizDraftGenerator generator = generator(model, QuizGenerationMode.TWO_PHASE);
+
+        QuizDraft draft = generator.generate("OS 스터디", 1, "노트");
+
+        assertThat(model.quizRequests).hasSize(2);
+        assertThat(model.quizRequests.get(1)).contains("Existing quizzes").contains("\"Q15\"").doesNotContain("\"Q16\"");
+        assertThat(draft.quizzes().getQuizzes()).extracting(QuizzesPayload.Item::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).mapToObj(i -> "Q" + i).toList());
+        assertThat(model.getCalls()).isEqualTo(3);
+        assertValid(draft);
+    }
+
+    @Test
+    @DisplayName("이전 스텝과 겹치는 문항만 새 id 로 다시 요청해 바꾼다")
+    void twoPhase_replacesOnlyStemsOverlappingEarlierSteps() {
+        TopicModel model = new TopicModel();
+        QuizDraftGenerator generator = generator(model, QuizGenerationMode.TWO_PHASE);
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        when(quizRepository.findStemsByStudyGroupId(1L)).thenReturn(List.of(
+                earlierStem("세마포어와 뮤텍스의  차이점은, 무엇인가"),
+                earlierStem("컨텍스트 스위칭 시 PCB 에 저장되는 값은 무엇인가?")));
+        QuizStemFilter stemFilter = new QuizStemIndex(quizRepository, true, 10, 100, 30).filterFor(1L, 2);
+
+        QuizDraft draft = generator.generate("OS 스터디", 2, "노트", stemFilter);
+
+        assertThat(model.topUpIds).containsExactly("Q21,Q22");
+        assertThat(draft.quizzes().getQuizzes()).extracting(QuizzesPayload.Item::getId)
+                .doesNotContain("Q5", "Q10")
+                .contains("Q21", "Q22");
+        assertThat(draft.quizzes().getQuizzes()).extracting(QuizzesPayload.Item::getStem)
+                .noneMatch(stemFilter::matchesEarlierStep);
+        assertThat(meterRegistry.find("quiz.generation.retries").tag("reason", "near_duplicate").counter().count())
+                .isEqualTo(2);
+        assertValid(draft);
+    }
+
+    private static QuizRepository.QuizStem earlierStem(String stem) {
+        return new QuizRepository.QuizStem() {
+            @Override
+            public Integer getStep() {
+                return 1;
+            }
+
+            @Override
+            public String getStem() {
+                return stem;
+            }
+        };
+    }
+
+    private double itemRetries() {
+        return meterRegistry.find("quiz.generation.retries").tag("scope", "item").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void assertValid(QuizDraft draft) {
+        assertThat(draft.options().getOptions()).hasSize(20);
+        assertThat(draft.options().getOptions())
+                .extracting(OptionsPayload.Opt::getId)
+                .containsExactlyElementsOf(draft.quizzes().getQuizzes().stream().map(it -> it.getId()).toList());
+        new QuizPayloadValidator().validateAll(draft.quizzes(), draft.options());
+    }
+
+    @Test
+    @DisplayName("스트리밍 모드: 문항이 다 오기 전에 먼저 완성된 문항의 보기 생성을 시작한다")
+    void streaming_startsOptionsBeforeStemsFinish() {
+        RecordingModel model = new RecordingModel();
+        StubStreamingQuizChatModel streaming = new StubStreamingQuizChatModel(model, 32, 5);
+        QuizDraftGenerator generator = generator(model, streaming, QuizGenerationMode.STREAMING);
+
+        QuizDraft draft = generator.generate("OS 스터디", 1, "노트");
+
+        assertThat(model.optionRequestSizes).containsExactly(5, 5, 5, 5);
+        assertThat(model.firstOptionRequestAtNanos.get()).isLessThan(streaming.getLastCompletedAtNanos());
+        assertValid(draft);
+    }
+
+    private QuizDraftGenerator generator(StubQuizChatModel model, QuizGenerationMode mode) {
+        return generator(model, new StubStreamingQuizChatModel(model, 32, 0), mode);
+    }
+
+    private QuizDraftGenerator generator(StubQuizChatModel model, StubStreamingQuizChatModel streaming,
+                                         QuizGenerationMode mode) {
+        return new QuizDraftGenerator(
+                AiServices.create(QuizGenerator.class, model),
+                AiServices.create(OptionGenerator.class, model),
+                AiServices.create(QuizBundleGenerator.class, model),
+                AiServices.builder(StreamingQuizGenerator.class).streamingChatLanguageModel(streaming).build(),
+                new QuizPayloadValidator(),
+                TestLlmInvokers.unlimited(meterRegistry),
+                new ObjectMapper(),
+                new LenientJsonParser(new ObjectMapper()),
+                TestMetrics.quizGeneration(meterRegistry),
+                mode,
+                2,
+                5);
+    }
+
+    private static class RecordingModel extends StubQuizChatModel {
+        private final List<Integer> optionRequestSizes = new CopyOnWriteArrayList<>();
+        private final AtomicLong firstOptionRequestAtNanos = new AtomicLong();
+
+        RecordingModel() {
+            super(0, 0, 0);
+        }
+
+        @Override
+        protected List<Map<String, Object>> optionsFor(String user) throws Exception {
+            firstOptionRequestAtNanos.compareAndSet(0, System.nanoTime());
+            List<Map<String, Object>> options = super.optionsFor(user);
+            optionRequestSizes.add(options.size());
+            return options;
+        }
+    }
+
+    // 서로 다른 주제의 문항을 주고, 보충 요청에는 요청한 id 로 새 문항을 준다.
+    private static class TopicModel extends StubQuizChatModel {
+        private static final List<String> STEMS = List.of(
+                "프로세스와 스레드의 차이점은 무엇인가?", "페이지 교체 알고리즘 중 LRU의 특징은?",
+                "가상 메모리를 사용하는 주된 이유는 무엇인가?", "교착 상태가 발생하기 위한 네 가지 조건은?",
+                "세마포어와 뮤텍스의 차이점은 무엇인가?", "선점형 스케줄링 알고리즘의 예는?",
+                "캐시 메모리가 활용하는 지역성의 종류는?", "인터럽트가 발생했을 때 CPU가 가장 먼저 하는 일은?",
+                "inode에 저장되는 파일 정보는?", "컨텍스트 스위칭 때 PCB에 저장되는 값은?",
+                "임계 구역 문제 해결의 세 가지 조건은?", "세그멘테이션과 페이징의 차이는?",
+                "스래싱이 발생하는 원인은?", "DMA 컨트롤러의 역할은?", "RAID 1 구성의 장점은?",
+                "라운드 로빈 스케줄링에서 타임 슬라이스가 너무 크면?", "TLB 적중률이 성능에 미치는 영향은?",
+                "내부 단편화와 외부 단편화의 차이는?", "fork 시스템 호출의 반환값 의미는?",
+                "멀티레벨 피드백 큐의 특징은?");
+        private static final List<String> REPLACEMENTS = List.of(
+                "RAID 5의 패리티는 어떻게 저장되는가?", "스핀락이 유리한 상황은?");
+        private static final Pattern IDS = Pattern.compile("ids in order: ([^\\s]+)");
+
+        private final List<String> topUpIds = new CopyOnWriteArrayList<>();
+
+        TopicModel() {
+            super(0, 0, 0);
+        }
+
+        @Override
+        protected String respond(String system, String user) {
+            Matcher m = IDS.matcher(system);
+            if (!m.find()) {
+                return super.respond(system, user);
+            }
+            topUpIds.add(m.group(1));
+            List<String> ids = List.of(m.group(1).split(","));
+            List<Map<String, Object>> items = IntStream.range(0, ids.size())
+                    .mapToObj(i -> Map.<String, Object>of("id", ids.get(i), "stem", REPLACEMENTS.get(i),
+                            "answer", "대체 정답 " + i))
+                    .toList();
+            try {
+                return new ObjectMapper().writeValueAsString(Map.of("quizzes", items));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected List<Map<String, Object>> quizItems(int count) {
+            List<Map<String, Object>> items = super.quizItems(count);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).put("stem", STEMS.get(i));
+            }
+            return items;
+        }
+    }
+
+    // 첫 문제 응답만 코드 펜스로 감싸고 Q16 중간에서 자른다.
+    private static class TruncatedOnceModel extends StubQuizChatModel {
+        private final List<String> quizRequests = new CopyOnWriteArrayList<>();
+
+        TruncatedOnceModel() {
+            super(0, 0, 0);
+        }
+
+        @Override
+        protected String respond(String system, String user) {
+            String body = super.respond(system, user);
+            if (system.contains("\"answerIndex\"")) {
+                return body;
+            }
+            quizRequests.add(user);
+            if (quizRequests.size() > 1) {
+                return body;
+            }
+            return "```json\n" + body.substring(0, body.indexOf("{\"id\":\"Q16\"") + 20);
+        }
+    }
+
+    // 첫 응답에서만 Q3, Q7 의 정답 위치를 틀리게 준다.
+    private static class BrokenOnceModel extends StubQuizChatModel {
+        private final List<Integer> optionRequestSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger responses = new AtomicInteger();
+
+        BrokenOnceModel() {
+            super(0, 0, 0);
+        }
+
+        @Override
+        protected List<Map<String, Object>> optionsFor(String user) throws Exception {
+            List<Map<String, Object>> options = super.optionsFor(user);
+            optionRequestSizes.add(options.size());
+            return responses.getAndIncrement() == 0 ? breakSome(options) : options;
+        }
+
+        @Override
+        protected List<Map<String, Object>> bundleItems(int count) {
+            responses.incrementAndGet();
+            return breakSome(super.bundleItems(count));
+        }
+
+        private List<Map<String, Object>> breakSome(List<Map<String, Object>> items) {
+            for (Map<String, Object> m : items) {
+                if (BROKEN.contains(m.get("id"))) {
+                    m.put("answerIndex", 2);
+                }
+            }
+            return items;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationStage;
+import com.depth.learningcrew.domain.quiz.repository.QuizGenerationJobRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuizGenerationJobServiceIntegrationTest {
+
+    @Autowired
+    private QuizGenerationJobService jobService;
+
+    @Autowired
+    private QuizGenerationJobRepository jobRepository;
+
+    @AfterEach
+    void tearDown() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 (group, step) 은 대기 중인 동안 한 번만 큐에 들어간다")
+    void enqueue_deduplicates_activeJob() {
+        assertThat(jobService.enqueue(1L, 1, false)).isTrue();
+        assertThat(jobService.enqueue(1L, 1, false)).isFalse();
+        assertThat(jobService.enqueue(1L, 1, true)).isFalse();
+
+        assertThat(jobRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 작업은 하나의 노드만 lease 를 잡는다")
+    void claim_isExclusive() {
+        jobService.enqueue(1L, 1, false);
+        jobService.enqueue(1L, 2, false);
+
+        List<QuizGenerationJob> nodeA = jobService.claim("node-a", 10);
+        List<QuizGenerationJob> nodeB = jobService.claim("node-b", 10);
+
+        assertThat(nodeA).hasSize(2);
+        assertThat(nodeB).isEmpty();
+        assertThat(nodeA).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(QuizGenerationJobStatus.RUNNING);
+            assertThat(job.getLeaseOwner()).isEqualTo("node-a");
+            assertThat(job.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("lease 가 만료된 작업은 다른 노드가 이어받는다")
+    void claim_takesOverExpiredLease() {
+        jobService.enqueue(1L, 1, false);
+        QuizGenerationJob job = jobService.claim("node-a", 1).get(0);
+
+        job.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        jobRepository.save(job);
+
+        List<QuizGenerationJob> takenOver = jobService.claim("node-b", 1);
+        assertThat(takenOver).hasSize(1);
+        assertThat(takenOver.get(0).getLeaseOwner()).isEqualTo("node-b");
+        assertThat(takenOver.get(0).getAttempts()).isEqualTo(2);
+
+        // 이전 소유자는 더 이상 결과를 기록할 수 없다
+        jobService.markSucceeded(job, "node-a", 0);
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getStatus())
+                .isEqualTo(QuizGenerationJobStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("실패하면 백오프 후 다시 대기하고, 성공하면 SUCCEEDED 로 끝난다")
+    void markFailed_thenSucceeded() {
+        jobService.enqueue(1L, 1, false);
+        QuizGenerationJob job = jobService.claim("node-a", 1).get(0);
+
+        jobService.markFailed(job, "node-a", new IllegalStateException("Questions must be exactly 20"), 1_000);
+
+        QuizGenerationJob failed = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(QuizGenerationJobStatus.PENDING);
+        assertThat(failed.getNextRunAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getLastError()).contains("Questions must be exactly 20");
+        assertThat(jobService.claim("node-a", 1)).isEmpty(); // 아직 next_run_at 전
+
+        failed.setNextRunAt(LocalDateTime.now().minusSeconds(1));
+        jobRepository.save(failed);
+        QuizGenerationJob retried = jobService.claim("node-a", 1).get(0);
+        jobService.markSucceeded(retried, "node-a", 500);
+
+        QuizGenerationJob succeeded = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(succeeded.getStatus()).isEqualTo(QuizGenerationJobStatus.SUCCEEDED);
+        assertThat(succeeded.getStage()).isEqualTo(QuizGenerationStage.PERSISTED);
+        assertThat(succeeded.getTokensUsed()).isEqualTo(1_500);
+        assertThat(succeeded.getFinishedAt()).isNotNull();
+        assertThat(jobService.enqueue(1L, 1, false)).isFalse();
+        assertThat(jobService.enqueue(1L, 1, true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("실패하거나 취소된 작업은 force 없이 다시 큐에 들어가지 않는다")
+    void enqueue_withoutForce_skipsFailedAndCancelledJobs() {
+        jobService.enqueue(1L, 1, false, "nightly");
+        QuizGenerationJob job = jobService.claim("node-a", 1).get(0);
+        job.setMaxAttempts(1);
+        jobService.markFailed(job, "node-a", new IllegalStateException("boom"), 0);
+        jobService.enqueue(1L, 2, false, "admin");
+        jobService.cancelBatch("admin");
+
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getStatus())
+                .isEqualTo(QuizGenerationJobStatus.FAILED);
+        assertThat(jobService.enqueue(1L, 1, false, "nightly-2")).isFalse();
+        assertThat(jobService.enqueue(1L, 2, false, "nightly-2")).isFalse();
+        assertThat(jobService.claim("node-a", 10)).isEmpty();
+
+        // 관리자 단건 요청만 되살리고, 그때 시도 횟수를 새로 채운다
+        assertThat(jobService.enqueue(1L, 1, true, "target")).isTrue();
+        QuizGenerationJob revived = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(revived.getStatus()).isEqualTo(QuizGenerationJobStatus.PENDING);
+        assertThat(revived.getAttempts()).isZero();
+        assertThat(revived.getBatchId()).isEqualTo("target");
+    }
+
+    @Test
+    @DisplayName("단건 요청을 반복하면 이미 대기 중인 작업의 배치 id 를 돌려주고, 그 id 로 조회/취소할 수 있다")
+    void enqueueTarget_repeatTrigger_returnsExistingBatch() {
+        QuizGenerationJob first = jobService.enqueueTarget(1L, 1, "target-1");
+        QuizGenerationJob repeated = jobService.enqueueTarget(1L, 1, "target-2");
+
+        assertThat(first.getBatchId()).isEqualTo("target-1");
+        assertThat(repeated.getId()).isEqualTo(first.getId());
+        assertThat(repeated.getBatchId()).isEqualTo("target-1");
+        assertThat(jobService.findBatch(repeated.getBatchId())).hasSize(1);
+
+        jobService.cancelBatch(repeated.getBatchId());
+        assertThat(jobService.enqueueTarget(1L, 1, "target-3").getBatchId()).isEqualTo("target-3");
+    }
+
+    @Test
+    @DisplayName("배치 id 로 묶어 조회하고, 단계 갱신을 기록한다")
+    void batch_tracksStages() {
+        jobService.enqueue(1L, 1, false, "batch-1");
+        jobService.enqueue(1L, 2, false, "batch-1");
+        jobService.enqueue(1L, 3, false, "batch-2");
+
+        QuizGenerationJob job = jobService.claim("node-a", 1).get(0);
+        assertThat(jobService.updateStage(job, "node-a", QuizGenerationStage.CALLING_LLM)).isTrue();
+        assertThat(jobService.updateStage(job, "node-b", QuizGenerationStage.VALIDATING)).isFalse();
+
+        List<QuizGenerationJob> batch = jobService.findBatch("batch-1");
+        assertThat(batch).extracting(QuizGenerationJob::getStep).containsExactly(1, 2);
+        assertThat(batch.get(0).getStage()).isEqualTo(QuizGenerationStage.CALLING_LLM);
+        assertThat(batch.get(0).getStartedAt()).isNotNull();
+        assertThat(batch.get(1).getStage()).isEqualTo(QuizGenerationStage.QUEUED);
+    }
+
+    @Test
+    @DisplayName("배치를 취소하면 대기/실행 중 작업이 멈추고 이전 소유자는 결과를 기록하지 못한다")
+    void cancelBatch_stopsPendingAndRunningJobs() {
+        jobService.enqueue(1L, 1, false, "batch-1");
+        jobService.enqueue(1L, 2, false, "batch-1");
+        QuizGenerationJob running = jobService.claim("node-a", 1).get(0);
+
+        List<Long> interrupted = jobService.cancelBatch("batch-1");
+
+        assertThat(interrupted).containsExactly(running.getId());
+        assertThat(jobService.findBatch("batch-1")).allSatisfy(j -> {
+            assertThat(j.getStatus()).isEqualTo(QuizGenerationJobStatus.CANCELLED);
+            assertThat(j.getStage()).isEqualTo(QuizGenerationStage.CANCELLED);
+        });
+        assertThat(jobService.updateStage(running, "node-a", QuizGenerationStage.PERSISTING)).isFalse();
+        jobService.markSucceeded(running, "node-a", 100);
+        assertThat(jobRepository.findById(running.getId()).orElseThrow().getStatus())
+                .isEqualTo(QuizGenerationJobStatus.CANCELLED);
+        assertThat(jobService.claim("node-b", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("우선순위가 높은 작업을 먼저 가져가고, 단건 요청은 대기 중인 작업을 앞으로 당긴다")
+    void claim_followsPriority_andInteractiveJumpsQueue() {
+        LocalDate today = LocalDate.of(2025, 7, 10);
+        jobService.enqueue(1L, 1, true, "backfill", QuizGenerationJobService.priorityOf(today.minusDays(30), 50, today));
+        jobService.enqueue(2L, 1, true, "backfill", QuizGenerationJobService.priorityOf(today.minusDays(1), 3, today));
+        jobService.enqueue(3L, 1, true, "backfill", QuizGenerationJobService.priorityOf(today.minusDays(1), 20, today));
+        jobService.enqueue(4L, 1, true, "backfill", QuizGenerationJobService.priorityOf(today.minusDays(400), 999, today));
+
+        // 이미 대기 중이라 새로 들어가지는 않지만 우선순위는 올라간다
+        assertThat(jobService.enqueue(4L, 1, true, "target", QuizGenerationJobService.INTERACTIVE_PRIORITY)).isFalse();
+
+        List<Long> order = List.of(
+                jobService.claim("node-a", 1).get(0).getStudyGroupId(),
+                jobService.claim("node-a", 1).get(0).getStudyGroupId(),
+                jobService.claim("node-a", 1).get(0).getStudyGroupId(),
+                jobService.claim("node-a", 1).get(0).getStudyGroupId());
+        assertThat(order).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("LLM 장애로 미룬 작업은 시도 횟수를 쓰지 않고 다시 대기한다")
+    void defer_doesNotConsumeAttempt() {
+        jobService.enqueue(1L, 1, false);
+        QuizGenerationJob job = jobService.claim("node-a", 1).get(0);
+
+        jobService.defer(job, "node-a", Duration.ofSeconds(30), new IllegalStateException("circuit open"), 0);
+
+        QuizGenerationJob deferred = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(deferred.getStatus()).isEqualTo(QuizGenerationJobStatus.PENDING);
+        assertThat(deferred.getStage()).isEqualTo(QuizGenerationStage.QUEUED);
+        assertThat(deferred.getAttempts()).isZero();
+        assertThat(deferred.getLeaseOwner()).isNull();
+        assertThat(deferred.getNextRunAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("사전 생성 작업은 한가한 시간대에만 가져가고, 정식 작업이 있으면 들어가지 않는다")
+    void draft_claimedOnlyWhenIncluded_andNeverReplacesRealJob() {
+        assertThat(jobService.enqueueDraft(1L, 1, "pregen")).isTrue();
+        jobService.enqueue(2L, 1, false);
+        assertThat(jobService.enqueueDraft(2L, 1, "pregen")).isFalse();
+
+        assertThat(jobService.claim("node-a", 10, false)).extracting(QuizGenerationJob::getStudyGroupId)
+                .containsExactly(2L);
+        QuizGenerationJob draft = jobService.claim("node-a", 10, true).get(0);
+        assertThat(draft.getStudyGroupId()).isEqualTo(1L);
+        assertThat(draft.isDraft()).isTrue();
+
+        assertThat(jobService.markDrafted(draft, "node-a", 10)).isTrue();
+        QuizGenerationJob drafted = jobRepository.findById(draft.getId()).orElseThrow();
+        assertThat(drafted.getStatus()).isEqualTo(QuizGenerationJobStatus.SUCCEEDED);
+        assertThat(drafted.getStage()).isEqualTo(QuizGenerationStage.DRAFTED);
+    }
+
+    @Test
+    @DisplayName("끝난 사전 생성 작업은 스텝이 끝나면 force 없이도 정식 작업으로 다시 들어간다")
+    void enqueue_requeuesFinishedDraftAsRealJob() {
+        jobService.enqueueDraft(1L, 1, "pregen");
+        QuizGenerationJob draft = jobService.claim("node-a", 1, true).get(0);
+        jobService.markDrafted(draft, "node-a", 10);
+
+        assertThat(jobService.enqueue(1L, 1, false, "nightly", 5)).isTrue();
+
+        QuizGenerationJob requeued = jobRepository.findById(draft.getId()).orElseThrow();
+        assertThat(requeued.getStatus()).isEqualTo(QuizGenerationJobStatus.PENDING);
+        assertThat(requeued.isDraft()).isFalse();
+        assertThat(requeued.getBatchId()).isEqualTo("nightly");
+        assertThat(jobService.claim("node-a", 1, false)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("실행 중인 사전 생성 작업이 정식 작업으로 올라가면 초안 완료로 끝내지 않는다")
+    void enqueue_promotesRunningDraft() {
+        jobService.enqueueDraft(1L, 1, "pregen");
+        QuizGenerationJob draft = jobService.claim("node-a", 1, true).get(0);
+
+        assertThat(jobService.enqueue(1L, 1, false, "nightly", 5)).isTrue();
+        assertThat(jobService.markDrafted(draft, "node-a", 10)).isFalse();
+
+        jobService.markSucceeded(draft, "node-a", 20);
+        QuizGenerationJob done = jobRepository.findById(draft.getId()).orElseThrow();
+        assertThat(done.isDraft()).isFalse();
+        assertThat(done.getStage()).isEqualTo(QuizGenerationStage.PERSISTED);
+        assertThat(done.getBatchId()).isEqualTo("nightly");
+        assertThat(done.getTokensUsed()).isEqualTo(20L);
+    }
+}
@@ -0,0 +1,246 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.depth.learningcrew.domain.ai.llm.service.LlmInvoker;
+import com.depth.learningcrew.domain.note.entity.Note;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJob;
+import com.depth.learningcrew.domain.quiz.entity.QuizGenerationJobStatus;
+import com.depth.learningcrew.domain.quiz.schedule.QuizGenerationJobWorker;
+import com.depth.learningcrew.domain.quiz.schedule.QuizScheduler;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.support.llm.FakeChatModelConfig;
+import com.depth.learningcrew.support.llm.FakeQuizChatModel;
+import com.depth.learningcrew.system.limiter.llm.AdaptiveConcurrencyLimiter;
+import com.depth.learningcrew.system.limiter.llm.TpmRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 어제 끝난 스텝 N개(기본 500)를 한 번에 스케줄러에 넣고, 가짜 LLM 으로 작업 큐가 비워질 때까지 돌린다.
+ * ./gradlew loadTest -Dloadtest.steps=500 -Dloadtest.latency-ms=800 -Dloadtest.failure-rate=0.05
+ * 처리량, 스텝 지연(p50/p99), 재시도 수, 리미터 대기 시간, 단계별 소요 시간을 출력한다.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "llm.provider=fake",
+        "quiz.job.retry-base-delay-seconds=1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "spring.datasource.hikari.maximum-pool-size=40"
+})
+@ActiveProfiles("test")
+@Import(FakeChatModelConfig.class)
+@DirtiesContext
+class QuizGenerationLoadTest {
+
+    private static final int STEPS = Integer.getInteger("loadtest.steps", 500);
+    private static final long TIMEOUT_SECONDS = Long.getLong("loadtest.timeout-seconds", 900);
+
+    @DynamicPropertySource
+    static void loadProperties(DynamicPropertyRegistry registry) {
+        registry.add("llm.fake.latency-ms", () -> System.getProperty("loadtest.latency-ms", "300"));
+        registry.add("llm.fake.failure-rate", () -> System.getProperty("loadtest.failure-rate", "0.02"));
+        registry.add("llm.fake.malformed-rate", () -> System.getProperty("loadtest.malformed-rate", "0.02"));
+        registry.add("llm.fake.token-usage-scale", () -> System.getProperty("loadtest.token-usage-scale", "1.0"));
+        registry.add("llm.tpm.capacity", () -> System.getProperty("loadtest.tpm", "4000000"));
+        registry.add("llm.concurrency.max", () -> System.getProperty("loadtest.max-llm-concurrency", "32"));
+        registry.add("quiz.job.max-concurrent", () -> System.getProperty("loadtest.max-jobs", "32"));
+    }
+
+    @Autowired
+    private QuizScheduler quizScheduler;
+
+    @Autowired
+    private QuizGenerationJobWorker worker;
+
+    @Autowired
+    private QuizGenerationJobService jobService;
+
+    @Autowired
+    private FakeQuizChatModel model;
+
+    @Autowired
+    private LlmInvoker llmInvoker;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private TpmRateLimiter tpmRateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("동시에 끝난 스텝들의 퀴즈를 모두 생성한다")
+    void generateQuiz_forSimultaneousStepEndings() throws Exception {
+        seedGroups(STEPS);
+        String batchId = UUID.randomUUID().toString();
+
+        LocalDateTime submittedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        assertThat(quizScheduler.generateQuiz(batchId)).isEqualTo(STEPS);
+
+        List<QuizGenerationJob> jobs = drain(batchId);
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long succeeded = jobs.stream().filter(j -> j.getStatus() == QuizGenerationJobStatus.SUCCEEDED).count();
+        long[] latencies = jobs.stream()
+                .filter(j -> j.getFinishedAt() != null)
+                .mapToLong(j -> Duration.between(submittedAt, j.getFinishedAt()).toMillis())
+                .sorted()
+                .toArray();
+        long jobRetries = jobs.stream().mapToLong(j -> Math.max(0, j.getAttempts() - 1)).sum();
+        long tokens = jobs.stream().mapToLong(QuizGenerationJob::getTokensUsed).sum();
+
+        System.out.printf("[load] steps=%d succeeded=%d wall=%dms throughput=%.2f steps/s%n",
+                STEPS, succeeded, wallMs, succeeded * 1000.0 / Math.max(1, wallMs));
+        System.out.printf("[load] step latency p50=%dms p99=%dms max=%dms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.out.printf("[load] llm calls=%d llmRetries=%d jobRetries=%d injectedFailures=%d injectedMalformed=%d tokens=%d%n",
+                model.getCalls(), llmInvoker.getRetryCount(), jobRetries,
+                model.getInjectedFailures(), model.getInjectedMalformed(), tokens);
+        System.out.printf("[load] limiter wait concurrency=%dms tpm=%dms finalConcurrency=%d%n",
+                TimeUnit.NANOSECONDS.toMillis(concurrencyLimiter.totalWaitNanos()),
+                TimeUnit.NANOSECONDS.toMillis(tpmRateLimiter.totalWaitNanos()),
+                concurrencyLimiter.currentLimit());
+        for (Timer timer : meterRegistry.find("quiz.generation.stage").timers()) {
+            System.out.printf("[load] stage %-12s count=%d total=%dms mean=%.1fms max=%.1fms%n",
+                    timer.getId().getTag("stage"), timer.count(),
+                    (long) timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+
+        assertThat(succeeded).isEqualTo(STEPS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quiz", Long.class))
+                .isEqualTo(STEPS * (long) QuizPayloadValidator.QUIZ_COUNT);
+    }
+
+    // 폴링 주기(테스트에서는 1시간)를 기다리지 않고 워커를 직접 깨운다. 백오프로 미룬 작업도 여기서 다시 잡힌다.
+    private List<QuizGenerationJob> drain(String batchId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            worker.poll();
+            List<QuizGenerationJob> jobs = jobService.findBatch(batchId);
+            boolean done = jobs.stream().allMatch(j ->
+                    j.getStatus() == QuizGenerationJobStatus.SUCCEEDED || j.getStatus() == QuizGenerationJobStatus.FAILED);
+            if (done) {
+                return jobs;
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("load test timed out after " + TIMEOUT_SECONDS + "s");
+    }
+
+    private void seedGroups(int count) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        User owner = tx.execute(status -> {
+            User user = User.builder()
+                    .email("load@t.com")
+                    .password("p")
+                    .nickname("load")
+                    .birthday(LocalDate.of(1990, 1, 1))
+                    .gender(Gender.MALE)
+                    .role(Role.USER)
+                    .createdAt(LocalDateTime.now())
+                    .lastModifiedAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(user);
+            return user;
+        });
+
+        for (int from = 0; from < count; from += 50) {
+            int to = Math.min(count, from + 50);
+            int first = from;
+            tx.executeWithoutResult(status -> {
+                User managedOwner = entityManager.getReference(User.class, owner.getId());
+                for (int i = first; i < to; i++) {
+                    StudyGroup group = StudyGroup.builder()
+                            .name("부하 스터디 " + i)
+                            .summary("load")
+                            .maxMembers(30)
+                            .memberCount(1 + i % 30)
+                            .currentStep(2)
+                            .startDate(LocalDate.now().minusDays(14))
+                            .endDate(LocalDate.now().plusMonths(1))
+                            .owner(managedOwner)
+                            .createdAt(LocalDateTime.now())
+                            .lastModifiedAt(LocalDateTime.now())
+                            .build();
+                    entityManager.persist(group);
+                    entityManager.persist(StudyStep.builder()
+                            .id(StudyStepId.of(1, group))
+                            .endDate(LocalDate.now().minusDays(1))
+                            .build());
+                    for (int n = 0; n < 3; n++) {
+                        entityManager.persist(Note.builder()
+                                .title("노트 " + i + "-" + n)
+                                .content(noteContent(i, n))
+                                .step(1)
+                                .studyGroup(group)
+                                .build());
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    // 그룹마다 내용이 달라야 초안 캐시에 걸리지 않는다.
+    private static String noteContent(int group, int note) {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < 6; p++) {
+            sb.append("그룹 ").append(group).append(" 노트 ").append(note).append(" 문단 ").append(p)
+                    .append(": 프로세스 스케줄링과 가상 메모리, 페이지 교체 알고리즘의 ")
+                    .append((group * 31 + note * 7 + p) % 97).append("번째 사례를 정리했다.\n\n");
+        }
+        return sb.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+}
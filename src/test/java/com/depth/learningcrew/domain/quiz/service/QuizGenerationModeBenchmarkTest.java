@@ -0,0 +1,90 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.ai.llm.dto.QuizDraft;
+import com.depth.learningcrew.domain.ai.llm.service.LenientJsonParser;
+import com.depth.learningcrew.domain.ai.llm.service.OptionGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizBundleGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.QuizGenerator;
+import com.depth.learningcrew.domain.ai.llm.service.StreamingQuizGenerator;
+import com.depth.learningcrew.support.llm.StubQuizChatModel;
+import com.depth.learningcrew.support.llm.StubStreamingQuizChatModel;
+import com.depth.learningcrew.support.llm.TestLlmInvokers;
+import com.depth.learningcrew.support.metrics.TestMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.langchain4j.service.AiServices;
+
+/**
+ * TWO_PHASE vs SINGLE_CALL 비교. 실제 AiService 프록시 + 스텁 모델로 스텝 N개를 생성하며
+ * 호출 수와 입력 토큰을 잰다. 벽시계 시간 비교는 load 태그(./gradlew loadTest)로만 돈다.
+ */
+class QuizGenerationModeBenchmarkTest {
+
+    private static final int STEPS = 5;
+    private static final String NOTES = "## 운영체제 3주차\n" + "프로세스와 스레드, 컨텍스트 스위칭, 스케줄링 알고리즘. ".repeat(400);
+
+    @Test
+    @DisplayName("SINGLE_CALL 은 TWO_PHASE 보다 스텝당 호출 수/입력 토큰이 적다")
+    void singleCall_vs_twoPhase() {
+        Bench two = run(QuizGenerationMode.TWO_PHASE);
+        Bench one = run(QuizGenerationMode.SINGLE_CALL);
+
+        assertThat(two.calls).isEqualTo(2L * STEPS);
+        assertThat(one.calls).isEqualTo(STEPS);
+        assertThat(one.inputTokens).isLessThan(two.inputTokens);
+    }
+
+    // 벽시계 비교는 부하가 있는 CI 에서 흔들리므로 loadTest 태스크에서만 돈다.
+    @Test
+    @Tag("load")
+    @DisplayName("SINGLE_CALL 은 TWO_PHASE 보다 소요 시간이 짧다")
+    void singleCall_vs_twoPhase_wallClock() {
+        Bench two = run(QuizGenerationMode.TWO_PHASE);
+        Bench one = run(QuizGenerationMode.SINGLE_CALL);
+
+        System.out.printf("[bench] %-11s calls=%d inputTokens=%d outputTokens=%d wall=%dms%n",
+                "TWO_PHASE", two.calls, two.inputTokens, two.outputTokens, two.wallMs);
+        System.out.printf("[bench] %-11s calls=%d inputTokens=%d outputTokens=%d wall=%dms%n",
+                "SINGLE_CALL", one.calls, one.inputTokens, one.outputTokens, one.wallMs);
+
+        assertThat(one.wallMs).isLessThan(two.wallMs);
+    }
+
+    private Bench run(QuizGenerationMode mode) {
+        StubQuizChatModel model = new StubQuizChatModel(40, 0.002, 0.02);
+        QuizDraftGenerator generator = new QuizDraftGenerator(
+                AiServices.create(QuizGenerator.class, model),
+                AiServices.create(OptionGenerator.class, model),
+                AiServices.create(QuizBundleGenerator.class, model),
+                AiServices.builder(StreamingQuizGenerator.class)
+                        .streamingChatLanguageModel(new StubStreamingQuizChatModel(model, 64, 0))
+                        .build(),
+                new QuizPayloadValidator(),
+                TestLlmInvokers.unlimited(),
+                new ObjectMapper(),
+                new LenientJsonParser(new ObjectMapper()),
+                TestMetrics.quizGeneration(),
+                mode,
+                2,
+                5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) {
+            QuizDraft draft = generator.generate("OS 스터디", i + 1, NOTES);
+            assertThat(draft.quizzes().getQuizzes()).hasSize(20);
+            assertThat(draft.options().getOptions()).hasSize(20);
+        }
+        long wallMs = (System.nanoTime() - start) / 1_000_000;
+
+        return new Bench(model.getCalls(), model.getInputTokens(), model.getOutputTokens(), wallMs);
+    }
+
+    private record Bench(long calls, long inputTokens, long outputTokens, long wallMs) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class QuizItemStreamParserTest {
+
+    private final List<QuizzesPayload.Item> items = new ArrayList<>();
+    private final QuizItemStreamParser parser = new QuizItemStreamParser(new ObjectMapper(), items::add);
+
+    @Test
+    @DisplayName("조각 경계와 상관없이 문항 객체가 닫히는 즉시 꺼낸다")
+    void feed_emitsItemsAsTheyClose() {
+        String json = "{\"quizzes\":[{\"id\":\"Q1\",\"stem\":\"s1\",\"answer\":\"a1\"},"
+                + "{\"id\":\"Q2\",\"stem\":\"s2\",\"answer\":\"a2\"}]}";
+
+        parser.feed(json.substring(0, 30));
+        assertThat(items).isEmpty();
+        parser.feed(json.substring(30, 55));
+        assertThat(items).extracting(QuizzesPayload.Item::getId).containsExactly("Q1");
+        parser.feed(json.substring(55));
+        assertThat(items).extracting(QuizzesPayload.Item::getId).containsExactly("Q1", "Q2");
+    }
+
+    @Test
+    @DisplayName("문자열 안의 괄호/이스케이프된 따옴표는 구조로 보지 않는다")
+    void feed_ignoresBracesInsideStrings() {
+        parser.feed("{\"quizzes\":[{\"id\":\"Q1\",\"stem\":\"f(x) = {1, [2]} 에서 \\\"}\\\" 의미는?\",\"answer\":\"집합\"}]}");
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getStem()).isEqualTo("f(x) = {1, [2]} 에서 \"}\" 의미는?");
+    }
+
+    @Test
+    @DisplayName("마크다운 펜스와 루트 배열도 처리하고, 깨진 문항은 건너뛴다")
+    void feed_toleratesFenceAndRootArray() {
+        parser.feed("```json\n[{\"id\":\"Q1\",\"stem\":\"s1\",\"answer\":\"a1\"},{\"id\":\"Q2\",\"stem\":,},"
+                + "{\"id\":\"Q3\",\"stem\":\"s3\",\"answer\":\"a3\"}]\n```");
+
+        assertThat(items).extracting(QuizzesPayload.Item::getId).containsExactly("Q1", "Q3");
+    }
+}
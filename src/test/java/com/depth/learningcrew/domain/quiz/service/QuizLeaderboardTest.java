@@ -0,0 +1,100 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.quiz.repository.QuizStepScoreRepository;
+
+class QuizLeaderboardTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final QuizStepScoreRepository quizStepScoreRepository = mock(QuizStepScoreRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final QuizLeaderboard leaderboard =
+            new QuizLeaderboard(quizStepScoreRepository, 100, Duration.ofSeconds(60), nanos::get);
+
+    private static QuizStepScoreRepository.StepStanding row(long userId, int step, int correct, LocalDateTime at) {
+        return new QuizStepScoreRepository.StepStanding() {
+            public Long getUserId() { return userId; }
+            public Integer getStep() { return step; }
+            public Integer getCorrectCount() { return correct; }
+            public Integer getTotalCount() { return 10; }
+            public LocalDateTime getSubmittedAt() { return at; }
+        };
+    }
+
+    @Test
+    @DisplayName("그룹 순위는 스텝 점수 합으로 매기고, 동점이면 먼저 제출을 마친 사람이 앞선다")
+    void page_ShouldRankByTotalCorrectThenEarlierSubmission() {
+        // given
+        when(quizStepScoreRepository.findStandingsByStudyGroupId(1L)).thenReturn(List.of(
+                row(10L, 1, 7, T0), row(10L, 2, 8, T0.plusDays(1)),    // 15
+                row(20L, 1, 9, T0), row(20L, 2, 6, T0.plusHours(30)),  // 15, 더 늦게 끝냄
+                row(30L, 1, 10, T0)                                      // 10
+        ));
+
+        // when
+        QuizLeaderboard.Page page = leaderboard.page(1L, null, 0, 2, 30L);
+
+        // then
+        assertThat(page.participants()).isEqualTo(3);
+        assertThat(page.entries()).extracting(ranked -> ranked.standing().userId()).containsExactly(10L, 20L);
+        assertThat(page.entries().get(0).standing().totalCount()).isEqualTo(20);
+        assertThat(page.me().rank()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("올라와 있는 순위표에만 제출을 반영하고, 같은 스텝을 두 번 더하지 않는다")
+    void recordAfterCommit_ShouldUpdateLoadedBoardsOnce() {
+        // given
+        when(quizStepScoreRepository.findStandingsByStudyGroupIdAndStep(1L, 2)).thenReturn(List.of(
+                row(10L, 2, 5, T0)));
+        leaderboard.page(1L, 2, 0, 10, null);
+
+        // when
+        leaderboard.recordAfterCommit(1L, 20L, 2, 9, 10, T0.plusHours(1));
+        leaderboard.recordAfterCommit(1L, 20L, 2, 9, 10, T0.plusHours(1));
+        QuizLeaderboard.Page page = leaderboard.page(1L, 2, 0, 10, 20L);
+
+        // then
+        verify(quizStepScoreRepository, times(1)).findStandingsByStudyGroupIdAndStep(1L, 2);
+        assertThat(page.participants()).isEqualTo(2);
+        assertThat(page.me().rank()).isEqualTo(1);
+        assertThat(page.me().standing().correctCount()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("순위표는 적재 후 TTL 이 지나면 다시 읽고, 이 노드의 제출 반영은 만료를 늦추지 않는다")
+    void page_ShouldReloadAfterTtlEvenWhenRecordedLocally() {
+        // given
+        when(quizStepScoreRepository.findStandingsByStudyGroupIdAndStep(1L, 2))
+                .thenReturn(List.of(row(10L, 2, 5, T0)))
+                .thenReturn(List.of(row(10L, 2, 5, T0), row(20L, 2, 9, T0.plusHours(1)), row(30L, 2, 7, T0)));
+        leaderboard.page(1L, 2, 0, 10, null);
+
+        // when: 이 노드에서 20 이 제출하고, 30 은 다른 노드에서 제출했다
+        nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+        leaderboard.recordAfterCommit(1L, 20L, 2, 9, 10, T0.plusHours(1));
+        QuizLeaderboard.Page before = leaderboard.page(1L, 2, 0, 10, null);
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        QuizLeaderboard.Page after = leaderboard.page(1L, 2, 0, 10, 30L);
+
+        // then
+        assertThat(before.participants()).isEqualTo(2);
+        verify(quizStepScoreRepository, times(2)).findStandingsByStudyGroupIdAndStep(1L, 2);
+        assertThat(after.participants()).isEqualTo(3);
+        assertThat(after.me().rank()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,150 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.depth.learningcrew.domain.ai.llm.dto.OptionsPayload;
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// persistAtomic 은 REQUIRES_NEW 라 테스트 트랜잭션으로 감쌀 수 없다. 대신 메서드마다 컨텍스트(스키마)를 새로 만든다.
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QuizPersistServiceIntegrationTest {
+
+    @Autowired
+    private QuizPersistService persistService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long groupId;
+
+    @BeforeEach
+    void setUp() {
+        groupId = new TransactionTemplate(transactionManager).execute(status -> {
+            User owner = User.builder()
+                    .email("owner@t.com")
+                    .password("p")
+                    .nickname("owner")
+                    .birthday(LocalDate.of(1990, 1, 1))
+                    .gender(Gender.MALE)
+                    .role(Role.USER)
+                    .createdAt(LocalDateTime.now())
+                    .lastModifiedAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(owner);
+
+            StudyGroup group = StudyGroup.builder()
+                    .name("OS 스터디")
+                    .summary("sum")
+                    .maxMembers(10)
+                    .memberCount(1)
+                    .currentStep(2)
+                    .startDate(LocalDate.now().minusDays(7))
+                    .endDate(LocalDate.now().plusMonths(1))
+                    .owner(owner)
+                    .createdAt(LocalDateTime.now())
+                    .lastModifiedAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(group);
+
+            entityManager.persist(StudyStep.builder()
+                    .id(StudyStepId.of(1, group))
+                    .endDate(LocalDate.now().minusDays(1))
+                    .build());
+            return group.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("문제 20개와 보기 80개를 입력 순서대로 저장하고 정답 표시를 맞춘다")
+    void persistAtomic_insertsQuizzesAndOptions() {
+        persistService.persistAtomic(groupId, 1, quizzes(20), options(20));
+
+        List<String> stems = jdbcTemplate.queryForList(
+                "select quiz from quiz where study_group_id = ? and step = 1 order by id", String.class, groupId);
+        assertThat(stems).hasSize(20);
+        assertThat(stems.get(0)).isEqualTo("질문 1");
+        assertThat(stems.get(19)).isEqualTo("질문 20");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quiz where created_at is null", Long.class)).isZero();
+
+        Long firstId = jdbcTemplate.queryForObject("select min(id) from quiz", Long.class);
+        List<Map<String, Object>> firstOptions = jdbcTemplate.queryForList(
+                "select option_num, content, is_answer from quiz_option where quiz_id = ? order by option_num", firstId);
+        assertThat(firstOptions).extracting(row -> row.get("content"))
+                .containsExactly("보기 1-1", "보기 1-2", "보기 1-3", "보기 1-4");
+        assertThat(firstOptions).extracting(row -> row.get("is_answer"))
+                .containsExactly(false, true, false, false);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quiz_option", Long.class)).isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("오늘 이미 저장된 스텝은 다시 저장하지 않는다")
+    void persistAtomic_skipsWhenAlreadyPersistedToday() {
+        persistService.persistAtomic(groupId, 1, quizzes(20), options(20));
+        persistService.persistAtomic(groupId, 1, quizzes(20), options(20));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quiz", Long.class)).isEqualTo(20);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quiz_option", Long.class)).isEqualTo(80);
+    }
+
+    private static QuizzesPayload quizzes(int count) {
+        List<QuizzesPayload.Item> items = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            QuizzesPayload.Item item = new QuizzesPayload.Item();
+            item.setId("Q" + i);
+            item.setStem("질문 " + i);
+            item.setAnswer("보기 " + i + "-2");
+            items.add(item);
+        }
+        QuizzesPayload q = new QuizzesPayload();
+        q.setQuizzes(items);
+        return q;
+    }
+
+    private static OptionsPayload options(int count) {
+        List<OptionsPayload.Opt> options = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            OptionsPayload.Opt opt = new OptionsPayload.Opt();
+            opt.setId("Q" + i);
+            opt.setChoices(List.of("보기 " + i + "-1", "보기 " + i + "-2", "보기 " + i + "-3", "보기 " + i + "-4"));
+            opt.setAnswerIndex(1);
+            options.add(opt);
+        }
+        OptionsPayload opts = new OptionsPayload();
+        opts.setOptions(options);
+        return opts;
+    }
+}
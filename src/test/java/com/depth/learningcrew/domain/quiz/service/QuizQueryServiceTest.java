@@ -21,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
@@ -39,6 +40,7 @@ class QuizQueryServiceTest {
     @Mock StudyGroupRepository studyGroupRepository;
     @Mock MemberQueryRepository memberQueryRepository;
     @Mock QuizQueryRepository quizQueryRepository;
+    @Spy StepQuizCache stepQuizCache = new StepQuizCache(100);
 
     @InjectMocks QuizService quizService;
 
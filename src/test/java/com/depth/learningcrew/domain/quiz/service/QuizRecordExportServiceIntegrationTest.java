@@ -0,0 +1,129 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// 본문은 테스트 스레드에서 바로 써서 같은 트랜잭션(커넥션)으로 읽는다.
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QuizRecordExportServiceIntegrationTest {
+
+    @Autowired
+    private QuizRecordExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User owner;
+    private User member;
+    private Long groupId;
+
+    private User user(String nickname) {
+        User user = User.builder()
+                .email(nickname.hashCode() + "@t.com")
+                .password("p")
+                .nickname(nickname)
+                .birthday(LocalDate.of(1990, 1, 1))
+                .gender(Gender.MALE)
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = user("owner");
+        member = user("=kim, \"jr\"");
+
+        StudyGroup group = StudyGroup.builder()
+                .name("OS 스터디")
+                .summary("sum")
+                .maxMembers(10)
+                .memberCount(2)
+                .currentStep(2)
+                .startDate(LocalDate.now().minusDays(7))
+                .endDate(LocalDate.now().plusMonths(1))
+                .owner(owner)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(group);
+        entityManager.flush();
+        groupId = group.getId();
+
+        String insert = "insert into quiz_step_score (user_id, study_group_id, step, total_count, correct_count, submitted_at) "
+                + "values (?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.update(insert, member.getId(), groupId, 2, 4, 1, LocalDateTime.of(2024, 1, 2, 9, 0));
+        jdbcTemplate.update(insert, owner.getId(), groupId, 1, 4, 3, LocalDateTime.of(2024, 1, 1, 9, 0));
+    }
+
+    private String body(String format, User user) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(groupId, format, new UserDetails(user)).body().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("CSV 는 스텝 순으로 쓰고, 닉네임의 쉼표/따옴표/수식 문자를 이스케이프한다")
+    void export_csv() throws Exception {
+        String[] lines = body("csv", owner).split("\n");
+
+        assertThat(lines).containsExactly(
+                "user_id,nickname,step,total_quiz_count,correct_count,score,submitted_at",
+                owner.getId() + ",owner,1,4,3,75,2024-01-01T09:00:00",
+                member.getId() + ",\"'=kim, \"\"jr\"\"\",2,4,1,25,2024-01-02T09:00:00");
+    }
+
+    @Test
+    @DisplayName("NDJSON 은 한 줄에 한 행씩 JSON 객체로 쓴다")
+    void export_ndjson() throws Exception {
+        String[] lines = body("NDJSON", owner).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"step\":1", "\"score\":75", "\"nickname\":\"owner\"");
+        assertThat(lines[1]).contains("\"nickname\":\"=kim, \\\"jr\\\"\"");
+    }
+
+    @Test
+    @DisplayName("소유자가 아니면 403, 모르는 형식이면 400")
+    void export_rejectsNonOwnerAndUnknownFormat() {
+        assertThatThrownBy(() -> exportService.export(groupId, "csv", new UserDetails(member)))
+                .isInstanceOf(RestException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTH_FORBIDDEN);
+        assertThatThrownBy(() -> exportService.export(groupId, "xlsx", new UserDetails(owner)))
+                .isInstanceOf(RestException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GLOBAL_INVALID_PARAMETER);
+    }
+}
@@ -0,0 +1,251 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
+import com.depth.learningcrew.domain.quiz.dto.QuizReviewDto;
+import com.depth.learningcrew.domain.quiz.repository.QuizReviewQueryRepository;
+import com.depth.learningcrew.domain.studygroup.entity.Member;
+import com.depth.learningcrew.domain.studygroup.entity.MemberId;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QuizReviewServiceIntegrationTest {
+
+    @Autowired
+    private QuizReviewService quizReviewService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @MockitoSpyBean
+    private QuizReviewQueryRepository quizReviewQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User user;
+    private Long groupId;
+    private Long otherGroupId;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("reviewer@t.com")
+                .password("p")
+                .nickname("reviewer")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .gender(Gender.MALE)
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+
+        groupId = group("OS 스터디");
+        otherGroupId = group("탈퇴한 스터디");
+        entityManager.persist(Member.builder()
+                .id(MemberId.of(user, entityManager.find(StudyGroup.class, groupId)))
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+    }
+
+    private Long group(String name) {
+        StudyGroup group = StudyGroup.builder()
+                .name(name)
+                .summary("sum")
+                .maxMembers(10)
+                .memberCount(1)
+                .currentStep(1)
+                .startDate(LocalDate.now().minusDays(7))
+                .endDate(LocalDate.now().plusMonths(1))
+                .owner(user)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(group);
+        entityManager.persist(StudyStep.builder()
+                .id(StudyStepId.of(1, group))
+                .endDate(LocalDate.now().plusDays(1))
+                .build());
+        return group.getId();
+    }
+
+    // 1번 보기가 정답인 퀴즈
+    private Long quiz(Long studyGroupId, String stem) {
+        jdbcTemplate.update(
+                "insert into quiz (quiz, step, study_group_id, created_at, last_modified_at) values (?, 1, ?, ?, ?)",
+                stem, studyGroupId, LocalDateTime.now(), LocalDateTime.now());
+        Long quizId = jdbcTemplate.queryForObject("select max(id) from quiz", Long.class);
+        jdbcTemplate.update(
+                "insert into quiz_option (quiz_id, option_num, content, is_answer) values (?, 1, '보기 1', true), (?, 2, '보기 2', false)",
+                quizId, quizId);
+        return quizId;
+    }
+
+    private void reviewItem(Long quizId, LocalDateTime dueAt) {
+        jdbcTemplate.update(
+                "insert into quiz_review_item (user_id, quiz_id, easiness, repetitions, interval_days, lapses, due_at, last_reviewed_at) "
+                        + "values (?, ?, 2.5, 1, 1, 0, ?, ?)",
+                user.getId(), quizId, dueAt, dueAt.minusDays(1));
+    }
+
+    private long reviewItemCount() {
+        return jdbcTemplate.queryForObject("select count(*) from quiz_review_item where user_id = ?", Long.class,
+                user.getId());
+    }
+
+    @Test
+    @DisplayName("세션은 기한이 지난 항목만 오래 밀린 순으로 size 개까지 담고, 다 담기면 전체 개수를 따로 센다")
+    void getSession_returnsDueItemsOrderedAndLimited() {
+        LocalDateTime now = LocalDateTime.now();
+        Long twoDays = quiz(groupId, "이틀 밀림");
+        Long threeDays = quiz(groupId, "사흘 밀림");
+        Long oneDay = quiz(groupId, "하루 밀림");
+        Long future = quiz(groupId, "아직 기한 전");
+        reviewItem(twoDays, now.minusDays(2));
+        reviewItem(threeDays, now.minusDays(3));
+        reviewItem(oneDay, now.minusDays(1));
+        reviewItem(future, now.plusDays(1));
+
+        QuizReviewDto.SessionResponse limited = quizReviewService.getSession(groupId, 2, new UserDetails(user));
+
+        assertThat(limited.getQuizzes()).extracting(q -> q.getQuiz().getId()).containsExactly(threeDays, twoDays);
+        assertThat(limited.getQuizzes().get(0).getQuiz().getOptions()).hasSize(2);
+        assertThat(limited.getDueCount()).isEqualTo(3);
+
+        // 세션이 size 보다 적게 담기면 그 수가 곧 전체 개수라 다시 세지 않는다
+        clearInvocations(quizReviewQueryRepository);
+        QuizReviewDto.SessionResponse all = quizReviewService.getSession(groupId, 10, new UserDetails(user));
+
+        assertThat(all.getQuizzes()).extracting(q -> q.getQuiz().getId()).containsExactly(threeDays, twoDays, oneDay);
+        assertThat(all.getDueCount()).isEqualTo(3);
+        verify(quizReviewQueryRepository, never()).countDue(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("멤버가 아닌 스터디 그룹의 복습 항목은 세션에 담지 않고, 답하면 403")
+    void getSession_andAnswer_skipNonMemberGroups() {
+        LocalDateTime now = LocalDateTime.now();
+        Long mine = quiz(groupId, "내 그룹");
+        Long left = quiz(otherGroupId, "나간 그룹");
+        reviewItem(mine, now.minusDays(1));
+        reviewItem(left, now.minusDays(5));
+
+        QuizReviewDto.SessionResponse session = quizReviewService.getSession(null, 1, new UserDetails(user));
+
+        assertThat(session.getQuizzes()).extracting(q -> q.getQuiz().getId()).containsExactly(mine);
+        assertThat(session.getDueCount()).isEqualTo(1);
+
+        RestException ex = assertThrows(RestException.class, () -> quizReviewService.answer(left,
+                QuizReviewDto.AnswerRequest.builder().selectedOptions(List.of(1)).build(), new UserDetails(user)));
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.STUDY_GROUP_NOT_MEMBER);
+    }
+
+    @Test
+    @DisplayName("정오답과 모순되는 응답 품질은 400 이고 일정을 바꾸지 않는다")
+    void answer_rejectsQualityContradictingCorrectness() {
+        Long quizId = quiz(groupId, "질문");
+        LocalDateTime dueAt = LocalDateTime.now().minusDays(1).withNano(0);
+        reviewItem(quizId, dueAt);
+
+        RestException ex = assertThrows(RestException.class, () -> quizReviewService.answer(quizId,
+                QuizReviewDto.AnswerRequest.builder().selectedOptions(List.of(1)).quality(1).build(),
+                new UserDetails(user)));
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.GLOBAL_INVALID_PARAMETER);
+
+        QuizReviewDto.AnswerResponse answered = quizReviewService.answer(quizId,
+                QuizReviewDto.AnswerRequest.builder().selectedOptions(List.of(1)).quality(5).build(),
+                new UserDetails(user));
+        assertThat(answered.getCorrect()).isTrue();
+        assertThat(answered.getQuality()).isEqualTo(5);
+        entityManager.flush();
+        assertThat(jdbcTemplate.queryForObject(
+                "select interval_days from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class,
+                user.getId(), quizId)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("복습 항목은 제출 트랜잭션 안에서 만들어져, 제출이 롤백되면 함께 사라진다")
+    void seed_runsInsideSubmitTransaction() {
+        Long quizId = quiz(groupId, "질문");
+
+        quizService.submitStepAnswers(groupId, 1, QuizRecordDto.QuizSubmitRequest.builder()
+                .answers(List.of(QuizRecordDto.QuizSubmitRequest.Answer.builder()
+                        .quizId(quizId)
+                        .selectedOptions(List.of(2))
+                        .build()))
+                .build(), new UserDetails(user));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select repetitions from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class,
+                user.getId(), quizId)).isZero();
+
+        TestTransaction.end(); // 기본이 롤백
+        assertThat(reviewItemCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("백필은 복습 항목이 없는 기록만 batchSize 개씩 채우고, 다 채우면 0 을 돌려준다")
+    void backfill_fillsMissingItemsInBatches() {
+        Long right = quiz(groupId, "맞힌 문제");
+        Long wrong = quiz(groupId, "틀린 문제");
+        Long seeded = quiz(groupId, "이미 있는 문제");
+        jdbcTemplate.update("insert into quiz_record (user_id, quiz_id, correct_count) values (?, ?, 1), (?, ?, 0), (?, ?, 1)",
+                user.getId(), right, user.getId(), wrong, user.getId(), seeded);
+        reviewItem(seeded, LocalDateTime.now().plusDays(3));
+
+        assertThat(quizReviewService.backfill(1)).isEqualTo(1);
+        assertThat(quizReviewService.backfill(10)).isEqualTo(1);
+        assertThat(quizReviewService.backfill(10)).isZero();
+
+        assertThat(reviewItemCount()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "select repetitions from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class,
+                user.getId(), right)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select repetitions from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class,
+                user.getId(), wrong)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select interval_days from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class,
+                user.getId(), seeded)).isEqualTo(1);
+    }
+}
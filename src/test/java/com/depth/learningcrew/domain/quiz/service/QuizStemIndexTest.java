@@ -0,0 +1,94 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.ai.llm.dto.QuizzesPayload;
+import com.depth.learningcrew.domain.quiz.repository.QuizRepository;
+
+class QuizStemIndexTest {
+
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final QuizStemIndex index = new QuizStemIndex(quizRepository, true, 10, 100, 30);
+
+    @Test
+    @DisplayName("다른 스텝의 문항과 같거나 거의 같은 문장만 걸러 낸다")
+    void filter_flagsEqualAndNearStemsOfOtherSteps() {
+        when(quizRepository.findStemsByStudyGroupId(1L)).thenReturn(List.of(
+                stem(1, "세마포어와 뮤텍스의 차이점은 무엇인가?"),
+                stem(1, "컨텍스트 스위칭 시 PCB 에 저장되는 값은 무엇인가?")));
+
+        QuizStemFilter filter = index.filterFor(1L, 2);
+
+        assertThat(filter.matchesEarlierStep("세마포어와 뮤텍스의  차이점은, 무엇인가")).isTrue();
+        assertThat(filter.matchesEarlierStep("컨텍스트 스위칭 때 PCB에 저장되는 값은?")).isTrue();
+        assertThat(filter.matchesEarlierStep("페이지 교체 알고리즘 중 LRU의 특징은?")).isFalse();
+        assertThat(filter.matchesEarlierStep("inode에 저장되는 파일 정보는?")).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 스텝을 다시 만들 때는 그 스텝의 예전 문항과 비교하지 않는다")
+    void filter_ignoresSameStep() {
+        when(quizRepository.findStemsByStudyGroupId(1L)).thenReturn(List.of(
+                stem(2, "세마포어와 뮤텍스의 차이점은 무엇인가?")));
+
+        assertThat(index.filterFor(1L, 2).matchesEarlierStep("세마포어와 뮤텍스의 차이점은 무엇인가?")).isFalse();
+        assertThat(index.filterFor(1L, 3).matchesEarlierStep("세마포어와 뮤텍스의 차이점은 무엇인가?")).isTrue();
+    }
+
+    @Test
+    @DisplayName("저장한 스텝은 DB 를 다시 읽지 않고 지문에 덧붙인다")
+    void record_appendsWithoutReloading() {
+        when(quizRepository.findStemsByStudyGroupId(1L)).thenReturn(List.of());
+        assertThat(index.filterFor(1L, 1).size()).isZero();
+
+        index.record(1L, 1, List.of("스래싱이 발생하는 원인은?"));
+
+        QuizStemFilter filter = index.filterFor(1L, 2);
+        assertThat(filter.size()).isEqualTo(1);
+        assertThat(filter.matchesEarlierStep("스래싱이 발생하는 원인은?")).isTrue();
+        verify(quizRepository, times(1)).findStemsByStudyGroupId(1L);
+    }
+
+    @Test
+    @DisplayName("한 응답 안에서는 정규화 문장이 같은 문항만 뒤의 것을 걸러 낸다")
+    void split_dropsExactRepeatsWithinBatch() {
+        QuizStemFilter.Split split = QuizStemFilter.NONE.split(List.of(
+                item("Q1", "노트 내용에 대한 1번째 질문은 무엇인가?"),
+                item("Q2", "노트 내용에 대한 2번째 질문은 무엇인가?"),
+                item("Q3", "노트 내용에 대한 1번째 질문은, 무엇인가")));
+
+        assertThat(split.kept()).extracting(QuizzesPayload.Item::getId).containsExactly("Q1", "Q2");
+        assertThat(split.duplicates()).extracting(QuizzesPayload.Item::getId).containsExactly("Q3");
+    }
+
+    private static QuizRepository.QuizStem stem(int step, String stem) {
+        return new QuizRepository.QuizStem() {
+            @Override
+            public Integer getStep() {
+                return step;
+            }
+
+            @Override
+            public String getStem() {
+                return stem;
+            }
+        };
+    }
+
+    private static QuizzesPayload.Item item(String id, String stem) {
+        QuizzesPayload.Item item = new QuizzesPayload.Item();
+        item.setId(id);
+        item.setStem(stem);
+        item.setAnswer("정답");
+        return item;
+    }
+}
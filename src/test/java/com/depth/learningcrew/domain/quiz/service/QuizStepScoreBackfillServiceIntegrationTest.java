@@ -0,0 +1,150 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
+import com.depth.learningcrew.domain.quiz.repository.QuizRecordQueryRepository;
+import com.depth.learningcrew.domain.quiz.schedule.QuizStepScoreBackfillRunner;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.system.security.model.UserDetails;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QuizStepScoreBackfillServiceIntegrationTest {
+
+    @Autowired
+    private QuizStepScoreBackfillService backfillService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private QuizRecordQueryRepository quizRecordQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User user;
+    private StudyGroup group;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("member@t.com")
+                .password("p")
+                .nickname("member")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .gender(Gender.MALE)
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+
+        group = StudyGroup.builder()
+                .name("OS 스터디")
+                .summary("sum")
+                .maxMembers(10)
+                .memberCount(1)
+                .currentStep(3)
+                .startDate(LocalDate.now().minusDays(14))
+                .endDate(LocalDate.now().plusMonths(1))
+                .owner(user)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(group);
+
+        for (int step = 1; step <= 2; step++) {
+            entityManager.persist(StudyStep.builder()
+                    .id(StudyStepId.of(step, group))
+                    .endDate(LocalDate.now().minusDays(3 - step))
+                    .build());
+        }
+        entityManager.flush();
+
+        // 스텝 1: 4문제 중 3개 정답, 스텝 2: 2문제 중 0개 정답
+        submit(1, LocalDateTime.of(2024, 1, 1, 0, 0), 1, 1, 1, 0);
+        submit(2, LocalDateTime.of(2024, 1, 2, 0, 0), 0, 0);
+    }
+
+    private void submit(int step, LocalDateTime createdAt, int... correct) {
+        for (int isCorrect : correct) {
+            jdbcTemplate.update(
+                    "insert into quiz (quiz, step, study_group_id, created_at, last_modified_at) values (?, ?, ?, ?, ?)",
+                    "질문", step, group.getId(), createdAt, createdAt);
+            Long quizId = jdbcTemplate.queryForObject("select max(id) from quiz", Long.class);
+            jdbcTemplate.update("insert into quiz_record (user_id, quiz_id, correct_count) values (?, ?, ?)",
+                    user.getId(), quizId, isCorrect);
+        }
+    }
+
+    @Test
+    @DisplayName("기존 퀴즈 기록을 스텝별로 집계해 채우고, 다시 불러도 중복으로 넣지 않는다")
+    void backfill_aggregatesRecordsPerStepOnce() {
+        assertThat(backfillService.backfill(1)).isEqualTo(1);
+        assertThat(backfillService.backfill(100)).isEqualTo(1);
+        assertThat(backfillService.backfill(100)).isZero();
+
+        Page<QuizRecordDto.QuizRecordResponse> page = quizRecordQueryRepository.paginateQuizRecords(
+                group, new UserDetails(user), new QuizRecordDto.SearchConditions("step", "desc"), PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(QuizRecordDto.QuizRecordResponse::getStep).containsExactly(2, 1);
+        assertThat(page.getContent().get(1).getTotalQuizCount()).isEqualTo(4);
+        assertThat(page.getContent().get(1).getCorrectCount()).isEqualTo(3);
+        assertThat(page.getContent().get(1).getScore()).isEqualTo(75);
+        assertThat(page.getContent().get(0).getScore()).isZero();
+    }
+
+    @Test
+    @DisplayName("기본 설정에서는 기동 시 백필 러너가 뜨지 않는다")
+    void runner_isOptIn() {
+        assertThat(applicationContext.getBeanNamesForType(QuizStepScoreBackfillRunner.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기동 시 러너는 배치 크기와 상관없이 빠진 스텝 점수를 끝까지 채운다")
+    void runner_backfillsUntilNothingIsLeft() {
+        QuizStepScoreBackfillRunner backfillRunner = new QuizStepScoreBackfillRunner(backfillService, 1);
+        backfillRunner.run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from quiz_step_score where user_id = ? and study_group_id = ?",
+                Long.class, user.getId(), group.getId())).isEqualTo(2);
+        assertThat(backfillService.backfill(100)).isZero();
+
+        // 이미 채워진 뒤에는 아무것도 넣지 않는다
+        backfillRunner.run(new DefaultApplicationArguments());
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from quiz_step_score where user_id = ?", Long.class, user.getId())).isEqualTo(2);
+    }
+}
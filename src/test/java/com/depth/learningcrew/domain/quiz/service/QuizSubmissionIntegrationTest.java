@@ -0,0 +1,132 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
+import com.depth.learningcrew.domain.studygroup.entity.Member;
+import com.depth.learningcrew.domain.studygroup.entity.MemberId;
+import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStep;
+import com.depth.learningcrew.domain.studygroup.entity.StudyStepId;
+import com.depth.learningcrew.domain.user.entity.Gender;
+import com.depth.learningcrew.domain.user.entity.Role;
+import com.depth.learningcrew.domain.user.entity.User;
+import com.depth.learningcrew.system.exception.model.ErrorCode;
+import com.depth.learningcrew.system.exception.model.RestException;
+import com.depth.learningcrew.system.security.model.UserDetails;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QuizSubmissionIntegrationTest {
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User user;
+    private Long groupId;
+    private Long quizId;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("member@t.com")
+                .password("p")
+                .nickname("member")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .gender(Gender.MALE)
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+
+        StudyGroup group = StudyGroup.builder()
+                .name("OS 스터디")
+                .summary("sum")
+                .maxMembers(10)
+                .memberCount(1)
+                .currentStep(1)
+                .startDate(LocalDate.now().minusDays(7))
+                .endDate(LocalDate.now().plusMonths(1))
+                .owner(user)
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(group);
+        groupId = group.getId();
+
+        entityManager.persist(Member.builder()
+                .id(MemberId.of(user, group))
+                .createdAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .build());
+        entityManager.persist(StudyStep.builder()
+                .id(StudyStepId.of(1, group))
+                .endDate(LocalDate.now().plusDays(1))
+                .build());
+        entityManager.flush();
+
+        jdbcTemplate.update(
+                "insert into quiz (quiz, step, study_group_id, created_at, last_modified_at) values (?, 1, ?, ?, ?)",
+                "질문", groupId, LocalDateTime.now(), LocalDateTime.now());
+        quizId = jdbcTemplate.queryForObject("select max(id) from quiz", Long.class);
+        jdbcTemplate.update(
+                "insert into quiz_option (quiz_id, option_num, content, is_answer) values (?, 1, '보기 1', true), (?, 2, '보기 2', false)",
+                quizId, quizId);
+    }
+
+    private QuizRecordDto.QuizSubmitRequest answer(int option) {
+        return QuizRecordDto.QuizSubmitRequest.builder()
+                .answers(List.of(QuizRecordDto.QuizSubmitRequest.Answer.builder()
+                        .quizId(quizId)
+                        .selectedOptions(List.of(option))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("제출하면 기록/스텝 점수/복습 항목을 한 번에 넣고, 같은 스텝을 다시 내면 409")
+    void submitStepAnswers_insertsOnceAndRejectsResubmission() {
+        QuizRecordDto.QuizSubmitResponse response = quizService.submitStepAnswers(groupId, 1, answer(1), new UserDetails(user));
+
+        assertThat(response.getCorrectCount()).isEqualTo(1);
+        assertThat(response.getScore()).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject(
+                "select correct_count from quiz_record where user_id = ? and quiz_id = ?", Integer.class, user.getId(), quizId))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from quiz_step_score where user_id = ? and study_group_id = ? and step = 1",
+                Long.class, user.getId(), groupId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select interval_days from quiz_review_item where user_id = ? and quiz_id = ?", Integer.class, user.getId(), quizId))
+                .isEqualTo(1);
+
+        RestException ex = assertThrows(RestException.class,
+                () -> quizService.submitStepAnswers(groupId, 1, answer(2), new UserDetails(user)));
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
+    }
+}
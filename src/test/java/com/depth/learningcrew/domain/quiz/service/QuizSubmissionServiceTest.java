@@ -2,6 +2,7 @@ package com.depth.learningcrew.domain.quiz.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -11,6 +12,8 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import com.depth.learningcrew.domain.quiz.dto.QuizRecordDto;
 import com.depth.learningcrew.domain.quiz.entity.Quiz;
@@ -18,7 +21,7 @@ import com.depth.learningcrew.domain.quiz.entity.QuizOption;
 import com.depth.learningcrew.domain.quiz.entity.QuizOptionId;
 import com.depth.learningcrew.domain.quiz.repository.QuizQueryRepository;
 import com.depth.learningcrew.domain.quiz.repository.QuizRecordQueryRepository;
-import com.depth.learningcrew.domain.quiz.repository.QuizRecordRepository;
+import com.depth.learningcrew.domain.quiz.repository.QuizStepScoreRepository;
 import com.depth.learningcrew.domain.studygroup.entity.StudyGroup;
 import com.depth.learningcrew.domain.studygroup.repository.MemberQueryRepository;
 import com.depth.learningcrew.domain.studygroup.repository.StudyGroupRepository;
@@ -39,7 +42,10 @@ class QuizSubmissionServiceTest {
         MemberQueryRepository memberQueryRepository = mock(MemberQueryRepository.class);
         QuizQueryRepository quizQueryRepository = mock(QuizQueryRepository.class);
         QuizRecordQueryRepository quizRecordQueryRepository = mock(QuizRecordQueryRepository.class);
-        QuizRecordRepository quizRecordRepository = mock(QuizRecordRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        QuizReviewService quizReviewService = mock(QuizReviewService.class);
+        StepQuizCache stepQuizCache = new StepQuizCache(100);
+        QuizStepScoreRepository quizStepScoreRepository = mock(QuizStepScoreRepository.class);
 
         // SUT (테스트 대상 서비스) - 생성자 시그니처는 실제 클래스에 맞춰주세요.
         QuizService sut = new QuizService(
@@ -47,7 +53,10 @@ class QuizSubmissionServiceTest {
                         memberQueryRepository,
                         quizQueryRepository,
                         quizRecordQueryRepository,
-                        quizRecordRepository);
+                        jdbcTemplate,
+                        quizReviewService,
+                        stepQuizCache,
+                        quizStepScoreRepository);
 
         private final ObjectMapper om = new ObjectMapper();
 
@@ -107,13 +116,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 1;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(10L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(true);
-                when(quizRecordQueryRepository.existsUserSubmittedStep(sg, user, step)).thenReturn(false);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, false)));
 
                 Quiz q1 = buildSingleAnswerQuiz(100L, step, sg, 2, 3);
                 Quiz q2 = buildMultiAnswerQuiz(200L, step, sg, List.of(1, 3), 3);
@@ -144,13 +153,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 1;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(11L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(true);
-                when(quizRecordQueryRepository.existsUserSubmittedStep(sg, user, step)).thenReturn(false);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, false)));
 
                 // q1(단일정답 2) -> 정답 제출
                 // q2(복수정답 1,3) -> 일부만 선택(1만 선택) => 오답 처리
@@ -183,13 +192,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 2;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(12L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(true);
-                when(quizRecordQueryRepository.existsUserSubmittedStep(sg, user, step)).thenReturn(false);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, false)));
 
                 // q1 복수정답 {1,3}; 제출은 [3,1,1,3] -> Set 비교로 정답
                 Quiz q1 = buildMultiAnswerQuiz(300L, step, sg, List.of(1, 3), 4);
@@ -218,13 +227,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 3;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(13L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(true);
-                when(quizRecordQueryRepository.existsUserSubmittedStep(sg, user, step)).thenReturn(false);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, false)));
 
                 // q1: 옵션 번호 1,3,5만 존재. 정답 {1,5}
                 Quiz q1 = Quiz.builder().id(500L).step(step).studyGroup(sg).build();
@@ -258,12 +267,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 1;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(20L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(false);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, false, false)));
 
                 QuizRecordDto.QuizSubmitRequest req = QuizRecordDto.QuizSubmitRequest.builder()
                                 .answers(List.of()) // 도달 전 예외 발생
@@ -287,13 +297,13 @@ class QuizSubmissionServiceTest {
                 Integer step = 1;
 
                 StudyGroup sg = buildStudyGroup(step);
-                when(studyGroupRepository.findById(studyGroupId)).thenReturn(Optional.of(sg));
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
 
                 User user = buildUser(30L);
                 UserDetails ud = new UserDetails(user);
 
-                when(memberQueryRepository.isMember(sg, user)).thenReturn(true);
-                when(quizRecordQueryRepository.existsUserSubmittedStep(sg, user, step)).thenReturn(true);
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, true)));
 
                 QuizRecordDto.QuizSubmitRequest req = QuizRecordDto.QuizSubmitRequest.builder()
                                 .answers(List.of()) // 도달 전 예외 발생
@@ -309,4 +319,36 @@ class QuizSubmissionServiceTest {
 
                 assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
         }
+
+        // ========== 409 Conflict (동시 제출) ==========
+        @Test
+        @DisplayName("submitStepAnswers: 409 - 검사 후 다른 요청이 먼저 제출해 유니크 키에 걸림")
+        void submit_conflict_when_unique_key_violated() {
+                Long studyGroupId = 1L;
+                Integer step = 1;
+
+                StudyGroup sg = buildStudyGroup(step);
+                when(studyGroupRepository.getReferenceById(studyGroupId)).thenReturn(sg);
+
+                User user = buildUser(40L);
+                UserDetails ud = new UserDetails(user);
+
+                when(quizRecordQueryRepository.findSubmissionGate(studyGroupId, user, step))
+                                .thenReturn(Optional.of(new QuizRecordQueryRepository.SubmissionGate(step, true, false)));
+
+                Quiz q1 = buildSingleAnswerQuiz(100L, step, sg, 1, 3);
+                when(quizQueryRepository.findAllOfStepWithOptions(sg, step)).thenReturn(List.of(q1));
+                when(quizStepScoreRepository.save(any()))
+                                .thenThrow(new DataIntegrityViolationException("UK_QUIZ_STEP_SCORE_USER_GROUP_STEP"));
+
+                QuizRecordDto.QuizSubmitRequest req = QuizRecordDto.QuizSubmitRequest.builder()
+                                .answers(List.of(QuizRecordDto.QuizSubmitRequest.Answer.builder().quizId(100L)
+                                                .selectedOptions(List.of(1)).build()))
+                                .build();
+
+                RestException ex = assertThrows(RestException.class,
+                                () -> sut.submitStepAnswers(studyGroupId, step, req, ud));
+
+                assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.QUIZ_ALREADY_SUBMITTED_IN_STEP);
+        }
 }
@@ -0,0 +1,58 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RankTreeTest {
+
+    @Test
+    @DisplayName("삽입/삭제를 섞어도 순위와 구간 조회가 정렬된 집합과 같다")
+    void randomOperations_ShouldMatchSortedSet() {
+        Random random = new Random(42);
+        RankTree<Integer> tree = new RankTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                if (expected.add(value)) {
+                    tree.add(value);
+                }
+            } else {
+                assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+            }
+
+            if (i % 500 == 0) {
+                List<Integer> sorted = new ArrayList<>(expected);
+                assertThat(tree.size()).isEqualTo(sorted.size());
+                int offset = random.nextInt(sorted.size() + 3);
+                assertThat(tree.range(offset, 10))
+                        .containsExactlyElementsOf(sorted.subList(
+                                Math.min(offset, sorted.size()), Math.min(offset + 10, sorted.size())));
+                for (int k = 0; k < sorted.size(); k += 37) {
+                    assertThat(tree.rank(sorted.get(k))).isEqualTo(k);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("없는 값의 순위는 -1 이다")
+    void rank_WhenAbsent_ShouldReturnMinusOne() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(3);
+
+        assertThat(tree.rank(2)).isEqualTo(-1);
+        assertThat(tree.rank(3)).isEqualTo(1);
+        assertThat(tree.remove(2)).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package com.depth.learningcrew.domain.quiz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.depth.learningcrew.domain.quiz.entity.Quiz;
+import com.depth.learningcrew.domain.quiz.entity.QuizOption;
+import com.depth.learningcrew.domain.quiz.entity.QuizOptionId;
+
+class StepQuizCacheTest {
+
+    private final StepQuizCache cache = new StepQuizCache(100);
+
+    private Quiz quiz(long id, List<Integer> answers, int options) {
+        Quiz q = Quiz.builder().id(id).step(1).quiz("질문" + id).build();
+        for (int i = 1; i <= options; i++) {
+            q.getQuizOptions().add(QuizOption.builder()
+                    .id(QuizOptionId.of(q, i))
+                    .content("옵션" + i)
+                    .isAnswer(answers.contains(i))
+                    .build());
+        }
+        return q;
+    }
+
+    @Test
+    @DisplayName("같은 스텝은 한 번만 읽고, 비운 뒤에는 다시 읽는다")
+    void get_ShouldLoadOnceUntilEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Quiz> quizzes = List.of(quiz(1L, List.of(2), 4));
+
+        cache.get(1L, 1, () -> { loads.incrementAndGet(); return quizzes; });
+        StepQuizSet cached = cache.get(1L, 1, () -> { loads.incrementAndGet(); return quizzes; });
+
+        assertThat(loads).hasValue(1);
+        assertThat(cached.size()).isEqualTo(1);
+
+        // 트랜잭션 밖이라 바로 비운다
+        cache.evictAfterCommit(1L, 1);
+        cache.get(1L, 1, () -> { loads.incrementAndGet(); return quizzes; });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("퀴즈가 아직 없는 스텝은 담아 두지 않는다")
+    void get_WhenStepHasNoQuiz_ShouldNotCache() {
+        List<Quiz> quizzes = new ArrayList<>();
+
+        assertThat(cache.get(1L, 2, () -> quizzes).isEmpty()).isTrue();
+
+        quizzes.add(quiz(1L, List.of(1), 3));
+
+        assertThat(cache.get(1L, 2, () -> quizzes).size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("선택 마스크로 채점하고, 없는 보기 번호가 섞이면 -1 을 준다")
+    void selectionMask_ShouldGradeByAnswerMask() {
+        StepQuizSet.Item item = StepQuizSet.of(List.of(quiz(1L, List.of(1, 3), 4))).quizzes().get(0);
+
+        assertThat(item.isCorrect(item.selectionMask(List.of(3, 1)))).isTrue();
+        assertThat(item.isCorrect(item.selectionMask(List.of(1, 1, 3)))).isTrue();
+        assertThat(item.isCorrect(item.selectionMask(List.of(1)))).isFalse();
+        assertThat(item.selectionMask(List.of(1, 5))).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,34 @@
+package com.depth.learningcrew.support.llm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Gemini 대신 FakeQuizChatModel(스트리밍은 이를 조각내 흘려보내는 StubStreamingQuizChatModel)을 @AiService 에 연결한다.
+ * llm.provider=fake 로 GeminiConfig 를 끈 테스트에서 @Import 한다.
+ */
+@TestConfiguration
+@ConditionalOnProperty(name = "llm.provider", havingValue = "fake")
+public class FakeChatModelConfig {
+
+    @Bean
+    public FakeQuizChatModel fakeQuizChatModel(
+            @Value("${llm.fake.latency-ms:200}") long latencyMs,
+            @Value("${llm.fake.ms-per-output-token:0.05}") double msPerOutputToken,
+            @Value("${llm.fake.failure-rate:0}") double failureRate,
+            @Value("${llm.fake.malformed-rate:0}") double malformedRate,
+            @Value("${llm.fake.token-usage-scale:1.0}") double tokenUsageScale,
+            @Value("${llm.fake.seed:42}") long seed) {
+        return new FakeQuizChatModel(latencyMs, msPerOutputToken, failureRate, malformedRate, tokenUsageScale, seed);
+    }
+
+    @Bean
+    public StubStreamingQuizChatModel fakeStreamingQuizChatModel(
+            FakeQuizChatModel fakeQuizChatModel,
+            @Value("${llm.fake.stream-chunk-chars:32}") int chunkChars,
+            @Value("${llm.fake.stream-chunk-delay-ms:5}") long chunkDelayMs) {
+        return new StubStreamingQuizChatModel(fakeQuizChatModel, chunkChars, chunkDelayMs);
+    }
+}
@@ -0,0 +1,101 @@
+package com.depth.learningcrew.support.llm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * 부하 테스트용 가짜 Gemini. StubQuizChatModel 응답에 장애를 섞는다.
+ * - failureRate: 503 UNAVAILABLE 예외 (과부하로 분류되어 백오프/동시성 축소 대상)
+ * - malformedRate: 중간에 잘린 JSON (파싱 실패 → 즉시 재시도)
+ * - tokenUsageScale: 응답 usage metadata 배율 (토큰 보정/TPM 정산 확인용)
+ * 장애 여부는 (seed, 요청 내용, 같은 내용의 몇 번째 요청인지) 로 정하므로 스레드 순서와 무관하게 재현된다.
+ */
+public class FakeQuizChatModel extends StubQuizChatModel {
+
+    private final double failureRate;
+    private final double malformedRate;
+    private final double tokenUsageScale;
+    private final long seed;
+
+    private final Map<Long, AtomicInteger> ordinals = new ConcurrentHashMap<>();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+
+    public FakeQuizChatModel(long latencyMs, double msPerOutputToken, double failureRate, double malformedRate,
+                             double tokenUsageScale, long seed) {
+        super(latencyMs, 0, msPerOutputToken);
+        this.failureRate = failureRate;
+        this.malformedRate = malformedRate;
+        this.tokenUsageScale = tokenUsageScale;
+        this.seed = seed;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest request) {
+        long key = contentHash(request);
+        int ordinal = ordinals.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        double roll = unit(mix(seed ^ key ^ ((long) ordinal * 0x9E3779B97F4A7C15L)));
+
+        if (roll < failureRate) {
+            failures.incrementAndGet();
+            throw new RuntimeException("{\"error\": {\"code\": 503, \"message\": \"The model is overloaded.\", \"status\": \"UNAVAILABLE\"}}");
+        }
+
+        ChatResponse response = super.chat(request);
+        String text = response.aiMessage().text();
+        if (roll < failureRate + malformedRate) {
+            malformed.incrementAndGet();
+            text = text.substring(0, text.length() / 2);
+        }
+
+        TokenUsage usage = response.tokenUsage();
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(text))
+                .tokenUsage(new TokenUsage(
+                        (int) Math.round(usage.inputTokenCount() * tokenUsageScale),
+                        (int) Math.round(usage.outputTokenCount() * tokenUsageScale)))
+                .finishReason(response.finishReason())
+                .build();
+    }
+
+    public long getInjectedFailures() {
+        return failures.get();
+    }
+
+    public long getInjectedMalformed() {
+        return malformed.get();
+    }
+
+    private static long contentHash(ChatRequest request) {
+        long h = 0xcbf29ce484222325L;
+        for (ChatMessage m : request.messages()) {
+            String text = m instanceof SystemMessage sm ? sm.text()
+                    : m instanceof UserMessage um ? um.singleText() : "";
+            for (int i = 0; i < text.length(); i++) {
+                h ^= text.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,152 @@
+package com.depth.learningcrew.support.llm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Gemini 없이 퀴즈 파이프라인을 돌리기 위한 결정적 스텁 모델.
+ * 시스템 프롬프트의 출력 형식을 보고 문제/보기/문제+보기 JSON 을 만들어 준다.
+ * 지연은 고정값 + 입력/출력 토큰 수에 비례하도록 흉내 낸다(토큰 ≒ 글자 수 / 4).
+ */
+public class StubQuizChatModel implements ChatLanguageModel {
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    private final long fixedLatencyMs;
+    private final double msPerInputToken;
+    private final double msPerOutputToken;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong inputTokens = new AtomicLong();
+    private final AtomicLong outputTokens = new AtomicLong();
+
+    public StubQuizChatModel(long fixedLatencyMs, double msPerInputToken, double msPerOutputToken) {
+        this.fixedLatencyMs = fixedLatencyMs;
+        this.msPerInputToken = msPerInputToken;
+        this.msPerOutputToken = msPerOutputToken;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest request) {
+        StringBuilder system = new StringBuilder();
+        StringBuilder user = new StringBuilder();
+        for (ChatMessage m : request.messages()) {
+            if (m instanceof SystemMessage sm) {
+                system.append(sm.text());
+            } else if (m instanceof UserMessage um) {
+                user.append(um.singleText());
+            }
+        }
+
+        String body = respond(system.toString(), user.toString());
+
+        int in = approxTokens(system) + approxTokens(user);
+        int out = approxTokens(body);
+        calls.incrementAndGet();
+        inputTokens.addAndGet(in);
+        outputTokens.addAndGet(out);
+
+        sleep(fixedLatencyMs + Math.round(in * msPerInputToken + out * msPerOutputToken));
+
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(body))
+                .tokenUsage(new TokenUsage(in, out))
+                .finishReason(FinishReason.STOP)
+                .build();
+    }
+
+    protected String respond(String system, String user) {
+        try {
+            if (system.contains("\"answerIndex\"") && system.contains("\"stem\"")) {
+                return om.writeValueAsString(Map.of("items", bundleItems(20)));
+            }
+            if (system.contains("\"answerIndex\"")) {
+                return om.writeValueAsString(Map.of("options", optionsFor(user)));
+            }
+            return om.writeValueAsString(Map.of("quizzes", quizItems(20)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected List<Map<String, Object>> quizItems(int count) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", "Q" + i);
+            m.put("stem", "노트 내용에 대한 " + i + "번째 질문은 무엇인가?");
+            m.put("answer", "정답 " + i);
+            items.add(m);
+        }
+        return items;
+    }
+
+    protected List<Map<String, Object>> bundleItems(int count) {
+        List<Map<String, Object>> items = quizItems(count);
+        for (Map<String, Object> m : items) {
+            m.put("choices", choicesFor((String) m.get("answer")));
+            m.put("answerIndex", 0);
+        }
+        return items;
+    }
+
+    // 입력 items JSON 의 id/answer 를 그대로 되돌려 정답 일치 검증을 통과시킨다.
+    protected List<Map<String, Object>> optionsFor(String user) throws Exception {
+        JsonNode root = om.readTree(user.substring(user.indexOf('{')));
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (JsonNode it : root.path("items")) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", it.path("id").asText());
+            m.put("choices", choicesFor(it.path("answer").asText()));
+            m.put("answerIndex", 0);
+            options.add(m);
+        }
+        return options;
+    }
+
+    protected List<String> choicesFor(String answer) {
+        return List.of(answer, answer + " 아님 A", answer + " 아님 B", answer + " 아님 C");
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getInputTokens() {
+        return inputTokens.get();
+    }
+
+    public long getOutputTokens() {
+        return outputTokens.get();
+    }
+
+    protected static int approxTokens(CharSequence s) {
+        return s == null ? 0 : Math.max(1, s.length() / 4);
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
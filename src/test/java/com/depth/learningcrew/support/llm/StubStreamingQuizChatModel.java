@@ -0,0 +1,49 @@
+package com.depth.learningcrew.support.llm;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * StubQuizChatModel 의 응답을 chunkChars 글자씩 나눠 흘려보내는 스트리밍 스텁.
+ * 조각 사이에 chunkDelayMs 만큼 쉬어 실제 스트리밍처럼 문항이 하나씩 완성되게 한다.
+ */
+public class StubStreamingQuizChatModel implements StreamingChatLanguageModel {
+
+    private final StubQuizChatModel delegate;
+    private final int chunkChars;
+    private final long chunkDelayMs;
+
+    private final AtomicLong lastCompletedAtNanos = new AtomicLong();
+
+    public StubStreamingQuizChatModel(StubQuizChatModel delegate, int chunkChars, long chunkDelayMs) {
+        this.delegate = delegate;
+        this.chunkChars = chunkChars;
+        this.chunkDelayMs = chunkDelayMs;
+    }
+
+    @Override
+    public void chat(ChatRequest request, StreamingChatResponseHandler handler) {
+        Thread.ofVirtual().start(() -> {
+            try {
+                ChatResponse response = delegate.chat(request);
+                String text = response.aiMessage().text();
+                for (int i = 0; i < text.length(); i += chunkChars) {
+                    handler.onPartialResponse(text.substring(i, Math.min(text.length(), i + chunkChars)));
+                    Thread.sleep(chunkDelayMs);
+                }
+                lastCompletedAtNanos.set(System.nanoTime());
+                handler.onCompleteResponse(response);
+            } catch (Throwable t) {
+                handler.onError(t);
+            }
+        });
+    }
+
+    public long getLastCompletedAtNanos() {
+        return lastCompletedAtNanos.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.depth.learningcrew.support.llm;
+
+import static org.mockito.Mockito.mock;
+
+import com.depth.learningcrew.domain.ai.llm.service.LlmInvoker;
+import com.depth.learningcrew.domain.ai.llm.service.LlmTokenBudget;
+import com.depth.learningcrew.domain.ai.llm.service.LlmTokenLedger;
+import com.depth.learningcrew.system.limiter.llm.AdaptiveConcurrencyLimiter;
+import com.depth.learningcrew.system.limiter.llm.HeuristicTokenCounter;
+import com.depth.learningcrew.system.limiter.llm.LlmCircuitBreaker;
+import com.depth.learningcrew.system.limiter.llm.TokenCalibrator;
+import com.depth.learningcrew.system.limiter.llm.TpmRateLimiter;
+import com.depth.learningcrew.support.metrics.TestMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 스프링 컨텍스트 없이 쓰는 LlmInvoker. TPM 한도와 일일 예산은 사실상 없고 동시성/서킷은 기본 설정이다. 원장은 남기지 않는다.
+ */
+public final class TestLlmInvokers {
+
+    private TestLlmInvokers() {
+    }
+
+    public static LlmInvoker unlimited() {
+        return unlimited(new SimpleMeterRegistry());
+    }
+
+    public static LlmInvoker unlimited(MeterRegistry meterRegistry) {
+        LlmTokenLedger ledger = mock(LlmTokenLedger.class);
+        return new LlmInvoker(
+                new TpmRateLimiter(100_000_000),
+                new HeuristicTokenCounter(),
+                new TokenCalibrator(0.2, 1.1),
+                new AdaptiveConcurrencyLimiter(4, 1, 32, 20_000),
+                new LlmCircuitBreaker(20, 5, 0.5, 30),
+                meterRegistry,
+                TestMetrics.observations(meterRegistry),
+                ledger,
+                new LlmTokenBudget(ledger, 0, 0, 10),
+                "stub");
+    }
+}
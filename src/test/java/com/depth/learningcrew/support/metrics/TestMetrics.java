@@ -0,0 +1,31 @@
+package com.depth.learningcrew.support.metrics;
+
+import com.depth.learningcrew.domain.quiz.service.QuizGenerationMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * 스프링 컨텍스트 없이 쓰는 계측 객체. Observation 도 주어진 MeterRegistry 에 타이머로 남는다.
+ */
+public final class TestMetrics {
+
+    private TestMetrics() {
+    }
+
+    public static ObservationRegistry observations(MeterRegistry meterRegistry) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return registry;
+    }
+
+    public static QuizGenerationMetrics quizGeneration(MeterRegistry meterRegistry) {
+        return new QuizGenerationMetrics(meterRegistry, observations(meterRegistry));
+    }
+
+    public static QuizGenerationMetrics quizGeneration() {
+        return quizGeneration(new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,75 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("빠른 성공이 이어지면 한도가 1씩 늘어난다")
+    void success_increasesAdditively() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 32, 20_000);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().release(LlmCallOutcome.SUCCESS);
+        }
+        assertThat(limiter.currentLimit()).isEqualTo(4); // 4 + 4 * (1/4..) 는 5 에 조금 못 미친다
+
+        for (int i = 0; i < 2; i++) {
+            limiter.acquire().release(LlmCallOutcome.SUCCESS);
+        }
+        assertThat(limiter.currentLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("과부하면 절반으로 줄고, 줄이기 전에 보낸 호출의 실패로는 다시 줄지 않는다")
+    void overload_halvesOncePerEpisode() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 32, 20_000);
+
+        AdaptiveConcurrencyLimiter.Permit a = limiter.acquire();
+        AdaptiveConcurrencyLimiter.Permit b = limiter.acquire();
+        a.release(LlmCallOutcome.OVERLOADED);
+        b.release(LlmCallOutcome.OVERLOADED);
+        assertThat(limiter.currentLimit()).isEqualTo(8);
+
+        limiter.acquire().release(LlmCallOutcome.OVERLOADED);
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("검증 실패와 느린 성공은 한도를 바꾸지 않고, 최소값 아래로 내려가지 않는다")
+    void neutralOutcomes_andFloor() {
+        AdaptiveConcurrencyLimiter slow = new AdaptiveConcurrencyLimiter(2, 1, 32, 0);
+        slow.acquire().release(LlmCallOutcome.SUCCESS);
+        slow.acquire().release(LlmCallOutcome.FAILED);
+        assertThat(slow.currentLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 5; i++) {
+            slow.acquire().release(LlmCallOutcome.OVERLOADED);
+        }
+        assertThat(slow.currentLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한도만큼 실행 중이면 다음 호출은 자리가 날 때까지 기다린다")
+    void acquire_blocksAtLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 20_000);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            limiter.acquire().release(LlmCallOutcome.SUCCESS);
+            acquired.countDown();
+        });
+
+        assertThat(acquired.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        first.release(LlmCallOutcome.SUCCESS);
+        assertThat(acquired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HeuristicTokenCounterTest {
+
+    private final HeuristicTokenCounter counter = new HeuristicTokenCounter();
+
+    @Test
+    @DisplayName("한글은 음절 단위, 영어는 단어를 4글자씩 끊어 센다")
+    void count_hangulAndLatin() {
+        assertThat(counter.count("운영체제")).isEqualTo(4);          // 4 * 0.8 = 3.2 → 4
+        assertThat(counter.count("scheduler")).isEqualTo(3);        // 9글자 → 3
+        assertThat(counter.count("CPU 스케줄링")).isEqualTo(5);      // 1 + 4 * 0.8
+        assertThat(counter.count("{\"id\":\"Q1\"}")).isEqualTo(10); // 기호 7 + id + Q + 1
+    }
+
+    @Test
+    @DisplayName("빈 문자열과 공백은 0 토큰")
+    void count_emptyAndWhitespace() {
+        assertThat(counter.count(null)).isZero();
+        assertThat(counter.count("")).isZero();
+        assertThat(counter.count("  \n\t ")).isZero();
+    }
+
+    @Test
+    @DisplayName("한글 본문은 글자 수 * 1.2 추정보다 작게 나온다")
+    void count_koreanIsBelowCharBasedEstimate() {
+        String text = "프로세스는 실행 중인 프로그램이며 스레드는 프로세스 안의 실행 흐름이다. ".repeat(50);
+
+        assertThat(counter.count(text)).isLessThan(Math.round(text.length() * 1.2));
+    }
+}
@@ -0,0 +1,84 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LlmCircuitBreakerTest {
+
+    @Test
+    @DisplayName("과부하 비율이 임계치를 넘으면 열리고, 열린 동안은 호출을 막는다")
+    void opens_onFailureRate() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(10, 4, 0.5, 30);
+
+        breaker.record(LlmCallOutcome.SUCCESS);
+        breaker.record(LlmCallOutcome.OVERLOADED);
+        breaker.record(LlmCallOutcome.FAILED); // 응답은 왔으므로 성공으로 센다
+        assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+
+        breaker.record(LlmCallOutcome.OVERLOADED);
+        assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.retryAfter()).isPositive();
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 시험 호출 하나만 보내고, 성공하면 닫힌다")
+    void halfOpen_singleProbe_thenCloses() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(4, 1, 0.5, 0);
+        breaker.record(LlmCallOutcome.OVERLOADED);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.record(LlmCallOutcome.SUCCESS);
+        assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 과부하면 다시 열리고, 호출하지 못한 시험 자리는 돌려받는다")
+    void halfOpen_reopens_andAbandonReleasesProbe() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(4, 1, 0.5, 0);
+        breaker.record(LlmCallOutcome.OVERLOADED);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.abandon();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.record(LlmCallOutcome.OVERLOADED);
+        assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("429/5xx/타임아웃은 과부하, 나머지 예외는 일반 실패로 분류한다")
+    void outcome_classification() {
+        assertThat(LlmCallOutcome.of(new RuntimeException("{\"error\": {\"code\": 429, \"status\": \"RESOURCE_EXHAUSTED\"}}")))
+                .isEqualTo(LlmCallOutcome.OVERLOADED);
+        assertThat(LlmCallOutcome.of(new RuntimeException(new java.net.http.HttpTimeoutException("timed out"))))
+                .isEqualTo(LlmCallOutcome.OVERLOADED);
+        assertThat(LlmCallOutcome.of(new RuntimeException(
+                "{\"error\": {\"code\": 503, \"message\": \"The model is overloaded.\", \"status\": \"UNAVAILABLE\"}}")))
+                .isEqualTo(LlmCallOutcome.OVERLOADED);
+        assertThat(LlmCallOutcome.of(new RuntimeException(new java.net.ConnectException("Connection refused"))))
+                .isEqualTo(LlmCallOutcome.OVERLOADED);
+        assertThat(LlmCallOutcome.of(new IllegalStateException("Questions must be exactly 20")))
+                .isEqualTo(LlmCallOutcome.FAILED);
+    }
+
+    @Test
+    @DisplayName("오류 본문 밖의 낱말이나 클라이언트 쪽 IOException 은 과부하로 보지 않는다")
+    void outcome_classification_ignoresLooseSignals() {
+        assertThat(LlmCallOutcome.of(new IllegalStateException("Option unavailable: Internal Server Error in note")))
+                .isEqualTo(LlmCallOutcome.FAILED);
+        assertThat(LlmCallOutcome.of(new RuntimeException("status code: 503")))
+                .isEqualTo(LlmCallOutcome.FAILED);
+        assertThat(LlmCallOutcome.of(new RuntimeException(new java.io.UncheckedIOException(
+                new java.io.IOException("Unexpected end of JSON input")))))
+                .isEqualTo(LlmCallOutcome.FAILED);
+        assertThat(LlmCallOutcome.of(new RuntimeException("{\"error\": {\"code\": 400, \"status\": \"INVALID_ARGUMENT\"}}")))
+                .isEqualTo(LlmCallOutcome.FAILED);
+    }
+}
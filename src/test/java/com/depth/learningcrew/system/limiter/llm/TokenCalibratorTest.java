@@ -0,0 +1,56 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenCalibratorTest {
+
+    @Test
+    @DisplayName("보정 전에는 추정치에 headroom 만 곱해 예약한다")
+    void reserve_withoutSamples() {
+        TokenCalibrator calibrator = new TokenCalibrator(0.2, 1.1);
+
+        assertThat(calibrator.reserve("gemini", 1_000, 500)).isEqualTo(1_650);
+    }
+
+    @Test
+    @DisplayName("실제 사용량 비율로 입력/출력 계수를 따로 수렴시킨다")
+    void observe_convergesPerDirection() {
+        TokenCalibrator calibrator = new TokenCalibrator(0.2, 1.0);
+
+        for (int i = 0; i < 30; i++) {
+            calibrator.observe("gemini", 1_000, 500, 1_500, 250);
+        }
+
+        assertThat(calibrator.inputFactor("gemini")).isCloseTo(1.5, within(0.01));
+        assertThat(calibrator.outputFactor("gemini")).isCloseTo(0.5, within(0.01));
+        assertThat(calibrator.reserve("gemini", 1_000, 500)).isBetween(1_740L, 1_760L);
+    }
+
+    @Test
+    @DisplayName("모델마다 계수를 따로 두고, usage 가 없으면 갱신하지 않는다")
+    void observe_isPerModel() {
+        TokenCalibrator calibrator = new TokenCalibrator(0.2, 1.0);
+
+        calibrator.observe("flash", 1_000, 500, 2_000, null);
+        calibrator.observe("pro", 1_000, 500, null, null);
+
+        assertThat(calibrator.inputFactor("flash")).isEqualTo(2.0); // 첫 표본은 그대로 반영
+        assertThat(calibrator.outputFactor("flash")).isEqualTo(1.0);
+        assertThat(calibrator.inputFactor("pro")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("이상치는 계수 범위로 잘라 한 번에 크게 흔들리지 않는다")
+    void observe_clampsOutliers() {
+        TokenCalibrator calibrator = new TokenCalibrator(0.2, 1.0);
+
+        calibrator.observe("gemini", 10, 10, 10_000, 0);
+
+        assertThat(calibrator.inputFactor("gemini")).isEqualTo(TokenCalibrator.MAX_FACTOR);
+        assertThat(calibrator.outputFactor("gemini")).isEqualTo(TokenCalibrator.MIN_FACTOR);
+    }
+}
@@ -0,0 +1,88 @@
+package com.depth.learningcrew.system.limiter.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TpmRateLimiterTest {
+
+    @Test
+    @DisplayName("버킷이 남아 있으면 대기 없이 예약된다")
+    void acquire_withoutWait_whenTokensAvailable() {
+        TpmRateLimiter limiter = new TpmRateLimiter(60_000);
+
+        long start = System.nanoTime();
+        limiter.acquire(30_000);
+        limiter.acquire(30_000);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isLessThan(200);
+        assertThat(limiter.availableTokens()).isLessThan(1_000);
+    }
+
+    @Test
+    @DisplayName("고정 윈도우가 아니라 연속 리필된다 (60k TPM → 초당 1k)")
+    void acquire_refillsContinuously() {
+        TpmRateLimiter limiter = new TpmRateLimiter(60_000);
+        limiter.acquire(60_000);
+
+        long start = System.nanoTime();
+        limiter.acquire(500); // 약 0.5초 뒤 확보
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isBetween(300L, 3_000L);
+    }
+
+    @Test
+    @DisplayName("reconcile: 추정보다 적게 쓰면 차액이 즉시 돌아온다")
+    void reconcile_creditsBackUnusedTokens() {
+        TpmRateLimiter limiter = new TpmRateLimiter(60_000);
+        TpmRateLimiter.Reservation r = limiter.acquire(50_000);
+
+        limiter.reconcile(r, 10_000);
+
+        assertThat(limiter.availableTokens()).isGreaterThanOrEqualTo(50_000);
+    }
+
+    @Test
+    @DisplayName("reconcile: 같은 예약은 한 번만 정산된다")
+    void reconcile_onlyOnce() {
+        TpmRateLimiter limiter = new TpmRateLimiter(60_000);
+        TpmRateLimiter.Reservation r = limiter.acquire(30_000);
+
+        limiter.reconcile(r, 0);
+        limiter.acquire(60_000);
+        limiter.reconcile(r, 0);
+
+        assertThat(limiter.availableTokens()).isLessThan(5_000);
+    }
+
+    @Test
+    @DisplayName("대기자는 도착 순서대로 예약을 받는다")
+    void acquire_isFifo() throws Exception {
+        TpmRateLimiter limiter = new TpmRateLimiter(60_000);
+        limiter.acquire(60_000);
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            int idx = i;
+            Thread t = new Thread(() -> {
+                limiter.acquire(idx == 0 ? 600 : 100); // 첫 요청이 가장 크지만 먼저 와서 먼저 받는다
+                order.add(idx);
+                done.countDown();
+            });
+            t.start();
+            Thread.sleep(50);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(0, 1, 2);
+    }
+}